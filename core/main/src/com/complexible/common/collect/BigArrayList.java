@@ -15,26 +15,43 @@
 
 package com.complexible.common.collect;
 
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.google.common.collect.UnmodifiableIterator;
 
 /**
  * <p>Simple implementation of a list that can have more than Integer.MAX_VALUE values.
- * Works as a normal {@link ArrayList} until the size gets bigger than Integer.MAX_VALUE. 
- * After that, it works as a {@link List} of {@link ArrayList}s, so {@link #get(long)} will be a little bit more expensive.
+ * Works as a single array until the size reaches the page size, which is the largest power of two that is not greater than
+ * the max size, and at most 2^20 elements.  After that, it works as a list of fixed-size pages, so {@link #get(long)} is a shift and a mask to locate
+ * the page and the offset within it.  Pages are preallocated as raw {@code Object[]} and are never copied once full.
  * </p>
  * <p>
- * For now, only {@link #add(Object)}, {@link #get(long)}, and {@link #size()} are supported.
+ * For now, only {@link #add(Object)}, {@link #get(long)}, {@link #set(long, Object)}, {@link #size()}, and the bulk
+ * {@link #addAll(Iterable) addAll}, {@link #set(long, Object[], int, int) set} and {@link #fill(long, long, Object) fill}
+ * operations are supported.  The bulk operations work a page at a time with {@link System#arraycopy}.
+ * </p>
+ * <p>
+ * The list can be traversed in parallel via {@link #parallelStream()}; its {@link #spliterator() spliterator} splits
+ * on page boundaries so each part of the traversal works through whole pages.
+ * </p>
+ * <p>
+ * This class is not thread-safe; use {@link ConcurrentBigArrayList} to append from multiple threads.
  * </p>
  *
  * @author Pedro Oliveira
  *
  * @param   <T>
  * @since   2.0
- * @version 2.0
+ * @version 5.1
  */
 public final class BigArrayList<T> implements Iterable<T> {
     private static final long serialVersionUID = 1L;
@@ -43,6 +60,16 @@ public final class BigArrayList<T> implements Iterable<T> {
 	 * The default max size a {@link List} can have
 	 */
 	public static final int DEFAULT_MAX_SIZE = Integer.MAX_VALUE - 1;
+
+	/**
+	 * The largest page size; pages are allocated whole, so a large max size must not mean a page of that size
+	 */
+	private static final int MAX_PAGE_SIZE = 1 << 20;
+
+	/**
+	 * The initial capacity of the first page
+	 */
+	private static final int INITIAL_CAPACITY = 10;
 	
 	/**
 	 * The concrete data
@@ -55,18 +82,35 @@ public final class BigArrayList<T> implements Iterable<T> {
 	private boolean singleData;
 
     /**
-     * The max size a {@link List} can have
+     * The number of elements in a page, always a power of two
+     */
+    private final int pageSize;
+
+    /**
+     * log2 of the page size, the amount to shift an index by to find its page
      */
-    private final int maxSize;
+    private final int pageShift;
+
+    /**
+     * Mask to apply to an index to find its offset within its page
+     */
+    private final int pageMask;
 	
 	public BigArrayList() {
 	    this(DEFAULT_MAX_SIZE);
 	}
     
     BigArrayList(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+        }
+
+        pageSize = Integer.highestOneBit(Math.min(maxSize, MAX_PAGE_SIZE));
+        pageShift = Integer.numberOfTrailingZeros(pageSize);
+        pageMask = pageSize - 1;
+
         data = new SingleList();
         singleData = true;
-        this.maxSize = maxSize;
     }
 
     public static <T> BigArrayList<T> create() {
@@ -82,18 +126,28 @@ public final class BigArrayList<T> implements Iterable<T> {
 	 * 
 	 * @param index
 	 * @return
+	 * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #size()}
 	 */
 	public T get(long index) {
 		return data.get(index);
 	}
 
 	/**
-	 * Set the value of the index
+	 * Set the value of the index.  If the index is past the end of the list, the list is extended and the positions
+	 * between the old end and the index are filled with {@code null}.
+	 *
 	 * @param theIndex the index
 	 * @param theElem the element to set at the index
 	 * @return the value
 	 */
 	public T set(final long theIndex, final T theElem) {
+		if (theIndex < 0) {
+			throw new IndexOutOfBoundsException("Index: " + theIndex);
+		}
+
+		if (singleData && theIndex >= pageSize) {
+			toMultiList();
+		}
 		return data.set(theIndex, theElem);
 	}
 	
@@ -104,9 +158,8 @@ public final class BigArrayList<T> implements Iterable<T> {
 	 * @return
 	 */
 	public boolean add(T element) {
-		if(singleData && data.size() >= maxSize) {
-			data = new MultiList((SingleList)data);
-			singleData = false;
+		if(singleData && data.size() >= pageSize) {
+			toMultiList();
 		}	
 		return data.add(element);
 	}
@@ -121,10 +174,222 @@ public final class BigArrayList<T> implements Iterable<T> {
 	}
 	
 	public void clear() {
-        data.clear();
+        data = new SingleList();
         singleData = true;
     }
 
+	/**
+	 * Make sure the list can hold at least the given number of elements without allocating any more storage
+	 *
+	 * @param theCapacity the capacity
+	 */
+	public void ensureCapacity(final long theCapacity) {
+		if (singleData && theCapacity > pageSize) {
+			toMultiList();
+		}
+		data.ensureCapacity(theCapacity);
+	}
+
+	/**
+	 * Appends all the elements of the array to the end of the list
+	 *
+	 * @param theElems the elements to add
+	 * @return true if the list changed
+	 */
+	public boolean addAll(final T[] theElems) {
+		set(size(), theElems, 0, theElems.length);
+		return theElems.length > 0;
+	}
+
+	/**
+	 * Appends all the elements to the end of the list
+	 *
+	 * @param theElems the elements to add
+	 * @return true if the list changed
+	 */
+	@SuppressWarnings("unchecked")
+	public boolean addAll(final Iterable<? extends T> theElems) {
+		if (theElems instanceof BigArrayList) {
+			return addAll((BigArrayList<? extends T>) theElems);
+		}
+		else if (theElems instanceof Collection) {
+			final Object[] elems = ((Collection<? extends T>) theElems).toArray();
+			copyIn(size(), elems, 0, elems.length);
+			return elems.length > 0;
+		}
+
+		boolean changed = false;
+		for (T elem : theElems) {
+			changed |= add(elem);
+		}
+		return changed;
+	}
+
+	/**
+	 * Appends all the elements of the other list to the end of this list
+	 *
+	 * @param theElems the elements to add
+	 * @return true if the list changed
+	 */
+	public boolean addAll(final BigArrayList<? extends T> theElems) {
+		final Object[][] pages = theElems.data.pages();
+		final long count = theElems.size();
+		final int otherPageSize = theElems.pageSize;
+
+		final long start = size();
+		ensureCapacity(start + count);
+
+		long copied = 0;
+		for (int i = 0; copied < count; i++) {
+			final int length = (int) Math.min(otherPageSize, count - copied);
+			copyIn(start + copied, pages[i], 0, length);
+			copied += length;
+		}
+
+		return count > 0;
+	}
+
+	/**
+	 * Copy elements from the array into the list starting at the given position, replacing what is there. If the
+	 * range extends past the end of the list, the list is extended; any positions between the old end and
+	 * {@code theIndex} are filled with {@code null}.  Copying no elements leaves the list unchanged.
+	 *
+	 * @param theIndex the position in the list of the first element to copy
+	 * @param theElems the source array
+	 * @param theOffset the position in the array of the first element to copy
+	 * @param theLength the number of elements to copy
+	 */
+	public void set(final long theIndex, final T[] theElems, final int theOffset, final int theLength) {
+		copyIn(theIndex, theElems, theOffset, theLength);
+	}
+
+	/**
+	 * Set every position in the range {@code [theFrom, theTo)} to the given element.  If the range extends past the end
+	 * of the list, the list is extended; any positions between the old end and {@code theFrom} are filled with
+	 * {@code null}.  An empty range leaves the list unchanged.
+	 *
+	 * @param theFrom the first position to set, inclusive
+	 * @param theTo the last position to set, exclusive
+	 * @param theElem the element
+	 */
+	public void fill(final long theFrom, final long theTo, final T theElem) {
+		if (theFrom < 0 || theFrom > theTo) {
+			throw new IndexOutOfBoundsException("Invalid range: [" + theFrom + ", " + theTo + ")");
+		}
+		if (theFrom == theTo) {
+			return;
+		}
+
+		ensureCapacity(theTo);
+
+		final Object[][] pages = data.pages();
+		long index = theFrom;
+		while (index < theTo) {
+			final int offset = (int) (index & pageMask);
+			final int end = (int) Math.min(pageSize, offset + (theTo - index));
+
+			Arrays.fill(pages[(int) (index >>> pageShift)], offset, end, theElem);
+
+			index += end - offset;
+		}
+
+		data.extend(theTo);
+	}
+
+	/**
+	 * Copy the range of the array into the list, page at a time, growing the list as needed
+	 */
+	private void copyIn(final long theIndex, final Object[] theElems, final int theOffset, final int theLength) {
+		if (theIndex < 0) {
+			throw new IndexOutOfBoundsException("Index: " + theIndex);
+		}
+		if (theOffset < 0 || theLength < 0 || theOffset > theElems.length - theLength) {
+			throw new IndexOutOfBoundsException("Invalid range [" + theOffset + ", " + (theOffset + theLength) + ") of array of length " + theElems.length);
+		}
+		if (theLength == 0) {
+			return;
+		}
+
+		final long end = theIndex + theLength;
+		ensureCapacity(end);
+
+		final Object[][] pages = data.pages();
+		long index = theIndex;
+		int from = theOffset;
+		while (index < end) {
+			final int offset = (int) (index & pageMask);
+			final int count = (int) Math.min(pageSize - offset, end - index);
+
+			System.arraycopy(theElems, from, pages[(int) (index >>> pageShift)], offset, count);
+
+			index += count;
+			from += count;
+		}
+
+		data.extend(end);
+	}
+
+	/**
+	 * Performs the given action for each element of the list, in order, passing the element along with its index.
+	 *
+	 * @param theAction the action to perform
+	 */
+	public void forEach(final ObjLongConsumer<? super T> theAction) {
+		final Object[][] pages = data.pages();
+		final long size = data.size();
+
+		long index = 0;
+		for (int i = 0; index < size; i++) {
+			final Object[] page = pages[i];
+			final int end = (int) Math.min(page.length, size - index);
+
+			for (int j = 0; j < end; j++) {
+				@SuppressWarnings("unchecked")
+				final T elem = (T) page[j];
+				theAction.accept(elem, index++);
+			}
+		}
+	}
+
+	/**
+	 * Return a {@link Spliterator} over the elements of this list.  The spliterator reports {@link Spliterator#SIZED} and
+	 * {@link Spliterator#SUBSIZED}, and splits at page boundaries whenever the range it covers spans more than one page.
+	 * It covers the elements in the list at the time it was created, it is not late-binding nor fail-fast.
+	 *
+	 * @return the spliterator
+	 */
+	@Override
+	public Spliterator<T> spliterator() {
+		return new PageSpliterator(data.pages(), 0, data.size());
+	}
+
+	/**
+	 * Return a sequential {@link Stream} over the elements of this list
+	 *
+	 * @return the stream
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(spliterator(), false);
+	}
+
+	/**
+	 * Return a possibly parallel {@link Stream} over the elements of this list
+	 *
+	 * @return the stream
+	 */
+	public Stream<T> parallelStream() {
+		return StreamSupport.stream(spliterator(), true);
+	}
+
+	private void toMultiList() {
+		data = new MultiList((SingleList) data);
+		singleData = false;
+	}
+
+	private static IndexOutOfBoundsException outOfBounds(final long theIndex, final long theSize) {
+		return new IndexOutOfBoundsException("Index: " + theIndex + ", Size: " + theSize);
+	}
+
 	/**
 	 * An interface for datastructures that provide a long-sized {@link List}
 	 * 
@@ -141,139 +406,302 @@ public final class BigArrayList<T> implements Iterable<T> {
 
 		public K set(long theIndex, K theElement);
 
-        public void clear();
+		/**
+		 * Return the pages holding the elements; every page but the last is full, and the pages array may have unused
+		 * space at the end.
+		 */
+		public Object[][] pages();
+
+		/**
+		 * Make sure the pages can hold at least the given number of elements
+		 */
+		public void ensureCapacity(long theCapacity);
+
+		/**
+		 * Grow the size of the list to the given size if it is currently smaller.  The storage for the new elements must
+		 * already have been {@link #ensureCapacity(long) allocated}.
+		 */
+		public void extend(long theSize);
 	}
 	
 	/**
-	 * {@link BigList} implementation with a single {@link List}.
-	 * Only supports {@link Integer#MAX_VALUE} elements.
+	 * {@link BigList} implementation with a single array which grows up to the page size.
 	 * 
 	 * @author Pedro Oliveira <pedro@clarkparsia.com>
 	 *
 	 */
 	private class SingleList implements BigList<T> {
 		
-		private List<T> data;
+		private Object[] data;
+
+		private int size;
 		
 		public SingleList() {
-			data = new ArrayList<T>();
+			data = new Object[Math.min(INITIAL_CAPACITY, pageSize)];
 		}
 
-        @Override
-        public void clear() {
-            data.clear();
-        }
-
-        public T get(long index) {
-			return data.get((int) index);
+		@SuppressWarnings("unchecked")
+		public T get(long index) {
+			if (index < 0 || index >= size) {
+				throw outOfBounds(index, size);
+			}
+			return (T) data[(int) index];
 		}
 		
 		public boolean add(T element) {
-			return data.add(element);
+			ensureCapacity(size + 1);
+			data[size++] = element;
+			return true;
 		}
 		
 		public long size() {
-			return data.size();
+			return size;
 		}
 
+		@SuppressWarnings("unchecked")
 		public T set(final long theIndex, final T theElement) {
-			if (theIndex+1 > data.size()) {
-				((ArrayList)data).ensureCapacity( (int) theIndex+1);
-				while (theIndex+1 > data.size()) {
-					data.add(null);
-				}
+			if (theIndex >= size) {
+				ensureCapacity(theIndex + 1);
+				size = (int) theIndex + 1;
 			}
-			return data.set((int) theIndex, theElement);
+
+			T old = (T) data[(int) theIndex];
+			data[(int) theIndex] = theElement;
+			return old;
+		}
+
+		/**
+		 * Grow the array, doubling its length, so that it can hold at least the given number of elements.  The array is
+		 * never grown past the page size.
+		 */
+		public void ensureCapacity(final long theCapacity) {
+			if (theCapacity > data.length) {
+				data = Arrays.copyOf(data, (int) Math.min(pageSize, Math.max(theCapacity, data.length * 2L)));
+			}
+		}
+
+		public void extend(final long theSize) {
+			if (theSize > size) {
+				size = (int) theSize;
+			}
+		}
+
+		public Object[][] pages() {
+			return new Object[][] { data };
 		}
 
 		public Iterator<T> iterator() {
-			return data.iterator();
+			return new PageIterator(pages(), size);
 		}
 	}
 	
 	/**
-	 * {@link BigList} implementation with a {@link List} of {@link List}s
+	 * {@link BigList} implementation with an array of fixed-size pages
 	 * 
 	 * @author Pedro Oliveira <pedro@clarkparsia.com>
 	 *
 	 */
 	private class MultiList implements BigList<T> {
 		
-		private List<List<T>> data;
-		private transient List<T> currList;
+		private Object[][] pages;
+
+		/**
+		 * The number of pages which have been allocated, {@link #pages} is empty beyond this point
+		 */
+		private int pageCount;
+
 		private long size;
 		
-		public MultiList() {
-			data = new ArrayList<List<T>>();
-			size = 0;
-			grow();
-		}
-		
 		public MultiList(SingleList otherData) {
-			this.data = new ArrayList<List<T>>();
-			this.data.add(otherData.data);
-			this.size = otherData.size();
-			grow();
+			otherData.ensureCapacity(pageSize);
+
+			pages = new Object[][] { otherData.data, null };
+			pageCount = 1;
+			size = otherData.size();
 		}
 
-        public void clear() {
-            data = new ArrayList<List<T>>();
-            size = 0;
-            grow();
-        }
-		
+		@SuppressWarnings("unchecked")
 		public T get(long index) {
-			int pos = (int) (index / maxSize);
-			int offset = (int) (index - ((long) pos * maxSize));
-			return data.get(pos).get(offset);
+			if (index < 0 || index >= size) {
+				throw outOfBounds(index, size);
+			}
+			return (T) pages[(int) (index >>> pageShift)][(int) (index & pageMask)];
 		}
 
+		@SuppressWarnings("unchecked")
 		public T set(final long theIndex, final T theElement) {
-			int pos = (int) (theIndex / maxSize);
-			int offset = (int) (theIndex - ((long) pos * maxSize));
-			while (pos > data.size()-1) {
-				grow();
+			if (theIndex >= size) {
+				ensureCapacity(theIndex + 1);
+				size = theIndex + 1;
 			}
-			return data.get(pos).set(offset, theElement);
+
+			Object[] page = pages[(int) (theIndex >>> pageShift)];
+			int offset = (int) (theIndex & pageMask);
+
+			T old = (T) page[offset];
+			page[offset] = theElement;
+			return old;
 		}
 
 		public boolean add(T element) {
-			if(currList.size() == maxSize) {
-				grow();
-			}			
-			if(currList.add(element)) {
-				size++;
-				return true;
+			int page = (int) (size >>> pageShift);
+			if (page >= pageCount) {
+				ensureCapacity(size + 1);
 			}
-			return false;
+			pages[page][(int) (size & pageMask)] = element;
+			size++;
+			return true;
 		}
 		
 		public long size() {
 			return size;
 		}
-		
-		private void grow() {
-			currList = new ArrayList<T>();
-			data.add(currList);
+
+		/**
+		 * Allocate pages so that the list can hold at least the given number of elements
+		 */
+		public void ensureCapacity(final long theCapacity) {
+			long needed = (theCapacity + pageMask) >>> pageShift;
+			if (needed > Integer.MAX_VALUE - 8) {
+				throw new OutOfMemoryError("Too many pages required for capacity: " + theCapacity);
+			}
+
+			if (needed > pages.length) {
+				pages = Arrays.copyOf(pages, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(needed, pages.length + (pages.length >> 1))));
+			}
+
+			while (pageCount < needed) {
+				pages[pageCount++] = new Object[pageSize];
+			}
+		}
+
+		public Object[][] pages() {
+			return pages;
+		}
+
+		public void extend(final long theSize) {
+			if (theSize > size) {
+				size = theSize;
+			}
 		}
 
 		public Iterator<T> iterator() {
-			return new UnmodifiableIterator<T>() {
-				private final Iterator<List<T>> lists = data.iterator();
-				private Iterator<T> iter = lists.next().iterator();			
-				
-				public boolean hasNext() {
-					return iter.hasNext();
-				}
+			return new PageIterator(pages, size);
+		}
+	}
+
+	/**
+	 * Iterator over the first {@code size} elements of a set of pages
+	 */
+	private class PageIterator extends UnmodifiableIterator<T> {
+		private final Object[][] pages;
+
+		private final long size;
+
+		private long index = 0;
+
+		PageIterator(final Object[][] thePages, final long theSize) {
+			pages = thePages;
+			size = theSize;
+		}
+
+		public boolean hasNext() {
+			return index < size;
+		}
+
+		@SuppressWarnings("unchecked")
+		public T next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+
+			T next = (T) pages[(int) (index >>> pageShift)][(int) (index & pageMask)];
+			index++;
+			return next;
+		}
+	}
+
+	/**
+	 * Spliterator over the elements in the range {@code [index, fence)} of a set of pages
+	 */
+	private class PageSpliterator implements Spliterator<T> {
+		private final Object[][] pages;
+
+		private long index;
 
-				public T next() {
-					T next = iter.next();
-					if(!iter.hasNext() && lists.hasNext()) {
-						iter = lists.next().iterator();
-					}
-					return next;
+		private final long fence;
+
+		PageSpliterator(final Object[][] thePages, final long theIndex, final long theFence) {
+			pages = thePages;
+			index = theIndex;
+			fence = theFence;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public boolean tryAdvance(final Consumer<? super T> theAction) {
+			if (index >= fence) {
+				return false;
+			}
+
+			theAction.accept((T) pages[(int) (index >>> pageShift)][(int) (index & pageMask)]);
+			index++;
+			return true;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public void forEachRemaining(final Consumer<? super T> theAction) {
+			while (index < fence) {
+				final Object[] page = pages[(int) (index >>> pageShift)];
+				final int start = (int) (index & pageMask);
+				final int end = (int) Math.min(page.length, start + (fence - index));
+
+				for (int i = start; i < end; i++) {
+					theAction.accept((T) page[i]);
 				}
-			};
+
+				index += end - start;
+			}
+		}
+
+		@Override
+		public Spliterator<T> trySplit() {
+			final long remaining = fence - index;
+			if (remaining < 2) {
+				return null;
+			}
+
+			final long mid = index + (remaining >>> 1);
+
+			// prefer the page boundary closest to the midpoint, fall back to the midpoint when the range is within a page
+			final long below = mid & ~((long) pageMask);
+			final long above = below + pageSize;
+
+			long split;
+			if (below > index && (mid - below <= above - mid || above >= fence)) {
+				split = below;
+			}
+			else if (above < fence) {
+				split = above;
+			}
+			else {
+				split = mid;
+			}
+
+			final PageSpliterator prefix = new PageSpliterator(pages, index, split);
+			index = split;
+			return prefix;
+		}
+
+		@Override
+		public long estimateSize() {
+			return fence - index;
+		}
+
+		@Override
+		public int characteristics() {
+			return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
 		}
 	}
 
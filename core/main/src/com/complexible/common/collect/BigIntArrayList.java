@@ -0,0 +1,232 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>A list of primitive {@code int} values which can have more than {@link Integer#MAX_VALUE} elements.  This is the
+ * primitive counterpart of {@link BigArrayList}; values are stored unboxed in fixed-size pages of {@code int[]} so
+ * there is no per-element object overhead, and locating an element is a shift and a mask rather than a division.</p>
+ *
+ * <p>The first page grows on demand, the way an {@link java.util.ArrayList} would, until it reaches the page size;
+ * all subsequent pages are allocated at full size and never copied.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ *
+ * @see BigLongArrayList
+ * @see BigDoubleArrayList
+ */
+public final class BigIntArrayList {
+
+	/**
+	 * The default number of elements in each page
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 1 << 16;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private final int mPageShift;
+
+	private final int mPageMask;
+
+	private int[][] mPages;
+
+	/**
+	 * The number of pages which have been allocated, the tail of {@code mPages} past this point is empty
+	 */
+	private int mPageCount;
+
+	private long mSize;
+
+	public BigIntArrayList() {
+		this(DEFAULT_PAGE_SIZE);
+	}
+
+	BigIntArrayList(final int thePageSize) {
+		checkArgument(thePageSize > 0 && Integer.bitCount(thePageSize) == 1, "Page size must be a positive power of two: %s", thePageSize);
+
+		mPageShift = Integer.numberOfTrailingZeros(thePageSize);
+		mPageMask = thePageSize - 1;
+		mPages = new int[][] { new int[Math.min(INITIAL_CAPACITY, thePageSize)] };
+		mPageCount = 1;
+	}
+
+	public static BigIntArrayList create() {
+		return new BigIntArrayList();
+	}
+
+	/**
+	 * Create a new list whose pages hold {@code thePageSize} elements
+	 *
+	 * @param thePageSize   the page size, must be a power of two
+	 * @return              the new list
+	 */
+	public static BigIntArrayList create(final int thePageSize) {
+		return new BigIntArrayList(thePageSize);
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param theIndex  the index
+	 * @return          the value at the index
+	 *
+	 * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #size()}
+	 */
+	public int get(final long theIndex) {
+		checkIndex(theIndex);
+
+		return mPages[(int) (theIndex >>> mPageShift)][(int) (theIndex & mPageMask)];
+	}
+
+	/**
+	 * Set the value at the given index.  If the index is past the end of the list, the list is extended and the
+	 * positions between the old end and the index are filled with {@code 0}.
+	 *
+	 * @param theIndex  the index
+	 * @param theValue  the value to set at the index
+	 * @return          the previous value at the index
+	 */
+	public int set(final long theIndex, final int theValue) {
+		if (theIndex < 0) {
+			throw new IndexOutOfBoundsException("Index: " + theIndex);
+		}
+
+		if (theIndex >= mSize) {
+			ensureCapacity(theIndex + 1);
+			mSize = theIndex + 1;
+		}
+
+		final int[] aPage = mPages[(int) (theIndex >>> mPageShift)];
+		final int aOffset = (int) (theIndex & mPageMask);
+
+		final int aOld = aPage[aOffset];
+		aPage[aOffset] = theValue;
+		return aOld;
+	}
+
+	/**
+	 * Appends the specified element to the end of this list.
+	 *
+	 * @param theValue  the value to add
+	 * @return          true
+	 */
+	public boolean add(final int theValue) {
+		final int aPage = (int) (mSize >>> mPageShift);
+		final int aOffset = (int) (mSize & mPageMask);
+
+		if (aPage >= mPageCount || aOffset >= mPages[aPage].length) {
+			ensureCapacity(mSize + 1);
+		}
+
+		mPages[aPage][aOffset] = theValue;
+		mSize++;
+
+		return true;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the size of the list
+	 */
+	public long size() {
+		return mSize;
+	}
+
+	public boolean isEmpty() {
+		return mSize == 0;
+	}
+
+	/**
+	 * Remove all the elements from this list and release its pages
+	 */
+	public void clear() {
+		mPages = new int[][] { new int[Math.min(INITIAL_CAPACITY, mPageMask + 1)] };
+		mPageCount = 1;
+		mSize = 0;
+	}
+
+	/**
+	 * Return an iterator over the values in this list
+	 *
+	 * @return the iterator
+	 */
+	public PrimitiveIterator.OfInt iterator() {
+		return new PrimitiveIterator.OfInt() {
+			private long mIndex = 0;
+
+			@Override
+			public boolean hasNext() {
+				return mIndex < mSize;
+			}
+
+			@Override
+			public int nextInt() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				final int aValue = mPages[(int) (mIndex >>> mPageShift)][(int) (mIndex & mPageMask)];
+				mIndex++;
+				return aValue;
+			}
+		};
+	}
+
+	private void checkIndex(final long theIndex) {
+		if (theIndex < 0 || theIndex >= mSize) {
+			throw new IndexOutOfBoundsException("Index: " + theIndex + ", Size: " + mSize);
+		}
+	}
+
+	private void ensureCapacity(final long theCapacity) {
+		final int aPageSize = mPageMask + 1;
+		final long aPagesNeeded = (theCapacity + mPageMask) >>> mPageShift;
+
+		if (aPagesNeeded <= 1) {
+			if (mPages[0].length < theCapacity) {
+				mPages[0] = Arrays.copyOf(mPages[0], (int) Math.min(aPageSize, Math.max(theCapacity, mPages[0].length * 2L)));
+			}
+			return;
+		}
+
+		if (aPagesNeeded > Integer.MAX_VALUE - 8) {
+			throw new OutOfMemoryError("Too many pages required for capacity: " + theCapacity);
+		}
+
+		if (mPages[0].length < aPageSize) {
+			mPages[0] = Arrays.copyOf(mPages[0], aPageSize);
+		}
+
+		if (aPagesNeeded > mPages.length) {
+			mPages = Arrays.copyOf(mPages, (int) Math.min(Integer.MAX_VALUE - 8, Math.max(aPagesNeeded, mPages.length + (mPages.length >> 1))));
+		}
+
+		while (mPageCount < aPagesNeeded) {
+			mPages[mPageCount++] = new int[aPageSize];
+		}
+	}
+}
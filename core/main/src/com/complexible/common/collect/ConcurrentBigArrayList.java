@@ -0,0 +1,398 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import com.google.common.collect.UnmodifiableIterator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+/**
+ * <p>A variant of {@link BigArrayList} which supports appending from many threads at once without external locking.</p>
+ *
+ * <p>Each {@link #add(Object) add} or {@link #addAll(Object[], int, int) addAll} reserves its range of indexes with a
+ * single atomic increment and then writes its elements directly into the fixed-size, power-of-two pages backing the
+ * list; writers appending to the same page never contend on a lock.  A lock is only taken, briefly, the first time a
+ * page is needed.  Once written, a range is published by advancing {@link #size()}; ranges are published in the order
+ * they were reserved, so every index less than {@link #size()} is always visible to any thread with the value that was
+ * appended there.  Publishing in order means a writer which finishes early waits for the writers which reserved before
+ * it, so appends are not lock-free.</p>
+ *
+ * <p>A range is published even if writing it fails, eg because a page could not be allocated, so that a failed append
+ * never blocks the appends reserved after it.  The indexes of a failed append read as {@code null}.</p>
+ *
+ * <p>Elements can be replaced with {@link #set(long, Object)}, but the list cannot be shrunk and writes to existing
+ * positions are not synchronized with concurrent readers; use this only for appending from many threads and reading
+ * what has been published.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ *
+ * @see BigArrayList
+ */
+public final class ConcurrentBigArrayList<T> implements Iterable<T> {
+
+	/**
+	 * The default number of elements in each page
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 1 << 16;
+
+	private static final int INITIAL_PAGES = 16;
+
+	private static final int SPINS_BEFORE_YIELD = 64;
+
+	private static final int SPINS_BEFORE_PARK = 256;
+
+	private static final long PARK_NANOS = 1000;
+
+	private final int mPageSize;
+
+	private final int mPageShift;
+
+	private final int mPageMask;
+
+	/**
+	 * The maximum number of pages
+	 */
+	private final long mMaxPages;
+
+	/**
+	 * The page directory.  Pages are only ever installed while holding {@link #mLock}, and a grown directory is a copy
+	 * of the old one made while holding it, so no installed page can be lost.
+	 */
+	private volatile AtomicReferenceArray<Object[]> mPages;
+
+	private final Object mLock = new Object();
+
+	/**
+	 * The next index to hand out to a writer
+	 */
+	private final AtomicLong mReserved = new AtomicLong();
+
+	/**
+	 * The number of elements which have been written and are visible to readers
+	 */
+	private volatile long mSize;
+
+	public ConcurrentBigArrayList() {
+		this(DEFAULT_PAGE_SIZE);
+	}
+
+	ConcurrentBigArrayList(final int thePageSize) {
+		this(thePageSize, Integer.MAX_VALUE - 8);
+	}
+
+	ConcurrentBigArrayList(final int thePageSize, final int theMaxPages) {
+		checkArgument(thePageSize > 0 && Integer.bitCount(thePageSize) == 1, "Page size must be a positive power of two: %s", thePageSize);
+		checkArgument(theMaxPages > 0 && theMaxPages <= Integer.MAX_VALUE - 8, "Invalid maximum number of pages: %s", theMaxPages);
+
+		mPageSize = thePageSize;
+		mMaxPages = theMaxPages;
+		mPageShift = Integer.numberOfTrailingZeros(thePageSize);
+		mPageMask = thePageSize - 1;
+		mPages = new AtomicReferenceArray<Object[]>(INITIAL_PAGES);
+	}
+
+	public static <T> ConcurrentBigArrayList<T> create() {
+		return new ConcurrentBigArrayList<T>();
+	}
+
+	/**
+	 * Create a new list whose pages hold {@code thePageSize} elements
+	 *
+	 * @param thePageSize   the page size, must be a power of two
+	 * @return              the new list
+	 */
+	public static <T> ConcurrentBigArrayList<T> create(final int thePageSize) {
+		return new ConcurrentBigArrayList<T>(thePageSize);
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param theIndex  the index
+	 * @return          the element
+	 *
+	 * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #size()}
+	 */
+	public T get(final long theIndex) {
+		checkIndex(theIndex);
+
+		return read(theIndex);
+	}
+
+	/**
+	 * Replace the element at the given position
+	 *
+	 * @param theIndex  the index
+	 * @param theElem   the new element
+	 * @return          the previous element
+	 *
+	 * @throws IndexOutOfBoundsException if the index is negative or not less than {@link #size()}
+	 */
+	@SuppressWarnings("unchecked")
+	public T set(final long theIndex, final T theElem) {
+		checkIndex(theIndex);
+
+		final Object[] aPage = page(theIndex);
+		final int aOffset = (int) (theIndex & mPageMask);
+
+		final T aOld = (T) aPage[aOffset];
+		aPage[aOffset] = theElem;
+		return aOld;
+	}
+
+	/**
+	 * Appends the specified element to the end of this list.
+	 *
+	 * @param theElem   the element to add
+	 * @return          true
+	 */
+	public boolean add(final T theElem) {
+		final long aIndex = mReserved.getAndIncrement();
+
+		try {
+			page(aIndex)[(int) (aIndex & mPageMask)] = theElem;
+		}
+		catch (Throwable e) {
+			abandon(aIndex, aIndex + 1);
+			throw e;
+		}
+		finally {
+			publish(aIndex, aIndex + 1);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Append all the elements in the array to the end of the list.  The elements are appended as a contiguous range.
+	 *
+	 * @param theElems  the elements to add
+	 * @return          true if the list changed
+	 */
+	public boolean addAll(final T[] theElems) {
+		return addAll(theElems, 0, theElems.length);
+	}
+
+	/**
+	 * Append the elements from the given range of the array to the end of the list.  The elements are appended as a
+	 * contiguous range.
+	 *
+	 * @param theElems  the elements to add
+	 * @param theOffset the position of the first element to add
+	 * @param theLength the number of elements to add
+	 * @return          true if the list changed
+	 */
+	public boolean addAll(final T[] theElems, final int theOffset, final int theLength) {
+		checkPositionIndexes(theOffset, theOffset + theLength, theElems.length);
+
+		if (theLength == 0) {
+			return false;
+		}
+
+		final long aStart = mReserved.getAndAdd(theLength);
+
+		try {
+			long aIndex = aStart;
+			int aFrom = theOffset;
+			int aRemaining = theLength;
+
+			while (aRemaining > 0) {
+				final int aOffset = (int) (aIndex & mPageMask);
+				final int aCount = Math.min(aRemaining, mPageSize - aOffset);
+
+				System.arraycopy(theElems, aFrom, page(aIndex), aOffset, aCount);
+
+				aIndex += aCount;
+				aFrom += aCount;
+				aRemaining -= aCount;
+			}
+		}
+		catch (Throwable e) {
+			abandon(aStart, aStart + theLength);
+			throw e;
+		}
+		finally {
+			publish(aStart, aStart + theLength);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Append all the elements of the collection to the end of the list.  The elements are appended as a contiguous range.
+	 *
+	 * @param theElems  the elements to add
+	 * @return          true if the list changed
+	 */
+	public boolean addAll(final Collection<? extends T> theElems) {
+		// the array is only read, so its runtime type does not matter
+		@SuppressWarnings("unchecked")
+		final T[] aElems = (T[]) theElems.toArray();
+		return addAll(aElems, 0, aElems.length);
+	}
+
+	/**
+	 * Returns the number of elements in this list which are visible to readers.
+	 *
+	 * @return the size
+	 */
+	public long size() {
+		return mSize;
+	}
+
+	public boolean isEmpty() {
+		return mSize == 0;
+	}
+
+	/**
+	 * Return an iterator over the elements in the list at the time this method is called
+	 *
+	 * @return the iterator
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		final long aSize = mSize;
+
+		return new UnmodifiableIterator<T>() {
+			private long mIndex = 0;
+
+			@Override
+			public boolean hasNext() {
+				return mIndex < aSize;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				return read(mIndex++);
+			}
+		};
+	}
+
+	private void checkIndex(final long theIndex) {
+		final long aSize = mSize;
+
+		if (theIndex < 0 || theIndex >= aSize) {
+			throw new IndexOutOfBoundsException("Index: " + theIndex + ", Size: " + aSize);
+		}
+	}
+
+	/**
+	 * Read the element at a published index, which is null if the index belongs to a failed append whose page was never
+	 * allocated
+	 */
+	@SuppressWarnings("unchecked")
+	private T read(final long theIndex) {
+		final Object[] aPage = mPages.get((int) (theIndex >>> mPageShift));
+		return aPage == null ? null : (T) aPage[(int) (theIndex & mPageMask)];
+	}
+
+	/**
+	 * Clear whatever part of the range {@code [theStart, theEnd)} of a failed append was written, so it reads as null
+	 * once published
+	 */
+	private void abandon(final long theStart, final long theEnd) {
+		for (long aIndex = theStart; aIndex < theEnd; aIndex++) {
+			final long aPage = aIndex >>> mPageShift;
+			final AtomicReferenceArray<Object[]> aPages = mPages;
+
+			if (aPage >= aPages.length() || aPages.get((int) aPage) == null) {
+				// skip the rest of a page which was never allocated
+				aIndex = ((aPage + 1) << mPageShift) - 1;
+				continue;
+			}
+
+			aPages.get((int) aPage)[(int) (aIndex & mPageMask)] = null;
+		}
+	}
+
+	/**
+	 * Make the range {@code [theStart, theEnd)} visible to readers.  Waits until all the ranges reserved before this one
+	 * have been published so that {@link #size()} never covers a range that is still being written.
+	 */
+	private void publish(final long theStart, final long theEnd) {
+		int aSpins = 0;
+		while (mSize != theStart) {
+			if (++aSpins > SPINS_BEFORE_PARK) {
+				LockSupport.parkNanos(PARK_NANOS);
+			}
+			else if (aSpins > SPINS_BEFORE_YIELD) {
+				Thread.yield();
+			}
+		}
+
+		mSize = theEnd;
+	}
+
+	/**
+	 * Return the page holding the given index, allocating it if necessary
+	 */
+	private Object[] page(final long theIndex) {
+		final long aPage = theIndex >>> mPageShift;
+		final AtomicReferenceArray<Object[]> aPages = mPages;
+
+		if (aPage < aPages.length()) {
+			final Object[] aResult = aPages.get((int) aPage);
+			if (aResult != null) {
+				return aResult;
+			}
+		}
+
+		return allocatePage(aPage);
+	}
+
+	private Object[] allocatePage(final long thePage) {
+		if (thePage >= mMaxPages) {
+			throw new OutOfMemoryError("Too many pages required for index: " + (thePage << mPageShift));
+		}
+
+		synchronized (mLock) {
+			AtomicReferenceArray<Object[]> aPages = mPages;
+
+			if (thePage >= aPages.length()) {
+				final AtomicReferenceArray<Object[]> aGrown = new AtomicReferenceArray<Object[]>(
+					(int) Math.min(Integer.MAX_VALUE - 8, Math.max(thePage + 1, aPages.length() * 2L)));
+
+				for (int i = 0; i < aPages.length(); i++) {
+					aGrown.set(i, aPages.get(i));
+				}
+
+				mPages = aPages = aGrown;
+			}
+
+			Object[] aResult = aPages.get((int) thePage);
+			if (aResult == null) {
+				aResult = new Object[mPageSize];
+				aPages.set((int) thePage, aResult);
+			}
+
+			return aResult;
+		}
+	}
+}
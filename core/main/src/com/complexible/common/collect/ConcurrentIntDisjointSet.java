@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>A lock-free version of {@link IntDisjointSet} which allows any number of threads to {@link #union} and
+ * {@link #find} concurrently.</p>
+ *
+ * <p>Parents are kept in an {@link AtomicIntegerArray}.  A union links one root under the other with a single
+ * compare-and-set, retrying if either root was linked elsewhere in the meantime.  Rather than by rank, roots are linked
+ * by index, the larger under the smaller, which can never form a cycle regardless of how unions interleave and needs no
+ * extra state.  {@link #find} does path halving with compare-and-set; a failed halving step is simply skipped, another
+ * thread has already shortened that path.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class ConcurrentIntDisjointSet {
+	private final AtomicIntegerArray mParent;
+
+	private final LongAdder mMerges = new LongAdder();
+
+	/**
+	 * Create a new disjoint set of the elements {@code [0, theSize)}, each initially in its own set
+	 *
+	 * @param theSize   the number of elements
+	 */
+	public ConcurrentIntDisjointSet(final int theSize) {
+		checkArgument(theSize >= 0, "Size cannot be negative");
+
+		mParent = new AtomicIntegerArray(theSize);
+
+		for (int i = 0; i < theSize; i++) {
+			mParent.lazySet(i, i);
+		}
+	}
+
+	/**
+	 * Return the number of elements
+	 *
+	 * @return the number of elements
+	 */
+	public int size() {
+		return mParent.length();
+	}
+
+	/**
+	 * Return the number of disjoint sets.  While unions are in progress this is only an estimate.
+	 *
+	 * @return the number of sets
+	 */
+	public int componentCount() {
+		return (int) (mParent.length() - mMerges.sum());
+	}
+
+	/**
+	 * Return the current representative element of the set containing the element.  While unions are in progress the
+	 * representative may change as soon as this returns.
+	 *
+	 * @param theElem   the element
+	 * @return          the representative of its set
+	 */
+	public int find(int theElem) {
+		int aParent = mParent.get(theElem);
+
+		while (aParent != theElem) {
+			final int aGrandparent = mParent.get(aParent);
+
+			if (aParent != aGrandparent) {
+				mParent.compareAndSet(theElem, aParent, aGrandparent);
+			}
+
+			theElem = aGrandparent;
+			aParent = mParent.get(theElem);
+		}
+
+		return theElem;
+	}
+
+	/**
+	 * Merge the sets containing the two elements
+	 *
+	 * @param theX  the first element
+	 * @param theY  the second element
+	 * @return      true if this call merged two different sets, false if they were already the same set
+	 */
+	public boolean union(final int theX, final int theY) {
+		int aRootX = theX;
+		int aRootY = theY;
+
+		while (true) {
+			aRootX = find(aRootX);
+			aRootY = find(aRootY);
+
+			if (aRootX == aRootY) {
+				return false;
+			}
+
+			// link the larger index under the smaller
+			if (aRootX < aRootY) {
+				final int aTmp = aRootX;
+				aRootX = aRootY;
+				aRootY = aTmp;
+			}
+
+			if (mParent.compareAndSet(aRootX, aRootX, aRootY)) {
+				mMerges.increment();
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Return whether or not the two elements are in the same set
+	 *
+	 * @param theX  the first element
+	 * @param theY  the second element
+	 * @return      true if they are in the same set
+	 */
+	public boolean isSame(final int theX, final int theY) {
+		int aRootX = theX;
+		int aRootY = theY;
+
+		while (true) {
+			aRootX = find(aRootX);
+			aRootY = find(aRootY);
+
+			if (aRootX == aRootY) {
+				return true;
+			}
+
+			// if the first root is still a root, the two were in different sets at the time we found it
+			if (mParent.get(aRootX) == aRootX) {
+				return false;
+			}
+		}
+	}
+}
@@ -1,15 +1,26 @@
 package com.complexible.common.collect;
 
+import java.util.AbstractCollection;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
+import com.google.common.collect.AbstractIterator;
+import com.google.common.collect.UnmodifiableIterator;
+
 /**
  * Disjoint set data structure. A disjoint set Uses path compression and union by rank.
+ * <p>
+ * The members of each set are also threaded into a circular list which is spliced together on every {@link #union},
+ * so the members of a set can be enumerated with {@link #componentOf} without calling {@link #find} for every element,
+ * and the sets can be visited one at a time with {@link #components()} rather than materialized all at once.
+ * </p>
  * 
  * @author Evren Sirin
  */
@@ -18,6 +29,10 @@ public class DisjointSet<T> {
 		U		object;
 		Node<U>	parent	= this;
 		int		rank	= 0;
+		/** the next member of this node's set, the members of a set form a cycle */
+		Node<U>	next	= this;
+		/** the number of members in the set, only maintained for roots */
+		int		size	= 1;
 
 		Node(U o) {
 			object = o;
@@ -26,6 +41,8 @@ public class DisjointSet<T> {
 
 	private Map<T, Node<T>>	elements;
 
+	private int numComponents;
+
 	public DisjointSet() {
 		elements = new HashMap<T, Node<T>>();
 	}
@@ -35,6 +52,7 @@ public class DisjointSet<T> {
 			return;
 
 		elements.put( o, new Node<T>( o ) );
+		numComponents++;
 	}
 
 	public boolean contains(T o) {
@@ -61,20 +79,102 @@ public class DisjointSet<T> {
 
 	public Collection<Set<T>> getEquivalanceSets() {
 
-		Map<T, Set<T>> equivalanceSets = new HashMap<T, Set<T>>();
+		Collection<Set<T>> equivalanceSets = new ArrayList<Set<T>>( numComponents );
+
+		for( Collection<T> component : components() ) {
+			equivalanceSets.add( new HashSet<T>( component ) );
+		}
+
+		return equivalanceSets;
+	}
 
-		for( T x : elements.keySet() ) {
-			T representative = find( x );
+	/**
+	 * Return the number of disjoint sets
+	 */
+	public int componentCount() {
+		return numComponents;
+	}
 
-			Set<T> equivalanceSet = equivalanceSets.get( representative );
-			if( equivalanceSet == null ) {
-				equivalanceSet = new HashSet<T>();
-				equivalanceSets.put( representative, equivalanceSet );
+	/**
+	 * Return a live, unmodifiable view of the members of the set containing the given element.  Its size is known
+	 * without iterating, and iterating it walks the members of the set directly.
+	 * 
+	 * @throws IllegalArgumentException if the element is not in this disjoint set
+	 */
+	public Collection<T> componentOf(T o) {
+		if( !elements.containsKey( o ) )
+			throw new IllegalArgumentException( "Not an element of this set: " + o );
+
+		return new Component( elements.get( o ) );
+	}
+
+	/**
+	 * Return a lazy view of the sets in this disjoint set.  Each set is produced as it is reached while iterating, as a
+	 * view over its members like {@link #componentOf}, so the sets are never all materialized at once.
+	 */
+	public Iterable<Collection<T>> components() {
+		return new Iterable<Collection<T>>() {
+			public Iterator<Collection<T>> iterator() {
+				return new AbstractIterator<Collection<T>>() {
+					private final Iterator<Node<T>> nodes = elements.values().iterator();
+
+					@Override
+					protected Collection<T> computeNext() {
+						while( nodes.hasNext() ) {
+							Node<T> node = nodes.next();
+							if( node.parent == node )
+								return new Component( node );
+						}
+
+						return endOfData();
+					}
+				};
 			}
-			equivalanceSet.add( x );
+		};
+	}
+
+	/**
+	 * View over the members of a set starting from any one of its members
+	 */
+	private class Component extends AbstractCollection<T> {
+		private final Node<T> start;
+
+		Component(Node<T> start) {
+			this.start = start;
+		}
+
+		@Override
+		public int size() {
+			return findRoot( start.object ).size;
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			Node<T> node = elements.get( o );
+			return node != null && findRoot( node.object ) == findRoot( start.object );
 		}
 
-		return equivalanceSets.values();
+		@Override
+		public Iterator<T> iterator() {
+			return new UnmodifiableIterator<T>() {
+				private Node<T> node = start;
+				private boolean started = false;
+
+				public boolean hasNext() {
+					return !started || node != start;
+				}
+
+				public T next() {
+					if( !hasNext() )
+						throw new NoSuchElementException();
+
+					started = true;
+					T next = node.object;
+					node = node.next;
+					return next;
+				}
+			};
+		}
 	}
 
 	public boolean isSame(T x, T y) {
@@ -102,6 +202,9 @@ public class DisjointSet<T> {
 		Node<T> rootX = findRoot( x );
 		Node<T> rootY = findRoot( y );
 
+		if( rootX == rootY )
+			return rootX;
+
 		if( rootX.rank > rootY.rank ) {
 			Node<T> node = rootX;
 			rootX = rootY;
@@ -112,6 +215,14 @@ public class DisjointSet<T> {
 
 		rootX.parent = rootY;
 
+		// splice the two member cycles into one
+		Node<T> next = rootX.next;
+		rootX.next = rootY.next;
+		rootY.next = next;
+
+		rootY.size += rootX.size;
+		numComponents--;
+
 		return rootY;
 	}
 
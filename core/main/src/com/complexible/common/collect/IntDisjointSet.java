@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>A {@link DisjointSet} over the dense range of integers {@code [0, size)}.  Rather than a node object per element
+ * in a hash map, the forest is stored in an {@code int[]} of parents and a {@code byte[]} of ranks, so each element
+ * costs five bytes.  Uses union by rank and path halving.</p>
+ *
+ * <p>This class is not thread-safe; see {@link ConcurrentIntDisjointSet} for a version which supports concurrent
+ * unions.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class IntDisjointSet {
+	private final int[] mParent;
+
+	private final byte[] mRank;
+
+	private int mComponents;
+
+	/**
+	 * Create a new disjoint set of the elements {@code [0, theSize)}, each initially in its own set
+	 *
+	 * @param theSize   the number of elements
+	 */
+	public IntDisjointSet(final int theSize) {
+		checkArgument(theSize >= 0, "Size cannot be negative");
+
+		mParent = new int[theSize];
+		mRank = new byte[theSize];
+		mComponents = theSize;
+
+		for (int i = 0; i < theSize; i++) {
+			mParent[i] = i;
+		}
+	}
+
+	/**
+	 * Return the number of elements
+	 *
+	 * @return the number of elements
+	 */
+	public int size() {
+		return mParent.length;
+	}
+
+	/**
+	 * Return the number of disjoint sets
+	 *
+	 * @return the number of sets
+	 */
+	public int componentCount() {
+		return mComponents;
+	}
+
+	/**
+	 * Return the representative element of the set containing the element
+	 *
+	 * @param theElem   the element
+	 * @return          the representative of its set
+	 */
+	public int find(int theElem) {
+		final int[] aParent = mParent;
+
+		while (aParent[theElem] != theElem) {
+			// path halving: point every other node on the path at its grandparent
+			aParent[theElem] = aParent[aParent[theElem]];
+			theElem = aParent[theElem];
+		}
+
+		return theElem;
+	}
+
+	/**
+	 * Merge the sets containing the two elements
+	 *
+	 * @param theX  the first element
+	 * @param theY  the second element
+	 * @return      true if the elements were in different sets, false if they were already in the same set
+	 */
+	public boolean union(final int theX, final int theY) {
+		int aRootX = find(theX);
+		int aRootY = find(theY);
+
+		if (aRootX == aRootY) {
+			return false;
+		}
+
+		if (mRank[aRootX] > mRank[aRootY]) {
+			final int aTmp = aRootX;
+			aRootX = aRootY;
+			aRootY = aTmp;
+		}
+		else if (mRank[aRootX] == mRank[aRootY]) {
+			mRank[aRootY]++;
+		}
+
+		mParent[aRootX] = aRootY;
+		mComponents--;
+
+		return true;
+	}
+
+	/**
+	 * Return whether or not the two elements are in the same set
+	 *
+	 * @param theX  the first element
+	 * @param theY  the second element
+	 * @return      true if they are in the same set
+	 */
+	public boolean isSame(final int theX, final int theY) {
+		return find(theX) == find(theY);
+	}
+}
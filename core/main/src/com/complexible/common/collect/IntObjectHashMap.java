@@ -0,0 +1,353 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import java.util.Arrays;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <p>A hash map from primitive {@code int} keys to objects.  Keys are stored unboxed in an {@code int[]} alongside an
+ * {@code Object[]} of values, using open addressing with linear probing, so there is no entry object or boxed key per
+ * mapping and a lookup is usually a single probe into each array.  Removal shifts later entries of the probe sequence
+ * back rather than leaving tombstones, so lookups stay short however many keys are removed.</p>
+ *
+ * <p>Any {@code int} is a valid key; {@code null} values are not permitted.  This class is not thread-safe.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class IntObjectHashMap<V> {
+	private static final int DEFAULT_CAPACITY = 16;
+
+	private static final float LOAD_FACTOR = 0.75f;
+
+	private static final int MAX_CAPACITY = 1 << 30;
+
+	private int[] mKeys;
+
+	/**
+	 * The value of each slot, or null if the slot is empty
+	 */
+	private Object[] mValues;
+
+	private int mSize;
+
+	private int mMask;
+
+	/**
+	 * The size at which the table is doubled
+	 */
+	private int mResizeAt;
+
+	/**
+	 * Create a new, empty map
+	 */
+	public IntObjectHashMap() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Create a new, empty map which can hold the given number of mappings without resizing
+	 *
+	 * @param theExpectedSize	the expected number of mappings
+	 */
+	public IntObjectHashMap(final int theExpectedSize) {
+		checkArgument(theExpectedSize >= 0, "Expected size cannot be negative: %s", theExpectedSize);
+
+		allocate(tableSizeFor(theExpectedSize));
+	}
+
+	/**
+	 * Return the number of mappings
+	 *
+	 * @return the size
+	 */
+	public int size() {
+		return mSize;
+	}
+
+	/**
+	 * Return whether or not the map is empty
+	 *
+	 * @return true if there are no mappings
+	 */
+	public boolean isEmpty() {
+		return mSize == 0;
+	}
+
+	/**
+	 * Return whether or not there is a mapping for the key
+	 *
+	 * @param theKey	the key
+	 * @return			true if the key is mapped
+	 */
+	public boolean containsKey(final int theKey) {
+		return slot(theKey) >= 0;
+	}
+
+	/**
+	 * Return the value mapped to the key
+	 *
+	 * @param theKey	the key
+	 * @return			the value, or null if the key is not mapped
+	 */
+	public V get(final int theKey) {
+		return getOrDefault(theKey, null);
+	}
+
+	/**
+	 * Return the value mapped to the key, or the default if there is none
+	 *
+	 * @param theKey		the key
+	 * @param theDefault	the value to return if the key is not mapped
+	 * @return				the value
+	 */
+	@SuppressWarnings("unchecked")
+	public V getOrDefault(final int theKey, final V theDefault) {
+		final int aSlot = slot(theKey);
+		return aSlot >= 0 ? (V) mValues[aSlot] : theDefault;
+	}
+
+	/**
+	 * Map the key to the value
+	 *
+	 * @param theKey	the key
+	 * @param theValue	the value
+	 * @return			the value previously mapped to the key, or null if there was none
+	 * @throws IllegalStateException if the key is new and the map cannot grow any larger
+	 */
+	@SuppressWarnings("unchecked")
+	public V put(final int theKey, final V theValue) {
+		checkNotNull(theValue, "Null values are not permitted");
+
+		final int aSlot = slot(theKey);
+		if (aSlot >= 0) {
+			final V aOld = (V) mValues[aSlot];
+			mValues[aSlot] = theValue;
+			return aOld;
+		}
+
+		// fail before changing anything if the table is as large as it can be and inserting would need it to grow
+		checkState(mSize < mResizeAt || mKeys.length < MAX_CAPACITY, "Map is too large");
+
+		// the complement of the result of slot is the empty slot where the key belongs
+		mKeys[~aSlot] = theKey;
+		mValues[~aSlot] = theValue;
+
+		if (++mSize > mResizeAt) {
+			resize(mKeys.length * 2);
+		}
+
+		return null;
+	}
+
+	/**
+	 * Remove the mapping for the key
+	 *
+	 * @param theKey	the key
+	 * @return			the value which was mapped to the key, or null if there was none
+	 */
+	@SuppressWarnings("unchecked")
+	public V remove(final int theKey) {
+		int aSlot = slot(theKey);
+		if (aSlot < 0) {
+			return null;
+		}
+
+		final V aOld = (V) mValues[aSlot];
+
+		// shift back any following entries of the probe sequence which could have used the emptied slot
+		int aNext = (aSlot + 1) & mMask;
+		while (mValues[aNext] != null) {
+			final int aHome = hash(mKeys[aNext]) & mMask;
+
+			// the entry can move back if its home is not in the cyclic range (aSlot, aNext]
+			if (((aNext - aHome) & mMask) >= ((aNext - aSlot) & mMask)) {
+				mKeys[aSlot] = mKeys[aNext];
+				mValues[aSlot] = mValues[aNext];
+				aSlot = aNext;
+			}
+
+			aNext = (aNext + 1) & mMask;
+		}
+
+		mValues[aSlot] = null;
+		mSize--;
+
+		return aOld;
+	}
+
+	/**
+	 * Remove all the mappings
+	 */
+	public void clear() {
+		Arrays.fill(mValues, null);
+		mSize = 0;
+	}
+
+	/**
+	 * Return the keys of the map, in the same order as {@link #forEach} visits them
+	 *
+	 * @return a new array of the keys
+	 */
+	public int[] keys() {
+		final int[] aKeys = new int[mSize];
+
+		int aIndex = 0;
+		for (int i = 0; i < mValues.length; i++) {
+			if (mValues[i] != null) {
+				aKeys[aIndex++] = mKeys[i];
+			}
+		}
+
+		return aKeys;
+	}
+
+	/**
+	 * Pass every mapping to the consumer, without boxing the keys
+	 *
+	 * @param theConsumer	the consumer
+	 */
+	@SuppressWarnings("unchecked")
+	public void forEach(final EntryConsumer<? super V> theConsumer) {
+		for (int i = 0; i < mValues.length; i++) {
+			if (mValues[i] != null) {
+				theConsumer.accept(mKeys[i], (V) mValues[i]);
+			}
+		}
+	}
+
+	@Override
+	public boolean equals(final Object theObj) {
+		if (theObj == this) {
+			return true;
+		}
+
+		if (!(theObj instanceof IntObjectHashMap) || ((IntObjectHashMap<?>) theObj).size() != mSize) {
+			return false;
+		}
+
+		final IntObjectHashMap<?> aOther = (IntObjectHashMap<?>) theObj;
+
+		for (int i = 0; i < mValues.length; i++) {
+			if (mValues[i] != null && !mValues[i].equals(aOther.get(mKeys[i]))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns the same hash code as a {@link java.util.Map} with the same mappings
+	 */
+	@Override
+	public int hashCode() {
+		int aHash = 0;
+
+		for (int i = 0; i < mValues.length; i++) {
+			if (mValues[i] != null) {
+				aHash += mKeys[i] ^ mValues[i].hashCode();
+			}
+		}
+
+		return aHash;
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder aBuilder = new StringBuilder().append('{');
+
+		for (int i = 0; i < mValues.length; i++) {
+			if (mValues[i] != null) {
+				if (aBuilder.length() > 1) {
+					aBuilder.append(", ");
+				}
+				aBuilder.append(mKeys[i]).append('=').append(mValues[i]);
+			}
+		}
+
+		return aBuilder.append('}').toString();
+	}
+
+	/**
+	 * Return the slot holding the key, or if the key is not in the map, the complement of the empty slot where it
+	 * belongs
+	 */
+	private int slot(final int theKey) {
+		int aSlot = hash(theKey) & mMask;
+
+		while (mValues[aSlot] != null) {
+			if (mKeys[aSlot] == theKey) {
+				return aSlot;
+			}
+
+			aSlot = (aSlot + 1) & mMask;
+		}
+
+		return ~aSlot;
+	}
+
+	private void resize(final int theCapacity) {
+		checkArgument(theCapacity <= MAX_CAPACITY, "Map is too large");
+
+		final int[] aKeys = mKeys;
+		final Object[] aValues = mValues;
+
+		allocate(theCapacity);
+
+		for (int i = 0; i < aValues.length; i++) {
+			if (aValues[i] != null) {
+				final int aSlot = ~slot(aKeys[i]);
+				mKeys[aSlot] = aKeys[i];
+				mValues[aSlot] = aValues[i];
+			}
+		}
+	}
+
+	private void allocate(final int theCapacity) {
+		mKeys = new int[theCapacity];
+		mValues = new Object[theCapacity];
+		mMask = theCapacity - 1;
+		mResizeAt = Math.min(theCapacity - 1, (int) (theCapacity * LOAD_FACTOR));
+	}
+
+	private static int tableSizeFor(final int theExpectedSize) {
+		final long aMinimum = Math.max(2, (long) Math.ceil(theExpectedSize / (double) LOAD_FACTOR));
+		checkArgument(aMinimum <= MAX_CAPACITY, "Expected size is too large: %s", theExpectedSize);
+
+		return Integer.highestOneBit((int) aMinimum - 1) << 1;
+	}
+
+	/**
+	 * Spread the bits of the key, since sequential keys are common and the table is indexed by the low bits
+	 */
+	private static int hash(final int theKey) {
+		final int aHash = theKey * 0x9E3779B9;
+		return aHash ^ (aHash >>> 16);
+	}
+
+	/**
+	 * Receives the mappings of an {@link IntObjectHashMap}
+	 */
+	public interface EntryConsumer<V> {
+		void accept(final int theKey, final V theValue);
+	}
+}
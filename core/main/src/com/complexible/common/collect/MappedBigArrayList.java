@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import java.io.Closeable;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.complexible.common.io.ByteBufferDataInput;
+import com.complexible.common.io.ByteBufferDataOutput;
+import com.complexible.common.io.DataInputProcessor;
+import com.complexible.common.io.DataOutputFunnel;
+import com.complexible.common.io.MMapUtil;
+import com.google.common.base.Throwables;
+import com.google.common.collect.UnmodifiableIterator;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <p>A {@link BigArrayList} whose elements live in a memory-mapped file rather than on the heap.  Every element is
+ * encoded to the same fixed number of bytes by a {@link DataOutputFunnel} and decoded with the matching
+ * {@link DataInputProcessor}.  The file is mapped in segments of at most 1GB, so the data is held in the OS page cache
+ * and the list can grow well beyond the size of the heap.</p>
+ *
+ * <p>The size of the list is kept in a small header at the start of the file, so re-opening an existing file simply
+ * re-maps it; nothing has to be read back in.  {@link #close() Closing} the list unmaps the segments via
+ * {@link MMapUtil#unmap} instead of waiting for the garbage collector to do it.  Segments are mapped whole, which
+ * extends the file to the end of the last one while the list is open; closing truncates it to the elements of the
+ * list.</p>
+ *
+ * <p>This class is not thread-safe.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class MappedBigArrayList<T> implements Iterable<T>, Closeable {
+
+	private static final int MAGIC = 0x4D42414C; // MBAL
+
+	private static final int VERSION = 1;
+
+	/**
+	 * Size of the file header: magic, version, element width, segment shift and size
+	 */
+	private static final int HEADER_SIZE = 32;
+
+	private static final int SIZE_OFFSET = 16;
+
+	/**
+	 * The largest number of bytes mapped into a single segment
+	 */
+	private static final int MAX_SEGMENT_BYTES = 1 << 30;
+
+	private final RandomAccessFile mFile;
+
+	private final FileChannel mChannel;
+
+	private final MappedByteBuffer mHeader;
+
+	private final List<MappedByteBuffer> mSegments = new ArrayList<MappedByteBuffer>();
+
+	private final int mWidth;
+
+	private final int mSegmentShift;
+
+	private final int mSegmentMask;
+
+	private final DataOutputFunnel<? super T, DataOutput> mFunnel;
+
+	private final DataInputProcessor<? extends T, DataInput> mProcessor;
+
+	private final ByteBufferDataOutput mOutput;
+
+	private final ByteBufferDataInput mInput;
+
+	private final byte[] mPadding;
+
+	private long mSize;
+
+	private boolean mClosed = false;
+
+	private MappedBigArrayList(final File theFile, final int theWidth, final int theSegmentSize,
+	                           final DataOutputFunnel<? super T, DataOutput> theFunnel,
+	                           final DataInputProcessor<? extends T, DataInput> theProcessor) throws IOException {
+		checkArgument(theWidth > 0, "Element width must be positive");
+		checkArgument(theSegmentSize > 0 && Integer.bitCount(theSegmentSize) == 1, "Segment size must be a positive power of two: %s", theSegmentSize);
+
+		mFunnel = checkNotNull(theFunnel);
+		mProcessor = checkNotNull(theProcessor);
+		mWidth = theWidth;
+		mPadding = new byte[theWidth];
+
+		mFile = new RandomAccessFile(theFile, "rw");
+
+		try {
+			mChannel = mFile.getChannel();
+
+			final boolean isNew = mChannel.size() == 0;
+
+			mHeader = mChannel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+
+			if (isNew) {
+				mHeader.putInt(0, MAGIC);
+				mHeader.putInt(4, VERSION);
+				mHeader.putInt(8, theWidth);
+				mHeader.putInt(12, Integer.numberOfTrailingZeros(theSegmentSize));
+				mHeader.putLong(SIZE_OFFSET, 0);
+			}
+			else {
+				if (mHeader.getInt(0) != MAGIC || mHeader.getInt(4) != VERSION) {
+					throw new IOException(theFile + " is not a mapped list file");
+				}
+
+				if (mHeader.getInt(8) != theWidth) {
+					throw new IOException("Element width of " + theFile + " is " + mHeader.getInt(8) + ", not " + theWidth);
+				}
+			}
+
+			mSegmentShift = mHeader.getInt(12);
+			mSegmentMask = (1 << mSegmentShift) - 1;
+			mSize = mHeader.getLong(SIZE_OFFSET);
+		}
+		catch (IOException e) {
+			mFile.close();
+			throw e;
+		}
+
+		mOutput = new ByteBufferDataOutput(mHeader);
+		mInput = new ByteBufferDataInput(mHeader);
+	}
+
+	/**
+	 * Open the list backed by the given file, creating the file if it does not exist.
+	 *
+	 * @param theFile       the backing file
+	 * @param theWidth      the number of bytes each element is encoded to
+	 * @param theFunnel     the funnel used to encode elements; it must write at most {@code theWidth} bytes
+	 * @param theProcessor  the processor used to decode elements
+	 * @return              the list
+	 *
+	 * @throws IOException  if the file cannot be mapped, or if it exists and is not a list of elements of the given width
+	 */
+	public static <T> MappedBigArrayList<T> open(final File theFile, final int theWidth,
+	                                             final DataOutputFunnel<? super T, DataOutput> theFunnel,
+	                                             final DataInputProcessor<? extends T, DataInput> theProcessor) throws IOException {
+		return new MappedBigArrayList<T>(theFile, theWidth, Integer.highestOneBit(MAX_SEGMENT_BYTES / theWidth), theFunnel, theProcessor);
+	}
+
+	static <T> MappedBigArrayList<T> open(final File theFile, final int theWidth, final int theSegmentSize,
+	                                      final DataOutputFunnel<? super T, DataOutput> theFunnel,
+	                                      final DataInputProcessor<? extends T, DataInput> theProcessor) throws IOException {
+		return new MappedBigArrayList<T>(theFile, theWidth, theSegmentSize, theFunnel, theProcessor);
+	}
+
+	/**
+	 * Returns the element at the specified position in this list.
+	 *
+	 * @param theIndex  the index
+	 * @return          the element
+	 *
+	 * @throws IOException                  if the element cannot be decoded
+	 * @throws IndexOutOfBoundsException    if the index is negative or not less than {@link #size()}
+	 */
+	public T get(final long theIndex) throws IOException {
+		checkOpen();
+
+		if (theIndex < 0 || theIndex >= mSize) {
+			throw new IndexOutOfBoundsException("Index: " + theIndex + ", Size: " + mSize);
+		}
+
+		return mProcessor.processInput(mInput.reset(position(theIndex)));
+	}
+
+	/**
+	 * Set the value of the index.  If the index is past the end of the list, the list is extended; positions between the
+	 * old end and the index hold whatever the all-zero encoding decodes to.
+	 *
+	 * @param theIndex  the index
+	 * @param theElem   the element to set at the index
+	 *
+	 * @throws IOException  if the element cannot be encoded
+	 */
+	public void set(final long theIndex, final T theElem) throws IOException {
+		checkOpen();
+
+		if (theIndex < 0) {
+			throw new IndexOutOfBoundsException("Index: " + theIndex);
+		}
+
+		write(theIndex, theElem);
+
+		if (theIndex >= mSize) {
+			setSize(theIndex + 1);
+		}
+	}
+
+	/**
+	 * Appends the specified element to the end of this list.
+	 *
+	 * @param theElem   the element to add
+	 * @return          true
+	 *
+	 * @throws IOException  if the element cannot be encoded
+	 */
+	public boolean add(final T theElem) throws IOException {
+		checkOpen();
+
+		write(mSize, theElem);
+		setSize(mSize + 1);
+
+		return true;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 *
+	 * @return the size
+	 */
+	public long size() {
+		return mSize;
+	}
+
+	/**
+	 * Remove all the elements from the list and truncate the backing file
+	 *
+	 * @throws IOException  if there is an error truncating the file
+	 */
+	public void clear() throws IOException {
+		checkOpen();
+
+		unmapSegments();
+		setSize(0);
+		mChannel.truncate(HEADER_SIZE);
+	}
+
+	/**
+	 * Force any changes to the list to be written to disk
+	 *
+	 * @throws IOException  if there is an error writing
+	 */
+	public void flush() throws IOException {
+		checkOpen();
+
+		for (MappedByteBuffer aSegment : mSegments) {
+			aSegment.force();
+		}
+
+		mHeader.force();
+	}
+
+	/**
+	 * Unmap the list and truncate the backing file to the header and the elements of the list, dropping the unused
+	 * part of the last segment.
+	 *
+	 * @throws IOException  if there is an error truncating or closing the file
+	 */
+	@Override
+	public void close() throws IOException {
+		if (mClosed) {
+			return;
+		}
+
+		mClosed = true;
+
+		try {
+			unmapSegments();
+			MMapUtil.unmap(mHeader);
+
+			mChannel.truncate(HEADER_SIZE + mSize * mWidth);
+		}
+		finally {
+			mFile.close();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public Iterator<T> iterator() {
+		return new UnmodifiableIterator<T>() {
+			private long mIndex = 0;
+
+			@Override
+			public boolean hasNext() {
+				return mIndex < mSize;
+			}
+
+			@Override
+			public T next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+
+				try {
+					return get(mIndex++);
+				}
+				catch (IOException e) {
+					throw Throwables.propagate(e);
+				}
+			}
+		};
+	}
+
+	private void write(final long theIndex, final T theElem) throws IOException {
+		final MappedByteBuffer aBuffer = position(theIndex);
+
+		mFunnel.funnel(theElem, mOutput.reset(aBuffer));
+
+		if (aBuffer.hasRemaining()) {
+			aBuffer.put(mPadding, 0, aBuffer.remaining());
+		}
+	}
+
+	private void setSize(final long theSize) {
+		mSize = theSize;
+		mHeader.putLong(SIZE_OFFSET, theSize);
+	}
+
+	/**
+	 * Return the segment containing the index with its position and limit set to the bounds of the element, mapping
+	 * any segments that do not yet exist.
+	 */
+	private MappedByteBuffer position(final long theIndex) throws IOException {
+		final long aSegmentIndex = theIndex >>> mSegmentShift;
+
+		checkArgument(aSegmentIndex < Integer.MAX_VALUE, "Index too large: %s", theIndex);
+
+		while (mSegments.size() <= aSegmentIndex) {
+			final long aSegmentBytes = (long) mWidth << mSegmentShift;
+
+			mSegments.add(mChannel.map(FileChannel.MapMode.READ_WRITE,
+			                           HEADER_SIZE + mSegments.size() * aSegmentBytes,
+			                           aSegmentBytes));
+		}
+
+		final MappedByteBuffer aSegment = mSegments.get((int) aSegmentIndex);
+		final int aOffset = (int) (theIndex & mSegmentMask) * mWidth;
+
+		aSegment.limit(aSegment.capacity());
+		aSegment.position(aOffset);
+		aSegment.limit(aOffset + mWidth);
+
+		return aSegment;
+	}
+
+	private void unmapSegments() {
+		for (MappedByteBuffer aSegment : mSegments) {
+			MMapUtil.unmap(aSegment);
+		}
+
+		mSegments.clear();
+	}
+
+	private void checkOpen() {
+		checkState(!mClosed, "List has been closed");
+	}
+}
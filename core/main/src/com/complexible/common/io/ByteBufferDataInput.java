@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.io;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>A {@link DataInput} which reads from a {@link ByteBuffer}, starting at the buffer's current position.  Reading past
+ * the limit of the buffer results in an {@link EOFException}.  The source buffer can be {@link #reset(ByteBuffer) changed}
+ * so a single instance can be reused for many buffers without allocating.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ *
+ * @see ByteBufferDataOutput
+ */
+public final class ByteBufferDataInput implements DataInput {
+    private ByteBuffer mBuffer;
+
+    public ByteBufferDataInput(final ByteBuffer theBuffer) {
+        mBuffer = checkNotNull(theBuffer);
+    }
+
+    /**
+     * Direct subsequent reads to the given buffer
+     *
+     * @param theBuffer the new buffer
+     * @return          this input
+     */
+    public ByteBufferDataInput reset(final ByteBuffer theBuffer) {
+        mBuffer = checkNotNull(theBuffer);
+        return this;
+    }
+
+    public ByteBuffer buffer() {
+        return mBuffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readFully(final byte[] theBytes) throws IOException {
+        readFully(theBytes, 0, theBytes.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readFully(final byte[] theBytes, final int theOffset, final int theLength) throws IOException {
+        try {
+            mBuffer.get(theBytes, theOffset, theLength);
+        }
+        catch (BufferUnderflowException e) {
+            throw underflow();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int skipBytes(final int theCount) throws IOException {
+        final int aSkipped = Math.max(0, Math.min(theCount, mBuffer.remaining()));
+        mBuffer.position(mBuffer.position() + aSkipped);
+        return aSkipped;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public byte readByte() throws IOException {
+        try {
+            return mBuffer.get();
+        }
+        catch (BufferUnderflowException e) {
+            throw underflow();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return readByte() & 0xFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public short readShort() throws IOException {
+        try {
+            return mBuffer.getShort();
+        }
+        catch (BufferUnderflowException e) {
+            throw underflow();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return readShort() & 0xFFFF;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public char readChar() throws IOException {
+        try {
+            return mBuffer.getChar();
+        }
+        catch (BufferUnderflowException e) {
+            throw underflow();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int readInt() throws IOException {
+        try {
+            return mBuffer.getInt();
+        }
+        catch (BufferUnderflowException e) {
+            throw underflow();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public long readLong() throws IOException {
+        try {
+            return mBuffer.getLong();
+        }
+        catch (BufferUnderflowException e) {
+            throw underflow();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public float readFloat() throws IOException {
+        return Float.intBitsToFloat(readInt());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public double readDouble() throws IOException {
+        return Double.longBitsToDouble(readLong());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String readLine() throws IOException {
+        if (!mBuffer.hasRemaining()) {
+            return null;
+        }
+
+        final StringBuilder aBuilder = new StringBuilder();
+        while (mBuffer.hasRemaining()) {
+            final int c = mBuffer.get() & 0xFF;
+            if (c == '\n') {
+                break;
+            }
+            else if (c == '\r') {
+                if (mBuffer.hasRemaining() && mBuffer.get(mBuffer.position()) == '\n') {
+                    mBuffer.get();
+                }
+                break;
+            }
+
+            aBuilder.append((char) c);
+        }
+
+        return aBuilder.toString();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    private EOFException underflow() {
+        return new EOFException("Not enough data remaining in buffer");
+    }
+}
@@ -0,0 +1,243 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.io;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>A {@link DataOutput} which writes to a {@link ByteBuffer}, starting at the buffer's current position.  Writing past
+ * the limit of the buffer results in an {@link IOException}.  The target buffer can be {@link #reset(ByteBuffer) changed}
+ * so a single instance can be reused for many buffers without allocating.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ *
+ * @see ByteBufferDataInput
+ */
+public final class ByteBufferDataOutput implements DataOutput {
+    private ByteBuffer mBuffer;
+
+    public ByteBufferDataOutput(final ByteBuffer theBuffer) {
+        mBuffer = checkNotNull(theBuffer);
+    }
+
+    /**
+     * Direct subsequent writes to the given buffer
+     *
+     * @param theBuffer the new buffer
+     * @return          this output
+     */
+    public ByteBufferDataOutput reset(final ByteBuffer theBuffer) {
+        mBuffer = checkNotNull(theBuffer);
+        return this;
+    }
+
+    public ByteBuffer buffer() {
+        return mBuffer;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final int theByte) throws IOException {
+        try {
+            mBuffer.put((byte) theByte);
+        }
+        catch (BufferOverflowException e) {
+            throw overflow(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final byte[] theBytes) throws IOException {
+        write(theBytes, 0, theBytes.length);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void write(final byte[] theBytes, final int theOffset, final int theLength) throws IOException {
+        try {
+            mBuffer.put(theBytes, theOffset, theLength);
+        }
+        catch (BufferOverflowException e) {
+            throw overflow(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeBoolean(final boolean theBool) throws IOException {
+        write(theBool ? 1 : 0);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeByte(final int theByte) throws IOException {
+        write(theByte);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeShort(final int theShort) throws IOException {
+        try {
+            mBuffer.putShort((short) theShort);
+        }
+        catch (BufferOverflowException e) {
+            throw overflow(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeChar(final int theChar) throws IOException {
+        try {
+            mBuffer.putChar((char) theChar);
+        }
+        catch (BufferOverflowException e) {
+            throw overflow(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeInt(final int theInt) throws IOException {
+        try {
+            mBuffer.putInt(theInt);
+        }
+        catch (BufferOverflowException e) {
+            throw overflow(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeLong(final long theLong) throws IOException {
+        try {
+            mBuffer.putLong(theLong);
+        }
+        catch (BufferOverflowException e) {
+            throw overflow(e);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeFloat(final float theFloat) throws IOException {
+        writeInt(Float.floatToIntBits(theFloat));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeDouble(final double theDouble) throws IOException {
+        writeLong(Double.doubleToLongBits(theDouble));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeBytes(final String theString) throws IOException {
+        for (int i = 0; i < theString.length(); i++) {
+            write(theString.charAt(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeChars(final String theString) throws IOException {
+        for (int i = 0; i < theString.length(); i++) {
+            writeChar(theString.charAt(i));
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeUTF(final String theString) throws IOException {
+        // same modified UTF-8 encoding as java.io.DataOutputStream#writeUTF
+        int aLength = 0;
+        for (int i = 0; i < theString.length(); i++) {
+            final char c = theString.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                aLength++;
+            }
+            else if (c > 0x07FF) {
+                aLength += 3;
+            }
+            else {
+                aLength += 2;
+            }
+        }
+
+        if (aLength > 65535) {
+            throw new UTFDataFormatException("encoded string too long: " + aLength + " bytes");
+        }
+
+        writeShort(aLength);
+
+        for (int i = 0; i < theString.length(); i++) {
+            final char c = theString.charAt(i);
+            if (c >= 0x0001 && c <= 0x007F) {
+                write(c);
+            }
+            else if (c > 0x07FF) {
+                write(0xE0 | ((c >> 12) & 0x0F));
+                write(0x80 | ((c >> 6) & 0x3F));
+                write(0x80 | (c & 0x3F));
+            }
+            else {
+                write(0xC0 | ((c >> 6) & 0x1F));
+                write(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private IOException overflow(final BufferOverflowException theCause) {
+        return new IOException("Not enough space remaining in buffer", theCause);
+    }
+}
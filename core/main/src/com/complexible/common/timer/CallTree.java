@@ -0,0 +1,339 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.complexible.common.io.block.BlockWriter;
+import com.complexible.common.io.block.TextBlockWriter;
+
+/**
+ * <p>Attributes time to call paths by following how {@link Timer timers} nest.  While a call tree is enabled on a
+ * {@link Timers} (see {@link Timers#setCallTreeEnabled(boolean)}), each thread keeps a stack of the timers it has
+ * running; starting a timer enters a child of the timer on top of the stack, and stopping it records the elapsed time
+ * against that path.  The same path from every thread is aggregated into one node, so the tree shows where time went
+ * across the whole process, with the time spent in each node itself separated from the time spent in the timers nested
+ * inside it.</p>
+ *
+ * <p>The tree can be written in the collapsed stack format read by flame graph tools with
+ * {@link #writeCollapsed(Writer)}, or as an indented report with {@link #print(Writer)}.</p>
+ *
+ * <p>Timers should be stopped in the reverse order they were started.  If a timer is stopped while timers started
+ * after it are still running, those are stopped in the tree as well.  While the call tree is enabled every run is
+ * timed for the tree, regardless of any {@link SamplingPolicy}.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class CallTree {
+
+	private volatile Node mRoot = new Node("");
+
+	private final ThreadLocal<Stack> mStacks = ThreadLocal.withInitial(Stack::new);
+
+	/**
+	 * Enter the timer on the calling thread, called when the timer is started
+	 */
+	void enter(final Timer theTimer) {
+		final Stack aStack = mStacks.get();
+		final Node aParent = aStack.size == 0 ? mRoot : aStack.nodes[aStack.size - 1];
+
+		aStack.push(theTimer, aParent.child(theTimer.getName()), System.nanoTime());
+	}
+
+	/**
+	 * Exit the timer on the calling thread, called when the timer is stopped
+	 */
+	void exit(final Timer theTimer) {
+		final Stack aStack = mStacks.get();
+
+		int aIndex = aStack.size - 1;
+		while (aIndex >= 0 && aStack.timers[aIndex] != theTimer) {
+			aIndex--;
+		}
+
+		if (aIndex < 0) {
+			// started before the call tree was enabled
+			return;
+		}
+
+		final long aNow = System.nanoTime();
+		while (aStack.size > aIndex) {
+			aStack.size--;
+			aStack.nodes[aStack.size].record(aNow - aStack.starts[aStack.size]);
+			aStack.timers[aStack.size] = null;
+			aStack.nodes[aStack.size] = null;
+		}
+	}
+
+	/**
+	 * Return the root of the tree.  The root has no name and no time of its own; its children are the timers started
+	 * when no other timer was running.
+	 *
+	 * @return the root
+	 */
+	public Node getRoot() {
+		return mRoot;
+	}
+
+	/**
+	 * Discard everything recorded so far.  Timers which are running when the tree is reset are recorded into the old
+	 * tree.
+	 */
+	public void reset() {
+		mRoot = new Node("");
+	}
+
+	/**
+	 * Write the tree in the collapsed stack format used by flame graph tools: one line per call path, the names along
+	 * the path separated by {@code ;}, followed by a space and the time spent in the last node itself, in microseconds.
+	 *
+	 * @param theWriter		the writer to write to
+	 * @throws IOException	if there is an error writing
+	 */
+	public void writeCollapsed(final Writer theWriter) throws IOException {
+		final StringBuilder aPath = new StringBuilder();
+
+		for (Node aChild : mRoot.getChildren()) {
+			writeCollapsed(theWriter, aPath, aChild);
+		}
+
+		theWriter.flush();
+	}
+
+	private static void writeCollapsed(final Writer theWriter, final StringBuilder thePath, final Node theNode) throws IOException {
+		final int aLength = thePath.length();
+
+		if (aLength > 0) {
+			thePath.append(';');
+		}
+		// ';' and ' ' are the separators of the format
+		thePath.append(theNode.getName().replace(';', '_').replace(' ', '_'));
+
+		final long aSelf = theNode.getSelfNanos() / 1000;
+		if (aSelf > 0) {
+			theWriter.write(thePath.toString());
+			theWriter.write(' ');
+			theWriter.write(Long.toString(aSelf));
+			theWriter.write('\n');
+		}
+
+		for (Node aChild : theNode.getChildren()) {
+			writeCollapsed(theWriter, thePath, aChild);
+		}
+
+		thePath.setLength(aLength);
+	}
+
+	/**
+	 * Print the tree as an indented report, the children of each node sorted by total time
+	 *
+	 * @param theWriter	the writer to print to
+	 */
+	public void print(final Writer theWriter) {
+		final BlockWriter aWriter = theWriter instanceof BlockWriter
+		                            ? (BlockWriter) theWriter
+		                            : new TextBlockWriter(theWriter);
+
+		final NumberFormat aFormat = new DecimalFormat("0.000");
+		final long aTotal = mRoot.getChildNanos();
+
+		for (Node aChild : sorted(mRoot.getChildren())) {
+			print(aWriter, aFormat, aTotal, aChild);
+		}
+
+		aWriter.flush();
+	}
+
+	private static void print(final BlockWriter theWriter, final NumberFormat theFormat, final long theRootTotal, final Node theNode) {
+		final double aPercent = theRootTotal == 0 ? 0 : 100.0 * theNode.getTotalNanos() / theRootTotal;
+
+		theWriter.print(theNode.getName());
+		theWriter.print("  total: ");
+		theWriter.print(theFormat.format(theNode.getTotalNanos() / 1000000.0));
+		theWriter.print(" ms (");
+		theWriter.print(theFormat.format(aPercent));
+		theWriter.print("%)  self: ");
+		theWriter.print(theFormat.format(theNode.getSelfNanos() / 1000000.0));
+		theWriter.print(" ms  count: ");
+		theWriter.println(theNode.getCount());
+
+		final List<Node> aChildren = sorted(theNode.getChildren());
+		if (!aChildren.isEmpty()) {
+			theWriter.printTab().beginBlock();
+			for (Node aChild : aChildren) {
+				print(theWriter, theFormat, theRootTotal, aChild);
+			}
+			theWriter.endBlock();
+		}
+	}
+
+	private static List<Node> sorted(final Iterable<Node> theNodes) {
+		final List<Node> aNodes = new ArrayList<Node>();
+		for (Node aNode : theNodes) {
+			aNodes.add(aNode);
+		}
+
+		Collections.sort(aNodes, new Comparator<Node>() {
+			@Override
+			public int compare(final Node theFirst, final Node theSecond) {
+				return Long.compare(theSecond.getTotalNanos(), theFirst.getTotalNanos());
+			}
+		});
+
+		return aNodes;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		final StringWriter aWriter = new StringWriter();
+		print(new PrintWriter(aWriter));
+		return aWriter.toString();
+	}
+
+	/**
+	 * <p>A call path in a {@link CallTree}: a timer, reached through the timers running when it was started.</p>
+	 */
+	public static final class Node {
+		private final String mName;
+
+		private final LongAdder mCount = new LongAdder();
+
+		private final LongAdder mTotal = new LongAdder();
+
+		private final ConcurrentMap<String, Node> mChildren = new ConcurrentHashMap<String, Node>();
+
+		private Node(final String theName) {
+			mName = theName;
+		}
+
+		private Node child(final String theName) {
+			Node aChild = mChildren.get(theName);
+
+			if (aChild == null) {
+				aChild = new Node(theName);
+
+				final Node aExisting = mChildren.putIfAbsent(theName, aChild);
+				if (aExisting != null) {
+					aChild = aExisting;
+				}
+			}
+
+			return aChild;
+		}
+
+		private void record(final long theNanos) {
+			mCount.increment();
+			mTotal.add(theNanos);
+		}
+
+		/**
+		 * Return the name of the timer
+		 */
+		public String getName() {
+			return mName;
+		}
+
+		/**
+		 * Return the number of times this path was entered
+		 */
+		public long getCount() {
+			return mCount.sum();
+		}
+
+		/**
+		 * Return the total time, in nanoseconds, spent in this path, including the time spent in its children
+		 */
+		public long getTotalNanos() {
+			return mTotal.sum();
+		}
+
+		/**
+		 * Return the time, in nanoseconds, spent in the children of this path
+		 */
+		public long getChildNanos() {
+			long aTotal = 0;
+			for (Node aChild : mChildren.values()) {
+				aTotal += aChild.getTotalNanos();
+			}
+			return aTotal;
+		}
+
+		/**
+		 * Return the time, in nanoseconds, spent in this path but not in any of its children
+		 */
+		public long getSelfNanos() {
+			return Math.max(0, getTotalNanos() - getChildNanos());
+		}
+
+		/**
+		 * Return the child paths
+		 */
+		public Iterable<Node> getChildren() {
+			return Collections.unmodifiableCollection(mChildren.values());
+		}
+
+		/**
+		 * Return the child path for the named timer, or null if there is none
+		 */
+		public Node getChild(final String theName) {
+			return mChildren.get(theName);
+		}
+	}
+
+	/**
+	 * The timers a thread has running, in the order they were started
+	 */
+	private static final class Stack {
+		private Timer[] timers = new Timer[16];
+
+		private Node[] nodes = new Node[16];
+
+		private long[] starts = new long[16];
+
+		private int size;
+
+		private void push(final Timer theTimer, final Node theNode, final long theStart) {
+			if (size == timers.length) {
+				timers = Arrays.copyOf(timers, size * 2);
+				nodes = Arrays.copyOf(nodes, size * 2);
+				starts = Arrays.copyOf(starts, size * 2);
+			}
+
+			timers[size] = theTimer;
+			nodes[size] = theNode;
+			starts[size] = theStart;
+			size++;
+		}
+	}
+}
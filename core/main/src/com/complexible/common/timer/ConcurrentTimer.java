@@ -0,0 +1,340 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <p>A {@link Timer} which can be started and stopped from any number of threads at once.</p>
+ *
+ * <p>Each thread keeps its own start time and nesting depth, so starts nest per thread: a recursive start on one thread
+ * does not hide the start made by another.  When a thread's outermost {@link #stop()} completes, the elapsed time and
+ * count are added to striped {@link LongAdder counters}, so threads recording at the same time do not contend with each
+ * other.  {@link #getTotal()}, {@link #getCount()} and {@link #getAverage()} sum those counters and cover the runs
+ * completed by every thread.  Likewise every run is recorded in one of several histograms, picked by thread, so threads
+ * do not all increment the same bucket; {@link #getHistogram()} merges them into a new histogram on each call.</p>
+ *
+ * <p>{@link #isStarted()}, {@link #getElapsed()} and {@link #getLast()}, and their nanosecond counterparts, describe
+ * the calling thread only, and so does the timeout enforced by {@link #check()}: each thread's run gets its own deadline.
+ * A timeout set while other threads are running the timer applies to their next runs.  When a {@link SamplingPolicy} is set,
+ * each thread samples its own runs.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public class ConcurrentTimer extends Timer {
+	private final static Logger log = Logger.getLogger( ConcurrentTimer.class.getCanonicalName() );
+
+	/**
+	 * The number of histograms the runs are striped over, a power of two
+	 */
+	private static final int HISTOGRAM_STRIPES = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1);
+
+	private final LongAdder total = new LongAdder();
+
+	private final LongAdder count = new LongAdder();
+
+	private final LongAdder sampledCount = new LongAdder();
+
+	/**
+	 * The total and count added from other timers; the total is already extrapolated
+	 */
+	private final LongAdder mergedTotal = new LongAdder();
+
+	private final LongAdder mergedCount = new LongAdder();
+
+	/**
+	 * The histograms of the runs completed by the threads, created on first use.  The histogram of the base class holds
+	 * the runs {@link #add(Timer) added} from other timers.
+	 */
+	private final AtomicReferenceArray<LatencyHistogram> histograms = new AtomicReferenceArray<LatencyHistogram>(HISTOGRAM_STRIPES);
+
+	/**
+	 * The per-thread state
+	 */
+	private final ThreadLocal<Run> runs = ThreadLocal.withInitial(() -> new Run(0));
+
+	/**
+	 * Incremented by {@link #reset()}.  A thread's run from before the last reset is discarded, rather than recorded,
+	 * the next time the thread uses the timer.
+	 */
+	private volatile long generation;
+
+	public ConcurrentTimer(final String name) {
+		this(name, null);
+	}
+
+	public ConcurrentTimer(final String name, final Timer parent) {
+		super(name, parent);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void add(final Timer timer) {
+		mergedTotal.add(timer.getTotalNanos());
+		mergedCount.add(timer.getCount());
+		count.add(timer.getCount());
+		super.getHistogram().add(timer.getHistogram());
+	}
+
+	/**
+	 * Start the timer for the calling thread.  If the timer is already running on this thread only the nesting depth
+	 * is updated.
+	 */
+	@Override
+	public void start() {
+		final Run aRun = run();
+
+		if (aRun.depth == 0) {
+			aRun.sampled = --aRun.countdown <= 0 || getTimeout() != NO_TIMEOUT;
+			if (aRun.sampled) {
+				aRun.startTime = getCurrentTime();
+			}
+			aRun.deadline = scheduleDeadline(0);
+			aRun.callTree = enterCallTree();
+		}
+
+		aRun.depth++;
+	}
+
+	/**
+	 * Stop the timer for the calling thread.  The elapsed time is recorded only when the outermost start on this thread
+	 * is stopped.
+	 *
+	 * @return the time (in milliseconds) spent since the matching start(), 0 if the run was not sampled, -1 if the timer is still running on this thread, -Long.MAX_VALUE
+	 * if it was not running on this thread
+	 */
+	@Override
+	public long stop() {
+		final Run aRun = run();
+
+		if (aRun.depth == 0) {
+			if (log.isLoggable(Level.FINE)) {
+				log.fine(String.format("Ignoring attempt to stop a timer (\"%s\") that is not running on this thread", getName()));
+			}
+			return -Long.MAX_VALUE;
+		}
+
+		if (--aRun.depth == 0) {
+			aRun.callTree = exitCallTree(aRun.callTree);
+			aRun.deadline = cancelDeadline(aRun.deadline);
+			count.increment();
+
+			if (!aRun.sampled) {
+				return 0;
+			}
+
+			aRun.lastTime = getCurrentTime() - aRun.startTime;
+			aRun.startTime = NOT_STARTED;
+
+			total.add(aRun.lastTime);
+			sampledCount.increment();
+			histogram().record(aRun.lastTime);
+			aRun.countdown = nextInterval();
+
+			return toMillis(aRun.lastTime);
+		}
+
+		return -1;
+	}
+
+	/**
+	 * Reset the totals and counts.  Runs which are in progress on any thread are discarded; the run on the calling
+	 * thread right away, the runs on other threads when those threads next use the timer.
+	 */
+	@Override
+	public void reset() {
+		super.reset();
+
+		generation++;
+		run();
+		total.reset();
+		count.reset();
+		sampledCount.reset();
+		mergedTotal.reset();
+		mergedCount.reset();
+
+		for (int i = 0; i < HISTOGRAM_STRIPES; i++) {
+			final LatencyHistogram aHistogram = histograms.get(i);
+			if (aHistogram != null) {
+				aHistogram.reset();
+			}
+		}
+	}
+
+	/**
+	 * Set the timeout, rescheduling the deadline of the run on the calling thread if there is one
+	 */
+	@Override
+	public void setTimeout(final long timeout) {
+		super.setTimeout(timeout);
+
+		final Run aRun = run();
+		if (aRun.depth > 0) {
+			aRun.deadline = cancelDeadline(aRun.deadline);
+			aRun.deadline = scheduleDeadline(getElapsedNanos());
+		}
+	}
+
+	@Override
+	long getCheckedEpoch() {
+		return run().checkedEpoch;
+	}
+
+	@Override
+	void setCheckedEpoch(final long epoch) {
+		run().checkedEpoch = epoch;
+	}
+
+	/**
+	 * Return whether this timer is running on the calling thread
+	 */
+	@Override
+	public boolean isStarted() {
+		return run().depth > 0;
+	}
+
+	/**
+	 * Return the time elapsed (in nanoseconds) since this timer was started on the calling thread, or 0 if it is not
+	 * running on the calling thread
+	 */
+	@Override
+	public long getElapsedNanos() {
+		final Run aRun = run();
+		return aRun.depth > 0 && aRun.sampled ? getCurrentTime() - aRun.startTime : 0;
+	}
+
+	/**
+	 * Return the total time (in nanoseconds) recorded by all threads, extrapolated if only some runs were sampled
+	 */
+	@Override
+	public long getTotalNanos() {
+		// the sums are not an atomic snapshot, so with concurrent stops the sampled count can briefly run ahead
+		final long aMerged = mergedCount.sum();
+		final long aCount = count.sum() - aMerged;
+		final long aSampled = sampledCount.sum();
+		return extrapolate(total.sum(), aSampled, Math.max(aCount, aSampled)) + mergedTotal.sum();
+	}
+
+	/**
+	 * Return the number of runs completed by all threads which were sampled and timed
+	 */
+	@Override
+	public long getSampledCount() {
+		return sampledCount.sum() + mergedCount.sum();
+	}
+
+	/**
+	 * Return the number of runs completed by all threads
+	 */
+	@Override
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * Return the histogram of the runs completed by all threads.  This is a copy merged from the per-thread histograms,
+	 * so it does not change as more runs complete, and recording into it does not affect this timer.
+	 */
+	@Override
+	public LatencyHistogram getHistogram() {
+		final LatencyHistogram aHistogram = new LatencyHistogram();
+		aHistogram.add(super.getHistogram());
+
+		for (int i = 0; i < HISTOGRAM_STRIPES; i++) {
+			final LatencyHistogram aStripe = histograms.get(i);
+			if (aStripe != null) {
+				aHistogram.add(aStripe);
+			}
+		}
+
+		return aHistogram;
+	}
+
+	/**
+	 * Return the time (in nanoseconds) spent in the last run completed by the calling thread
+	 */
+	@Override
+	public long getLastNanos() {
+		return run().lastTime;
+	}
+
+	/**
+	 * Return the histogram the calling thread records its runs in
+	 */
+	private LatencyHistogram histogram() {
+		final int aStripe = (int) Thread.currentThread().getId() & (HISTOGRAM_STRIPES - 1);
+
+		LatencyHistogram aHistogram = histograms.get(aStripe);
+		if (aHistogram == null) {
+			histograms.compareAndSet(aStripe, null, new LatencyHistogram());
+			aHistogram = histograms.get(aStripe);
+		}
+
+		return aHistogram;
+	}
+
+	/**
+	 * Return the run of the calling thread.  If the timer was reset since the run was created, the run is discarded: its
+	 * deadline is cancelled and it is exited from its call tree, and a new run takes its place.
+	 */
+	private Run run() {
+		final Run aRun = runs.get();
+		final long aGeneration = generation;
+
+		if (aRun.generation == aGeneration) {
+			return aRun;
+		}
+
+		cancelDeadline(aRun.deadline);
+		exitCallTree(aRun.callTree);
+
+		final Run aNewRun = new Run(aGeneration);
+		runs.set(aNewRun);
+		return aNewRun;
+	}
+
+	private static final class Run {
+		private final long generation;
+
+		private long startTime = NOT_STARTED;
+
+		private int depth;
+
+		private long lastTime;
+
+		private int countdown;
+
+		private boolean sampled;
+
+		private ScheduledFuture<?> deadline;
+
+		private long checkedEpoch = -1;
+
+		private CallTree callTree;
+
+		private Run(final long generation) {
+			this.generation = generation;
+		}
+	}
+}
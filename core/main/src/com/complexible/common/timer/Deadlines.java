@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * <p>Support for enforcing {@link Timer#setTimeout(long) timeouts} without {@link Timer#check()} having to read the
+ * clock.</p>
+ *
+ * <p>There is a single, global epoch which is advanced whenever something happens that could make a check fail: a
+ * timer's deadline passes, or a timer is {@link Timer#interrupt() interrupted}.  A timer remembers the epoch at which
+ * its last full check passed, and a check at the same epoch can pass without doing any work, so the common case is a
+ * single volatile read.  Deadlines are scheduled on one shared daemon thread when a timer with a timeout is started
+ * and cancelled when it stops; the thread is only created once the first deadline is scheduled.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+final class Deadlines {
+	private static final AtomicLong EPOCH = new AtomicLong();
+
+	private static final Runnable EXPIRE = new Runnable() {
+		@Override
+		public void run() {
+			advance();
+		}
+	};
+
+	private Deadlines() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Return the current epoch
+	 */
+	static long epoch() {
+		return EPOCH.get();
+	}
+
+	/**
+	 * Advance the epoch so that the next check of every timer does a full check
+	 */
+	static void advance() {
+		EPOCH.incrementAndGet();
+	}
+
+	/**
+	 * Schedule the epoch to be advanced once the given time has passed
+	 *
+	 * @param theNanos	the time until the deadline, in nanoseconds
+	 * @return			the scheduled deadline, to cancel if the timer stops first
+	 */
+	static ScheduledFuture<?> schedule(final long theNanos) {
+		return Scheduler.INSTANCE.schedule(EXPIRE, theNanos, TimeUnit.NANOSECONDS);
+	}
+
+	private static final class Scheduler {
+		private static final ScheduledThreadPoolExecutor INSTANCE;
+
+		static {
+			INSTANCE = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder().setDaemon(true)
+			                                                                        .setNameFormat("timer-deadlines-%d")
+			                                                                        .build());
+
+			// timers are usually stopped well before their deadline, don't let the cancelled tasks pile up
+			INSTANCE.setRemoveOnCancelPolicy(true);
+		}
+	}
+}
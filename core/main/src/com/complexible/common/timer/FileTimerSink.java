@@ -0,0 +1,226 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.List;
+
+import com.complexible.common.io.FileRotationStrategy;
+import com.complexible.common.io.Files2;
+import com.google.common.base.Charsets;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>A {@link TimerSink} which appends each snapshot as a line of CSV or JSON to a file.  Before each export the file
+ * is checked against a {@link FileRotationStrategy}; when it needs rotating it is {@link Files2#rotate(File) rotated},
+ * renamed with a date suffix, eg {@code timers.csv.2016-03-15}, and a new file is started.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class FileTimerSink implements TimerSink {
+
+	/**
+	 * The format of the lines written to the file
+	 */
+	public enum Format {
+		/**
+		 * Comma separated values, each file starts with a header line
+		 */
+		CSV,
+
+		/**
+		 * One JSON object per line
+		 */
+		JSON
+	}
+
+	private static final String CSV_HEADER = "time,name,count,count_delta,total_ns,total_ns_delta,p50_ns,p90_ns,p99_ns,p999_ns,max_ns";
+
+	private final File mFile;
+
+	private final Format mFormat;
+
+	private final FileRotationStrategy mRotation;
+
+	private Writer mWriter;
+
+	/**
+	 * Create a new sink which never rotates the file
+	 *
+	 * @param theFile   the file to write to
+	 * @param theFormat the format to write
+	 */
+	public FileTimerSink(final File theFile, final Format theFormat) {
+		this(theFile, theFormat, null);
+	}
+
+	/**
+	 * Create a new sink
+	 *
+	 * @param theFile       the file to write to
+	 * @param theFormat     the format to write
+	 * @param theRotation   when to rotate the file, or null to never rotate it
+	 */
+	public FileTimerSink(final File theFile, final Format theFormat, final FileRotationStrategy theRotation) {
+		mFile = checkNotNull(theFile);
+		mFormat = checkNotNull(theFormat);
+		mRotation = theRotation;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void write(final List<TimerSnapshot> theSnapshots) throws IOException {
+		if (mRotation != null && mFile.exists() && mRotation.needsRotation(mFile)) {
+			rotate();
+		}
+
+		if (mWriter == null) {
+			open();
+		}
+
+		for (TimerSnapshot aSnapshot : theSnapshots) {
+			if (mFormat == Format.CSV) {
+				writeCSV(aSnapshot);
+			}
+			else {
+				writeJSON(aSnapshot);
+			}
+		}
+
+		mWriter.flush();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (mWriter != null) {
+			mWriter.close();
+			mWriter = null;
+		}
+	}
+
+	private void open() throws IOException {
+		final boolean aIsNew = !mFile.exists() || mFile.length() == 0;
+
+		mWriter = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(mFile, true), Charsets.UTF_8));
+
+		if (aIsNew && mFormat == Format.CSV) {
+			mWriter.write(CSV_HEADER);
+			mWriter.write('\n');
+		}
+	}
+
+	private void rotate() throws IOException {
+		close();
+		Files2.rotate(mFile);
+	}
+
+	private void writeCSV(final TimerSnapshot theSnapshot) throws IOException {
+		final StringBuilder aLine = new StringBuilder();
+
+		aLine.append(theSnapshot.getTime()).append(',');
+
+		final String aName = theSnapshot.getName();
+		if (aName.indexOf(',') != -1 || aName.indexOf('"') != -1 || aName.indexOf('\n') != -1) {
+			aLine.append('"').append(aName.replace("\"", "\"\"")).append('"');
+		}
+		else {
+			aLine.append(aName);
+		}
+
+		aLine.append(',').append(theSnapshot.getCount())
+		     .append(',').append(theSnapshot.getCountDelta())
+		     .append(',').append(theSnapshot.getTotalNanos())
+		     .append(',').append(theSnapshot.getTotalNanosDelta())
+		     .append(',').append(theSnapshot.getP50())
+		     .append(',').append(theSnapshot.getP90())
+		     .append(',').append(theSnapshot.getP99())
+		     .append(',').append(theSnapshot.getP999())
+		     .append(',').append(theSnapshot.getMax())
+		     .append('\n');
+
+		mWriter.write(aLine.toString());
+	}
+
+	private void writeJSON(final TimerSnapshot theSnapshot) throws IOException {
+		final StringBuilder aLine = new StringBuilder();
+
+		aLine.append("{\"time\":").append(theSnapshot.getTime())
+		     .append(",\"name\":");
+
+		appendJSONString(aLine, theSnapshot.getName());
+
+		aLine.append(",\"count\":").append(theSnapshot.getCount())
+		     .append(",\"count_delta\":").append(theSnapshot.getCountDelta())
+		     .append(",\"total_ns\":").append(theSnapshot.getTotalNanos())
+		     .append(",\"total_ns_delta\":").append(theSnapshot.getTotalNanosDelta())
+		     .append(",\"p50_ns\":").append(theSnapshot.getP50())
+		     .append(",\"p90_ns\":").append(theSnapshot.getP90())
+		     .append(",\"p99_ns\":").append(theSnapshot.getP99())
+		     .append(",\"p999_ns\":").append(theSnapshot.getP999())
+		     .append(",\"max_ns\":").append(theSnapshot.getMax())
+		     .append("}\n");
+
+		mWriter.write(aLine.toString());
+	}
+
+	private static void appendJSONString(final StringBuilder theBuilder, final String theValue) {
+		theBuilder.append('"');
+
+		for (int i = 0; i < theValue.length(); i++) {
+			final char aChar = theValue.charAt(i);
+
+			switch (aChar) {
+				case '"':
+					theBuilder.append("\\\"");
+					break;
+				case '\\':
+					theBuilder.append("\\\\");
+					break;
+				case '\n':
+					theBuilder.append("\\n");
+					break;
+				case '\r':
+					theBuilder.append("\\r");
+					break;
+				case '\t':
+					theBuilder.append("\\t");
+					break;
+				default:
+					if (aChar < 0x20) {
+						theBuilder.append(String.format("\\u%04x", (int) aChar));
+					}
+					else {
+						theBuilder.append(aChar);
+					}
+			}
+		}
+
+		theBuilder.append('"');
+	}
+}
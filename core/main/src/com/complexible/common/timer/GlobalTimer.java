@@ -18,13 +18,18 @@ package com.complexible.common.timer;
 import java.io.StringWriter;
 
 /**
+ * <p>A global, thread-safe set of {@link ConcurrentTimer concurrent timers}.</p>
+ * 
+ * <p>Hot code should resolve its timer once, eg {@code private static final Timer TIMER = GlobalTimer.get("query")},
+ * and start and stop that handle directly; {@link #start(String)} and {@link #stop(String)} look the timer up by name
+ * on every call.</p>
  * 
  * @author Evren Sirin
  * @since 2.0
  * @version 2.0
  */
 public class GlobalTimer {
-	public static final Timers timers = new Timers();
+	public static final Timers timers = new Timers(true);
 	
 	public static Timer get(String name) {
 		return timers.createTimer(name);
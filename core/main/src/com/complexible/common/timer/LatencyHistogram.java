@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>A fixed-size, log-bucketed histogram of durations in nanoseconds, used by {@link Timer} to report percentiles.</p>
+ *
+ * <p>Values are bucketed the way HdrHistogram does it: each power of two is split into 32 linear
+ * sub-buckets, so any recorded value is reported within about 3% of its true value no matter its magnitude, from
+ * nanoseconds up to days, in a constant {@code ~15k} of counters.  Recording is a single atomic increment and is
+ * safe from any number of threads; reading percentiles while values are recorded gives a close, but not necessarily
+ * exact, answer.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 5;
+
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+	private final AtomicLong max = new AtomicLong();
+
+	/**
+	 * Record a duration
+	 *
+	 * @param nanos	the duration in nanoseconds; negative values are recorded as zero
+	 */
+	public void record(final long nanos) {
+		final long aValue = Math.max(0, nanos);
+
+		counts.incrementAndGet(bucket(aValue));
+
+		long aMax = max.get();
+		while (aValue > aMax && !max.compareAndSet(aMax, aValue)) {
+			aMax = max.get();
+		}
+	}
+
+	/**
+	 * Add all the values recorded by another histogram to this one
+	 *
+	 * @param other	the histogram to add
+	 */
+	public void add(final LatencyHistogram other) {
+		for (int i = 0; i < BUCKETS; i++) {
+			final long aCount = other.counts.get(i);
+			if (aCount != 0) {
+				counts.addAndGet(i, aCount);
+			}
+		}
+
+		final long aOtherMax = other.max.get();
+		long aMax = max.get();
+		while (aOtherMax > aMax && !max.compareAndSet(aMax, aOtherMax)) {
+			aMax = max.get();
+		}
+	}
+
+	/**
+	 * Remove all recorded values
+	 */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) {
+			counts.lazySet(i, 0);
+		}
+		max.set(0);
+	}
+
+	/**
+	 * Return the number of recorded values
+	 *
+	 * @return the count
+	 */
+	public long getCount() {
+		long aTotal = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			aTotal += counts.get(i);
+		}
+		return aTotal;
+	}
+
+	/**
+	 * Return the largest recorded value, in nanoseconds
+	 *
+	 * @return the max, or 0 if nothing has been recorded
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * Return the value, in nanoseconds, at or below which the given percentage of recorded values fall.  The value
+	 * returned is the highest value which is equivalent, at the precision of this histogram, to the actual value.
+	 *
+	 * @param percentile	the percentile, from 0 to 100, eg {@code 99.9}
+	 * @return				the value at the percentile, or 0 if nothing has been recorded
+	 */
+	public long getValueAtPercentile(final double percentile) {
+		return getValuesAtPercentiles(percentile)[0];
+	}
+
+	/**
+	 * Return the values at each of the given percentiles, as {@link #getValueAtPercentile(double)}, reading the
+	 * histogram only once
+	 *
+	 * @param percentiles	the percentiles, from 0 to 100, in ascending order
+	 * @return				the value at each percentile
+	 */
+	public long[] getValuesAtPercentiles(final double... percentiles) {
+		for (int i = 0; i < percentiles.length; i++) {
+			checkArgument(percentiles[i] >= 0 && percentiles[i] <= 100, "Percentile must be between 0 and 100: %s", percentiles[i]);
+			checkArgument(i == 0 || percentiles[i] >= percentiles[i - 1], "Percentiles must be in ascending order");
+		}
+
+		final long[] aResult = new long[percentiles.length];
+
+		final long[] aCounts = new long[BUCKETS];
+		long aTotal = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			aCounts[i] = counts.get(i);
+			aTotal += aCounts[i];
+		}
+
+		if (aTotal == 0) {
+			return aResult;
+		}
+
+		final long aMax = max.get();
+
+		int aBucket = 0;
+		long aSeen = aCounts[0];
+		for (int p = 0; p < percentiles.length; p++) {
+			final long aRank = Math.max(1, (long) Math.ceil(aTotal * (percentiles[p] / 100.0)));
+
+			while (aSeen < aRank && aBucket < BUCKETS - 1) {
+				aSeen += aCounts[++aBucket];
+			}
+
+			aResult[p] = Math.min(highestEquivalentValue(aBucket), aMax);
+		}
+
+		return aResult;
+	}
+
+	static int bucket(final long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+
+		final int aShift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+
+		return ((aShift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> aShift) & (SUB_BUCKETS - 1));
+	}
+
+	static long lowestEquivalentValue(final int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+
+		final int aShift = (bucket >>> SUB_BUCKET_BITS) - 1;
+
+		return ((long) (SUB_BUCKETS + (bucket & (SUB_BUCKETS - 1)))) << aShift;
+	}
+
+	static long highestEquivalentValue(final int bucket) {
+		return bucket + 1 < BUCKETS ? lowestEquivalentValue(bucket + 1) - 1 : Long.MAX_VALUE;
+	}
+}
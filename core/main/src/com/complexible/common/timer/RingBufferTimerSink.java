@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>A {@link TimerSink} which keeps the most recent snapshots in memory, overwriting the oldest once it is full.  It
+ * is safe to read the snapshots while the exporter is writing them.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class RingBufferTimerSink implements TimerSink {
+	private final TimerSnapshot[] mBuffer;
+
+	/**
+	 * The total number of snapshots ever written; the next one goes at {@code mWritten % capacity}
+	 */
+	private long mWritten;
+
+	/**
+	 * Create a new sink
+	 *
+	 * @param theCapacity   the number of snapshots to keep
+	 */
+	public RingBufferTimerSink(final int theCapacity) {
+		checkArgument(theCapacity > 0, "Capacity must be positive: %s", theCapacity);
+
+		mBuffer = new TimerSnapshot[theCapacity];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public synchronized void write(final List<TimerSnapshot> theSnapshots) {
+		for (TimerSnapshot aSnapshot : theSnapshots) {
+			mBuffer[(int) (mWritten++ % mBuffer.length)] = aSnapshot;
+		}
+	}
+
+	/**
+	 * Return the snapshots currently held, oldest first
+	 *
+	 * @return the snapshots
+	 */
+	public synchronized List<TimerSnapshot> snapshots() {
+		final int aSize = (int) Math.min(mWritten, mBuffer.length);
+		final List<TimerSnapshot> aResult = new ArrayList<TimerSnapshot>(aSize);
+
+		for (long i = mWritten - aSize; i < mWritten; i++) {
+			aResult.add(mBuffer[(int) (i % mBuffer.length)]);
+		}
+
+		return aResult;
+	}
+
+	/**
+	 * Return the snapshots of the named timer currently held, oldest first
+	 *
+	 * @param theName   the name of the timer
+	 * @return          the snapshots
+	 */
+	public List<TimerSnapshot> snapshots(final String theName) {
+		final List<TimerSnapshot> aResult = new ArrayList<TimerSnapshot>();
+
+		for (TimerSnapshot aSnapshot : snapshots()) {
+			if (aSnapshot.getName().equals(theName)) {
+				aResult.add(aSnapshot);
+			}
+		}
+
+		return aResult;
+	}
+
+	/**
+	 * Does nothing, the snapshots remain available
+	 */
+	@Override
+	public void close() {
+	}
+}
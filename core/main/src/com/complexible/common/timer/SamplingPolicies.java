@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>Factory methods for the standard {@link SamplingPolicy sampling policies}</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class SamplingPolicies {
+
+	/**
+	 * The default upper bound on the interval chosen by an {@link #adaptive(double) adaptive} policy
+	 */
+	public static final int DEFAULT_MAX_INTERVAL = 1 << 16;
+
+	private static final SamplingPolicy ALWAYS = new SamplingPolicy() {
+		@Override
+		public int nextInterval(final Timer theTimer) {
+			return 1;
+		}
+
+		@Override
+		public String toString() {
+			return "always";
+		}
+	};
+
+	private SamplingPolicies() {
+		throw new AssertionError();
+	}
+
+	/**
+	 * Return a policy which times every run.  This is the default for a {@link Timer}.
+	 *
+	 * @return the policy
+	 */
+	public static SamplingPolicy always() {
+		return ALWAYS;
+	}
+
+	/**
+	 * Return a policy which times one run in every {@code theInterval}
+	 *
+	 * @param theInterval   the interval between timed runs
+	 * @return              the policy
+	 */
+	public static SamplingPolicy oneIn(final int theInterval) {
+		checkArgument(theInterval > 0, "Interval must be positive: %s", theInterval);
+
+		if (theInterval == 1) {
+			return ALWAYS;
+		}
+
+		return new SamplingPolicy() {
+			@Override
+			public int nextInterval(final Timer theTimer) {
+				return theInterval;
+			}
+
+			@Override
+			public String toString() {
+				return "oneIn(" + theInterval + ")";
+			}
+		};
+	}
+
+	/**
+	 * Return a policy which times as often as it can while keeping the cost of reading the clock within the given
+	 * fraction of the time spent in the timed code, eg {@code adaptive(0.01)} for a 1% overhead budget.
+	 *
+	 * @param theBudget the overhead budget as a fraction of the run time
+	 * @return          the policy
+	 *
+	 * @see #adaptive(double, int)
+	 */
+	public static SamplingPolicy adaptive(final double theBudget) {
+		return adaptive(theBudget, DEFAULT_MAX_INTERVAL);
+	}
+
+	/**
+	 * Return a policy which times as often as it can while keeping the cost of reading the clock within the given
+	 * fraction of the time spent in the timed code.
+	 *
+	 * <p>The interval is chosen from the cost of a pair of {@link System#nanoTime()} calls, measured once, and the current
+	 * average run time of the timer: a timer averaging 1&micro;s with a 1% budget and a clock cost of 50ns is timed about
+	 * one run in 5.  Intervals are randomized around that mean so that the sampled runs do not fall into step with any
+	 * periodic pattern in the workload.</p>
+	 *
+	 * @param theBudget         the overhead budget as a fraction of the run time
+	 * @param theMaxInterval    the largest interval to use, no matter how short the runs are
+	 * @return                  the policy
+	 */
+	public static SamplingPolicy adaptive(final double theBudget, final int theMaxInterval) {
+		checkArgument(theBudget > 0, "Budget must be positive: %s", theBudget);
+		checkArgument(theMaxInterval > 0, "Max interval must be positive: %s", theMaxInterval);
+
+		return new SamplingPolicy() {
+			@Override
+			public int nextInterval(final Timer theTimer) {
+				final long aCount = theTimer.getCount();
+
+				if (aCount == 0) {
+					return 1;
+				}
+
+				final double aAverage = theTimer.getTotalNanos() / (double) aCount;
+				final double aInterval = ClockCost.NANOS / (theBudget * Math.max(aAverage, 1.0));
+
+				if (aInterval <= 1) {
+					return 1;
+				}
+
+				final int aMean = (int) Math.min(theMaxInterval, Math.ceil(aInterval));
+
+				// uniform over [1, 2 * mean - 1], so the mean interval is still the one we want
+				return 1 + ThreadLocalRandom.current().nextInt(2 * aMean - 1);
+			}
+
+			@Override
+			public String toString() {
+				return "adaptive(" + theBudget + ")";
+			}
+		};
+	}
+
+	/**
+	 * The cost, in nanoseconds, of timing one run, ie two reads of the clock; measured the first time an adaptive policy
+	 * is used.
+	 */
+	private static final class ClockCost {
+		private static final int CALLS = 10000;
+
+		static final double NANOS = measure();
+
+		private static double measure() {
+			// warm up so we are not measuring the interpreter
+			long aSink = 0;
+			for (int i = 0; i < CALLS; i++) {
+				aSink += System.nanoTime();
+			}
+
+			final long aStart = System.nanoTime();
+			for (int i = 0; i < CALLS; i++) {
+				aSink += System.nanoTime();
+			}
+			final long aElapsed = System.nanoTime() - aStart;
+
+			// aSink is only used to keep the calls from being optimized away
+			return aSink == 0 ? 0 : Math.max(1.0, 2.0 * aElapsed / CALLS);
+		}
+	}
+}
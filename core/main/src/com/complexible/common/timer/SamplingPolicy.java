@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+/**
+ * <p>Decides how often a {@link Timer} actually reads the clock.  After each run that is timed, the timer asks its policy
+ * how many runs to wait before timing the next one; the runs in between are only counted.  See {@link SamplingPolicies}
+ * for the standard policies.</p>
+ *
+ * <p>Policies are shared by many timers and called from any thread, so they should be stateless or thread-safe.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ *
+ * @see Timer#setSamplingPolicy
+ * @see SamplingPolicies
+ */
+public interface SamplingPolicy {
+
+	/**
+	 * Return the number of runs of the timer, counting from the one just timed, until the next run which should be
+	 * timed.  {@code 1} times every run; values less than {@code 1} are treated as {@code 1}.
+	 *
+	 * @param theTimer  the timer which just completed a timed run
+	 * @return          the interval until the next timed run
+	 */
+	int nextInterval(final Timer theTimer);
+}
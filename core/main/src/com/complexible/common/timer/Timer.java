@@ -15,6 +15,8 @@
 
 package com.complexible.common.timer;
 
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -39,6 +41,11 @@ import java.util.logging.Logger;
  * is called. If check() function is not called setting timeouts has no
  * effect. It is up to the programmer to decide when and how many times a timer will be checked.</p> 
  * 
+ * <p>Checks are cheap enough to make in tight loops.  A deadline is scheduled on a shared background
+ * thread when a timer with a timeout is started, and check() only reads the clock and walks the
+ * parent chain after some deadline has passed or some timer has been interrupted; otherwise it is a
+ * single volatile read.</p>
+ * 
  * <p>There may be a dependency between timers. For example, classification, realization and entailment
  * operations all use consistency checks. If something goes wrong inside a consistency check and
  * that operation does not finish in a reasonable time, the timeout on the parent timer may 
@@ -47,9 +54,22 @@ import java.util.logging.Logger;
  * like to associate many parents with a timer but for efficiency reasons (looping over an array
  * each time is expensive) each timer is allowed to have only one parent. </p> 
  *  
+ * <p>Time is measured with {@link System#nanoTime()} and accumulated in nanoseconds; the millisecond
+ * accessors such as {@link #getTotal()} convert on the way out.  Every completed run is also recorded
+ * in a {@link LatencyHistogram} so percentiles of the run times are available from {@link #getHistogram()}.</p>
+ * 
+ * <p>Reading the clock twice per run is too expensive for code which runs millions of times a second,
+ * so a timer can be given a {@link SamplingPolicy} to only time some of its runs.  Every run is still
+ * counted, so {@link #getCount()} is exact, while the totals are extrapolated from the runs which were
+ * timed and only timed runs are recorded in the histogram.  A timer with a timeout always times every
+ * run so that {@link #check()} can enforce it.</p>
+ * 
  * <p>{@link Timers Timers} class stores a set of timers and provides functions to start, stop and
  * check timers.  </p> 
  * 
+ * <p>A Timer is not thread-safe; the same timer must not be started and stopped from more than one
+ * thread.  Use a {@link ConcurrentTimer} for timers shared between threads.</p>
+ * 
  * @see Timers
  * @author Evren Sirin
  * @since 2.0
@@ -64,20 +84,34 @@ public class Timer {
 
 	public final static long NOT_STARTED = -1;
 	public final static long NO_TIMEOUT  = 0;
+
+	private final static double NANOS_PER_MILLI = 1000000.0;
 	
 	private String name; 		// name to identify what we are timing 
-	private long totalTime;		// total time that has elapsed when the timer was running		
-	private long startTime;		// last time timer was started
+	private long totalTime;		// total time (ns) that has elapsed when the timer was running		
+	private long startTime;		// last time (ns) timer was started
 	private long count;			// number of times the timer was started and stopped
 	private long startCount;	// if we are timing recursive functions timer may be started 
 								// multiple times. we only want to measure time spent in the 
 								// upper most function call so we need to discard other starts
-	private long timeout;		// Point at which a call to check throws an exception
-	private long lastTime;		// time that has elapsed between last start()-stop() period
-	private boolean interrupted; // Tells whether this timer has been interrupted
+	private volatile long timeout;	// Point at which a call to check throws an exception
+	private long lastTime;		// time (ns) that has elapsed between last start()-stop() period
+	private volatile boolean interrupted; // Tells whether this timer has been interrupted
+	private ScheduledFuture<?> deadline;	// when the current run exceeds the timeout, if there is one
+	private long checkedEpoch;	// the deadline epoch of the last check that passed
+	private long sampledCount;	// number of runs that were timed
+	private long mergedTime;	// total time (ns) added from other timers, already extrapolated
+	private long mergedCount;	// number of runs added from other timers
+	private int countdown;		// number of runs left until the next one which is timed
+	private boolean sampled;	// whether the current run is being timed
+	private volatile SamplingPolicy sampling = SamplingPolicies.always();
+	private volatile CallTree callTree;	// the call tree to record runs in, if any
+	private CallTree runTree;	// the call tree the current run was entered in, if any
 	
 	private Timer parent;		// the parent timer
 
+	private final LatencyHistogram histogram = new LatencyHistogram();	// distribution of the run times
+
 	/**
 	 * Create a timer with no name and no parent.
 	 */
@@ -105,17 +139,20 @@ public class Timer {
 		this.parent = parent;
 
 		timeout = NO_TIMEOUT;
-		reset();
+		clear();
 	}
 	
 	/**
 	 * Update the total time elapsed and number of counts by by adding the values from another
-	 * timer. This is especially useful if we are running
+	 * timer. This is especially useful if we are running.  The other timer's total is already
+	 * extrapolated, so it is kept apart from the runs this timer samples and is not scaled again.
 	 * @param timer
 	 */
 	public void add( Timer timer ) {
-	    totalTime += timer.totalTime;
-	    count += timer.count;
+	    mergedTime += timer.getTotalNanos();
+	    mergedCount += timer.getCount();
+	    count += timer.getCount();
+	    histogram.add( timer.getHistogram() );
 	}
 	
 	/**
@@ -126,7 +163,12 @@ public class Timer {
 	 */
 	public void start() {
 		if(startCount == 0) { 
-			startTime = getCurrentTime();
+			sampled = --countdown <= 0 || timeout != NO_TIMEOUT;
+			if(sampled) {
+				startTime = getCurrentTime();
+			}
+			deadline = scheduleDeadline( 0 );
+			runTree = enterCallTree();
 		}
 		
 		startCount++;
@@ -138,14 +180,14 @@ public class Timer {
      * started multiple times this function will only decrement the internal counter. Time 
      * information is updated only when all starts are evened out by stops.
      * 
-     * @return Return the total time spent after last start(), -1 if timer is still running, -Long.MAX_VALUE on error
+     * @return Return the total time (in milliseconds) spent after last start(), 0 if the run was not sampled, -1 if timer is still running, -Long.MAX_VALUE on error
 	 */
 	public long stop() {
 		if( !isStarted() ) {
 			if( log.isLoggable( Level.FINE ) )
 				log
 						.fine( String.format(
-								"Ignoring attempt to stop a timer (\"%s\") that is not running. Timer results are incorrect for multi-threaded code.",
+								"Ignoring attempt to stop a timer (\"%s\") that is not running. Use a ConcurrentTimer for multi-threaded code.",
 								name ) );
 			return -Long.MAX_VALUE;
 		}
@@ -154,11 +196,21 @@ public class Timer {
 		startCount--;
 		
 		if ( !isStarted() ) {			
+			runTree = exitCallTree( runTree );
+			deadline = cancelDeadline( deadline );
+			count++;
+
+			if ( !sampled ) {
+				return 0;
+			}
+
 		    lastTime = getCurrentTime() - startTime;
 			totalTime += lastTime;
 			startTime = NOT_STARTED;						
-			count++;
-            return lastTime;
+			sampledCount++;
+			histogram.record( lastTime );
+			countdown = nextInterval();
+            return toMillis( lastTime );
 		}
         
         return -1;
@@ -170,11 +222,24 @@ public class Timer {
 	 *
 	 */
 	public void reset() {
+		clear();
+	}
+
+	private void clear() {
 		totalTime = 0;
 		startTime = NOT_STARTED;
 		startCount = 0; 
 		count = 0;
+		lastTime = 0;
 		interrupted = false;
+		deadline = cancelDeadline( deadline );
+		checkedEpoch = -1;
+		sampledCount = 0;
+		mergedTime = 0;
+		mergedCount = 0;
+		countdown = 0;
+		runTree = exitCallTree( runTree );
+		histogram.reset();
 	}
 	
 	/**
@@ -191,21 +256,28 @@ public class Timer {
 	 * if that is the case. Check the parent timer if there is one.
 	 */
 	public void check() {
-		
+		final long epoch = Deadlines.epoch();
+
+		// no deadline has passed and no timer has been interrupted since the last time this passed
+		if ( epoch == getCheckedEpoch() )
+			return;
+
 		if ( interrupted ) {
 			interrupted = false;
 			throw new TimerInterruptedException("Timer " + getName() + " interrupted.");
 		}
 		
-		long elapsed = getElapsed();
+		long elapsed = getElapsedNanos();
 		
-		if (timeout != NO_TIMEOUT && elapsed > timeout) {
+		if (timeout != NO_TIMEOUT && elapsed > timeout * 1000000) {
 			//throw new TimeoutException("Running time of "+name+" exceeded timeout of "+timeout);
 			throw new RuntimeException("Running time of "+name+" exceeded timeout of "+timeout);
 		}
 		
 		if (parent != null)
 		    parent.check();		
+
+		setCheckedEpoch( epoch );
 	}
 	
 	/**
@@ -213,6 +285,7 @@ public class Timer {
 	 */
 	public void interrupt() {
 		interrupted = true;
+		Deadlines.advance();
 	}
 	
 	/**
@@ -241,7 +314,17 @@ public class Timer {
 	 * @return
 	 */
 	public long getElapsed() {
-	    return isStarted() ? (getCurrentTime() - startTime) : 0;
+	    return toMillis( getElapsedNanos() );
+	}
+
+	/**
+	 * Return the time elapsed (in nanoseconds) since the last time this timer was started. 
+	 * If the timer is not running now 0 is returned.
+	 * 
+	 * @return
+	 */
+	public long getElapsedNanos() {
+	    return isStarted() && sampled ? (getCurrentTime() - startTime) : 0;
 	}
 	
 	/**
@@ -252,7 +335,49 @@ public class Timer {
 	 * @return
 	 */
 	public long getTotal() {
-		return totalTime;
+		return toMillis( getTotalNanos() );
+	}
+
+	/**
+	 * Return the total time (in nanoseconds) spent while this timer was running. If the timer
+	 * is running when this function is called time elapsed will be discarded.  If only some
+	 * runs were sampled, this is extrapolated from the sampled runs to all of them.
+	 * 
+	 * @return
+	 */
+	public long getTotalNanos() {
+		return extrapolate( totalTime, sampledCount, count - mergedCount ) + mergedTime;
+	}
+
+	/**
+	 * Set the policy which decides how many runs of this timer are timed.  By default every run is timed.
+	 * 
+	 * @param policy the sampling policy
+	 */
+	public void setSamplingPolicy(SamplingPolicy policy) {
+		if(policy == null)
+			throw new NullPointerException("Sampling policy cannot be null");
+
+		sampling = policy;
+	}
+
+	/**
+	 * Return the policy which decides how many runs of this timer are timed.
+	 * 
+	 * @return
+	 */
+	public SamplingPolicy getSamplingPolicy() {
+		return sampling;
+	}
+
+	/**
+	 * Return the number of runs which were sampled and timed; equal to {@link #getCount()} unless
+	 * a {@link SamplingPolicy} is in use.
+	 * 
+	 * @return
+	 */
+	public long getSampledCount() {
+		return sampledCount + mergedCount;
 	}
 
 	/**
@@ -283,17 +408,47 @@ public class Timer {
 	 * @return
 	 */
 	public double getAverage() {
-		return totalTime / (count == 0 ? 1.0 : count);
+		final long aCount = getCount();
+		return getTotalNanos() / (aCount == 0 ? 1.0 : aCount) / NANOS_PER_MILLI;
 	}
 	
 	/**
-	 * Return the total time spent between last start()-stop() period.
+	 * Return the total time spent (in milliseconds) between last start()-stop() period.
 	 * 
 	 * @return
 	 */
 	public long getLast() {
+		return toMillis( getLastNanos() );
+	}
+
+	/**
+	 * Return the total time spent (in nanoseconds) between last start()-stop() period.
+	 * 
+	 * @return
+	 */
+	public long getLastNanos() {
 		return lastTime;
 	}
+
+	/**
+	 * Return the histogram of the times (in nanoseconds) of each completed start()-stop() period.
+	 * 
+	 * @return
+	 */
+	public LatencyHistogram getHistogram() {
+		return histogram;
+	}
+
+	/**
+	 * Return the time (in milliseconds) at or below which the given percentage of the completed
+	 * start()-stop() periods fall, eg {@code getPercentile(99)}.
+	 * 
+	 * @param percentile the percentile, from 0 to 100
+	 * @return
+	 */
+	public double getPercentile(double percentile) {
+		return getHistogram().getValueAtPercentile( percentile ) / NANOS_PER_MILLI;
+	}
 	
 	/**
 	 * Set a timeout limit for this timer. Set the timeout to 0 to disable timeout checking
@@ -305,13 +460,19 @@ public class Timer {
 	        throw new IllegalArgumentException("Cannot set the timeout to a negative value!");
 	    
 		this.timeout = timeout;
+
+		// the timer may be running, reschedule its deadline for the new timeout
+		if( startCount > 0 ) {
+			deadline = cancelDeadline( deadline );
+			deadline = scheduleDeadline( getElapsedNanos() );
+		}
 	}
 	
 	public String toString() {		
-	    if(startCount > 0)
-	        return "Timer " + name + " Avg: " + getAverage() + " Count: " + count + " Total: " + getTotal() + " Still running: "+ startCount;
+	    if(isStarted())
+	        return "Timer " + name + " Avg: " + getAverage() + " Count: " + getCount() + " Total: " + getTotal() + " Still running";
 	    
-		return "Timer " + name + " Avg: " + getAverage() + " Count: " + count + " Total: " + getTotal();
+		return "Timer " + name + " Avg: " + getAverage() + " Count: " + getCount() + " Total: " + getTotal();
 	}
 
 	/**
@@ -328,8 +489,93 @@ public class Timer {
 		return DurationFormat.MEDIUM.format( getTotal() + getElapsed() );
 	}
 	
-	private long getCurrentTime() {
-		return System.nanoTime() / 1000000;
+	static long getCurrentTime() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Schedule the deadline of a run which has been running for the given time, if this timer has a timeout
+	 * 
+	 * @return the deadline, or null if there is no timeout
+	 */
+	ScheduledFuture<?> scheduleDeadline(long elapsedNanos) {
+		final long limit = timeout;
+		if(limit == NO_TIMEOUT)
+			return null;
+
+		// fire strictly after the timeout so that the check which follows is sure to see it exceeded
+		final long remaining = limit * 1000000 - elapsedNanos + 1;
+		if(remaining <= 0) {
+			Deadlines.advance();
+			return null;
+		}
+
+		return Deadlines.schedule( remaining );
+	}
+
+	static ScheduledFuture<?> cancelDeadline(ScheduledFuture<?> deadline) {
+		if(deadline != null)
+			deadline.cancel( false );
+		return null;
+	}
+
+	/**
+	 * Return the deadline epoch at which the last call to {@link #check()} passed
+	 */
+	long getCheckedEpoch() {
+		return checkedEpoch;
+	}
+
+	void setCheckedEpoch(long epoch) {
+		checkedEpoch = epoch;
+	}
+
+	/**
+	 * Set the call tree the outermost runs of this timer are recorded in, or null to stop recording them
+	 */
+	void setCallTree(CallTree tree) {
+		callTree = tree;
+	}
+
+	/**
+	 * Record the start of an outermost run in the call tree, if there is one.  Returns the tree the run was
+	 * entered in, which must be passed to {@link #exitCallTree(CallTree)} when the run stops, so the run is
+	 * exited from the same tree even if the call tree is changed or disabled while it runs.
+	 */
+	CallTree enterCallTree() {
+		CallTree tree = callTree;
+		if(tree != null)
+			tree.enter( this );
+		return tree;
+	}
+
+	/**
+	 * Record the end of an outermost run in the tree it was entered in, if any
+	 * 
+	 * @return null, for clearing the run's tree
+	 */
+	CallTree exitCallTree(CallTree tree) {
+		if(tree != null)
+			tree.exit( this );
+		return null;
+	}
+
+	/**
+	 * Return the number of runs until the next one which should be timed, according to the sampling policy
+	 */
+	int nextInterval() {
+		return Math.max(1, sampling.nextInterval( this ));
+	}
+
+	static long extrapolate(long sampledTotal, long sampledCount, long count) {
+		if(sampledCount == count || sampledCount == 0)
+			return sampledTotal;
+
+		return (long) ((double) sampledTotal * count / sampledCount);
+	}
+
+	static long toMillis(long nanos) {
+		return TimeUnit.NANOSECONDS.toMillis( nanos );
 	}
 
 	private static class TimerInterruptedException extends RuntimeException {
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkNotNull;
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <p>Periodically takes a {@link TimerSnapshot snapshot} of every timer in a {@link Timers} and writes them to one or
+ * more {@link TimerSink sinks}, eg:</p>
+ *
+ * <pre>
+ * TimerExporter aExporter = new TimerExporter(GlobalTimer.timers, 1, TimeUnit.MINUTES,
+ *                                             new FileTimerSink(new File("timers.csv"), FileTimerSink.Format.CSV,
+ *                                                               TimeRotationStrategy.create("1d")));
+ * aExporter.start();
+ * </pre>
+ *
+ * <p>Each snapshot carries the change in count and total time since the previous export, so the sinks receive a time
+ * series.  Snapshots only read the timers; threads starting and stopping them are never blocked by an export.  Exports
+ * run on a single daemon thread owned by the exporter.  A sink which fails is logged and does not stop the others, or
+ * later exports.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class TimerExporter implements Closeable {
+	private final static Logger log = Logger.getLogger(TimerExporter.class.getCanonicalName());
+
+	private final Timers mTimers;
+
+	private final long mInterval;
+
+	private final TimeUnit mUnit;
+
+	private final List<TimerSink> mSinks;
+
+	private final ScheduledExecutorService mExecutor;
+
+	/**
+	 * The snapshot from the previous export of each timer, used to compute the deltas
+	 */
+	private Map<Timer, TimerSnapshot> mPrevious = new IdentityHashMap<Timer, TimerSnapshot>();
+
+	private boolean mStarted = false;
+
+	private boolean mClosed = false;
+
+	/**
+	 * Create a new exporter.  Nothing is exported until it is {@link #start() started}.
+	 *
+	 * @param theTimers     the timers to export
+	 * @param theInterval   the time between exports
+	 * @param theUnit       the unit of the interval
+	 * @param theSinks      the sinks to write to
+	 */
+	public TimerExporter(final Timers theTimers, final long theInterval, final TimeUnit theUnit, final TimerSink... theSinks) {
+		checkArgument(theInterval > 0, "Interval must be positive: %s", theInterval);
+		checkArgument(theSinks.length > 0, "At least one sink is required");
+
+		mTimers = checkNotNull(theTimers);
+		mInterval = theInterval;
+		mUnit = checkNotNull(theUnit);
+		mSinks = ImmutableList.copyOf(Arrays.asList(theSinks));
+		mExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setDaemon(true)
+		                                                                                  .setNameFormat("timer-exporter-%d")
+		                                                                                  .build());
+	}
+
+	/**
+	 * Start exporting at the configured interval
+	 */
+	public synchronized void start() {
+		checkState(!mStarted, "Exporter already started");
+		checkState(!mClosed, "Exporter has been closed");
+
+		mStarted = true;
+
+		mExecutor.scheduleAtFixedRate(new Runnable() {
+			@Override
+			public void run() {
+				export();
+			}
+		}, mInterval, mInterval, mUnit);
+	}
+
+	/**
+	 * Take a snapshot of the timers now and write it to the sinks, regardless of the schedule.  Does nothing once the
+	 * exporter is closed.
+	 */
+	public synchronized void export() {
+		if (mClosed) {
+			return;
+		}
+
+		final long aTime = System.currentTimeMillis();
+
+		final List<TimerSnapshot> aSnapshots = new ArrayList<TimerSnapshot>();
+		final Map<Timer, TimerSnapshot> aCurrent = new IdentityHashMap<Timer, TimerSnapshot>();
+
+		for (Timer aTimer : mTimers.getTimers()) {
+			final TimerSnapshot aSnapshot = TimerSnapshot.of(aTimer, aTime, mPrevious.get(aTimer));
+
+			aSnapshots.add(aSnapshot);
+			aCurrent.put(aTimer, aSnapshot);
+		}
+
+		mPrevious = aCurrent;
+
+		final List<TimerSnapshot> aResult = ImmutableList.copyOf(aSnapshots);
+		for (TimerSink aSink : mSinks) {
+			try {
+				aSink.write(aResult);
+			}
+			catch (Exception e) {
+				log.log(Level.WARNING, "Failed to export timers to " + aSink, e);
+			}
+		}
+	}
+
+	/**
+	 * Stop exporting, write a final export and close the sinks
+	 *
+	 * @throws IOException	if a sink could not be closed
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (mClosed) {
+			return;
+		}
+
+		mExecutor.shutdownNow();
+
+		if (mStarted) {
+			export();
+		}
+
+		mClosed = true;
+
+		IOException aError = null;
+		for (TimerSink aSink : mSinks) {
+			try {
+				aSink.close();
+			}
+			catch (IOException e) {
+				if (aError == null) {
+					aError = e;
+				}
+			}
+		}
+
+		if (aError != null) {
+			throw aError;
+		}
+	}
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * <p>A destination for the {@link TimerSnapshot snapshots} taken by a {@link TimerExporter}.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ *
+ * @see FileTimerSink
+ * @see RingBufferTimerSink
+ */
+public interface TimerSink extends Closeable {
+
+	/**
+	 * Write the snapshots of all the timers taken at one export
+	 *
+	 * @param theSnapshots  the snapshots, all with the same {@link TimerSnapshot#getTime() time}
+	 * @throws IOException  if there is an error writing
+	 */
+	void write(final List<TimerSnapshot> theSnapshots) throws IOException;
+}
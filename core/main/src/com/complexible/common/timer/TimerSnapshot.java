@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * <p>An immutable copy of the statistics of a {@link Timer} at a point in time, along with how much the count and total
+ * changed since the previous snapshot of the same timer.  Created by a {@link TimerExporter} and passed to its
+ * {@link TimerSink sinks}.</p>
+ *
+ * <p>All durations are in nanoseconds.  The percentiles cover every run recorded since the timer was last reset.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class TimerSnapshot {
+	private static final double[] PERCENTILES = { 50, 90, 99, 99.9, 100 };
+
+	private final String mName;
+
+	private final long mTime;
+
+	private final long mCount;
+
+	private final long mCountDelta;
+
+	private final long mTotalNanos;
+
+	private final long mTotalNanosDelta;
+
+	private final long[] mPercentiles;
+
+	private TimerSnapshot(final String theName, final long theTime, final long theCount, final long theCountDelta,
+	                      final long theTotalNanos, final long theTotalNanosDelta, final long[] thePercentiles) {
+		mName = theName;
+		mTime = theTime;
+		mCount = theCount;
+		mCountDelta = theCountDelta;
+		mTotalNanos = theTotalNanos;
+		mTotalNanosDelta = theTotalNanosDelta;
+		mPercentiles = thePercentiles;
+	}
+
+	/**
+	 * Take a snapshot of the timer.  This only reads the timer and never blocks threads which are using it.
+	 *
+	 * @param theTimer      the timer
+	 * @param theTime       the time of the snapshot, in milliseconds since the epoch
+	 * @param thePrevious   the previous snapshot of the timer, or null if there is none
+	 * @return              the snapshot
+	 */
+	public static TimerSnapshot of(final Timer theTimer, final long theTime, final TimerSnapshot thePrevious) {
+		final long aCount = theTimer.getCount();
+		final long aTotal = theTimer.getTotalNanos();
+
+		long aCountDelta = aCount;
+		long aTotalDelta = aTotal;
+
+		// if the count went backwards the timer was reset, everything it has now is new
+		if (thePrevious != null && aCount >= thePrevious.mCount) {
+			aCountDelta = aCount - thePrevious.mCount;
+			aTotalDelta = Math.max(0, aTotal - thePrevious.mTotalNanos);
+		}
+
+		return new TimerSnapshot(theTimer.getName(), theTime, aCount, aCountDelta, aTotal, aTotalDelta,
+		                         theTimer.getHistogram().getValuesAtPercentiles(PERCENTILES));
+	}
+
+	/**
+	 * Return the name of the timer
+	 */
+	public String getName() {
+		return mName;
+	}
+
+	/**
+	 * Return the time the snapshot was taken, in milliseconds since the epoch
+	 */
+	public long getTime() {
+		return mTime;
+	}
+
+	/**
+	 * Return the number of runs of the timer
+	 */
+	public long getCount() {
+		return mCount;
+	}
+
+	/**
+	 * Return the number of runs of the timer since the previous snapshot
+	 */
+	public long getCountDelta() {
+		return mCountDelta;
+	}
+
+	/**
+	 * Return the total time spent in the timer
+	 */
+	public long getTotalNanos() {
+		return mTotalNanos;
+	}
+
+	/**
+	 * Return the time spent in the timer since the previous snapshot
+	 */
+	public long getTotalNanosDelta() {
+		return mTotalNanosDelta;
+	}
+
+	public long getP50() {
+		return mPercentiles[0];
+	}
+
+	public long getP90() {
+		return mPercentiles[1];
+	}
+
+	public long getP99() {
+		return mPercentiles[2];
+	}
+
+	public long getP999() {
+		return mPercentiles[3];
+	}
+
+	public long getMax() {
+		return mPercentiles[4];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public String toString() {
+		return MoreObjects.toStringHelper(this)
+		                  .add("name", mName)
+		                  .add("time", mTime)
+		                  .add("count", mCount)
+		                  .add("countDelta", mCountDelta)
+		                  .add("totalNanos", mTotalNanos)
+		                  .add("totalNanosDelta", mTotalNanosDelta)
+		                  .add("p50", getP50())
+		                  .add("p90", getP90())
+		                  .add("p99", getP99())
+		                  .add("p999", getP999())
+		                  .add("max", getMax())
+		                  .toString();
+	}
+}
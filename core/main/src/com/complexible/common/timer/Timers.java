@@ -26,51 +26,169 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
-import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * <p></p>
+ * <p>A named set of {@link Timer timers}.</p>
+ *
+ * <p>Timers created with {@code new Timers(true)} are {@link ConcurrentTimer concurrent timers} which can be used from
+ * many threads at once.  The {@link #mainTimer main timer} is always a plain {@link Timer}, it measures the wall-clock
+ * time since the set was created or {@link #resetAll() reset}.</p>
+ *
+ * <p>The set itself is always safe to use from multiple threads.  Looking up a timer by name is a single lock-free read of
+ * a concurrent map, and timers are created at most once per name, however many threads ask for it at the same time.
+ * Code on a hot path should still resolve its timer once, with {@link #createTimer(String)}, and keep the returned
+ * {@link Timer} as a handle to start and stop rather than going through the name every time.</p>
+ *
+ * <p>With {@link #setCallTreeEnabled(boolean) call tree} profiling enabled, the way timers nest on each thread is
+ * recorded in a {@link CallTree} which attributes time to call paths, eg to report the self and child time of each
+ * timer or write a flame graph.</p>
  *
  * @author Evren Sirin
  * @since 2.0
  * @version 2.0
  */
 public class Timers  {
-	private Map<String, Timer> timers = new LinkedHashMap<String, Timer>();
+	private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<String, Timer>();
+
+	/**
+	 * The timers in the order they were created; only written when a timer is first created, so iterating it for
+	 * printing or reporting never blocks the threads using the timers
+	 */
+	private final List<Timer> ordered = new CopyOnWriteArrayList<Timer>();
 	
 	final public Timer mainTimer;
+
+	private final boolean concurrent;
+
+	private volatile SamplingPolicy samplingPolicy = SamplingPolicies.always();
+
+	private final CallTree callTree = new CallTree();
+
+	private volatile boolean callTreeEnabled = false;
 	
 	public Timers() {
-	    mainTimer = createTimer("main");
+	    this(false);
+	}
+
+	/**
+	 * Create a new set of timers
+	 *
+	 * @param concurrent	whether {@link #createTimer(String) created} timers should be safe to use from multiple threads
+	 */
+	public Timers(final boolean concurrent) {
+	    this.concurrent = concurrent;
+
+	    mainTimer = register(new Timer("main"));
 	    mainTimer.start();
 	}
 	
 	public void addAll( Timers other ) {
-	    for( Entry<String, Timer> entry : other.timers.entrySet() ) {
-            String name = entry.getKey();
-            Timer otherTimer = entry.getValue();
-            Timer thisTimer = getTimer( name );
-            if( thisTimer == null )
-                timers.put( name, otherTimer );
-            else 
+	    for( Timer otherTimer : other.ordered ) {
+            Timer thisTimer = register( otherTimer );
+            if( thisTimer != otherTimer )
                 thisTimer.add( otherTimer );            
         }	    
 	}
 
+	/**
+	 * Return the timer with the given name, creating it if it does not exist.  The returned timer can be kept and used
+	 * directly as a handle.
+	 * 
+	 * @param name	the name of the timer
+	 * @return		the timer
+	 */
 	public Timer createTimer(String name) {
-		if(timers.containsKey(name))
-			return timers.get(name);
-		Timer t = new Timer(name, mainTimer);
-		timers.put(name, t);
+		return createTimer(name, mainTimer);
+	}
+
+	/**
+	 * Return the timer with the given name, creating it with the given parent if it does not exist.  If the timer already
+	 * exists it is returned as is, whatever its parent.
+	 * 
+	 * @param name		the name of the timer
+	 * @param parent	the parent of the timer, checked for timeouts whenever the timer is
+	 * @return			the timer
+	 */
+	public Timer createTimer(String name, Timer parent) {
+		Timer t = timers.get(name);
+		if(t != null)
+			return t;
+		t = register(concurrent ? new ConcurrentTimer(name, parent) : new Timer(name, parent));
+		// configure after registering so a new timer cannot miss a concurrent change to the settings
+		t.setSamplingPolicy(samplingPolicy);
+		t.setCallTree(callTreeEnabled ? callTree : null);
 		return t;
 	}
 
+	/**
+	 * Set the {@link SamplingPolicy} of every timer in this set, and of the timers created from now on, eg
+	 * {@code setSamplingPolicy(SamplingPolicies.oneIn(100))}.  The {@link #mainTimer main timer} always times every run.
+	 * 
+	 * @param policy	the policy
+	 */
+	public void setSamplingPolicy(SamplingPolicy policy) {
+		if(policy == null)
+			throw new NullPointerException("Sampling policy cannot be null");
+
+		samplingPolicy = policy;
+
+		for( Timer timer : ordered ) {
+			if( timer != mainTimer )
+				timer.setSamplingPolicy( policy );
+		}
+	}
+
+	public SamplingPolicy getSamplingPolicy() {
+		return samplingPolicy;
+	}
+
+	/**
+	 * Enable or disable recording how the timers in this set nest in the {@link #getCallTree() call tree}.  Only runs
+	 * started while it is enabled are recorded.  The {@link #mainTimer main timer} is never part of the tree.
+	 * 
+	 * @param enabled	whether to record the call tree
+	 */
+	public void setCallTreeEnabled(boolean enabled) {
+		callTreeEnabled = enabled;
+
+		for( Timer timer : ordered ) {
+			if( timer != mainTimer )
+				timer.setCallTree( enabled ? callTree : null );
+		}
+	}
+
+	public boolean isCallTreeEnabled() {
+		return callTreeEnabled;
+	}
+
+	/**
+	 * Return the call tree recorded while {@link #setCallTreeEnabled(boolean) enabled}
+	 * 
+	 * @return	the call tree
+	 */
+	public CallTree getCallTree() {
+		return callTree;
+	}
+
+	/**
+	 * Add the timer to this set unless there is already one with the same name
+	 * 
+	 * @return the timer registered under the name, either the given one or the existing one
+	 */
+	private Timer register(Timer timer) {
+		Timer existing = timers.putIfAbsent(timer.getName(), timer);
+		if(existing != null)
+			return existing;
+		ordered.add(timer);
+		return timer;
+	}
+
 	public Timer startTimer(String name) {
-		Timer t = getTimer(name);
-		if(t == null) t = createTimer(name);
+		Timer t = createTimer(name);
 		t.start();
 		return t;
 	}
@@ -112,9 +230,10 @@ public class Timers  {
 	}
 
 	public void resetAll() {
-	    for( Timer timer : timers.values() ) {
+	    for( Timer timer : ordered ) {
 	        timer.reset();
 	    }
+	    callTree.reset();
         mainTimer.start();
 	}
 
@@ -132,8 +251,13 @@ public class Timers  {
 		return timers.get(name);
 	}
 	
+	/**
+	 * Return the timers in the order they were created
+	 * 
+	 * @return	an unmodifiable view of the timers
+	 */
 	public Collection<Timer> getTimers() {
-		return timers.values();
+		return Collections.unmodifiableList(ordered);
 	}
 
 	public void print() {
@@ -156,30 +280,30 @@ public class Timers  {
 		
 		String[] colNames = shortForm 
 			? new String[] {"Name", "Total (ms)" }
-		    : new String[] {"Name", "Count", "Avg", "Total (ms)" };
+		    : new String[] {"Name", "Count", "Avg", "p50", "p90", "p99", "p99.9", "Max", "Total (ms)" };
             
         boolean[] alignment = shortForm
             ? new boolean[] { false, true }
-            : new boolean[] { false, true, true, true };
+            : new boolean[] { false, true, true, true, true, true, true, true, true };
 			
-		List<Timer> list = new ArrayList<Timer>( timers.values() );
+		List<Timer> list = new ArrayList<Timer>( ordered );
         if( sortBy != null ) {
     		Collections.sort(list, new Comparator<Timer>() {
 
 				public int compare(Timer o1, Timer o2) {
                     if( sortBy.equalsIgnoreCase( "Total" ) ) {
-                    	long t1 = o1.getTotal();
-                    	long t2 = o2.getTotal();
+                    	long t1 = o1.getTotalNanos();
+                    	long t2 = o2.getTotalNanos();
                     	if( t1 == 0 ) 
-                    		t1 = o1.getElapsed();
+                    		t1 = o1.getElapsedNanos();
                     	if( t2 == 0 ) 
-                    		t2 = o2.getElapsed();
-                        return (int)(t2 -t1);
+                    		t2 = o2.getElapsedNanos();
+                        return Long.compare(t2, t1);
                     }
                     else if( sortBy.equalsIgnoreCase( "Avg" ) )
-                        return (int)(o2.getAverage() - o1.getAverage());
+                        return Double.compare(o2.getAverage(), o1.getAverage());
                     else if( sortBy.equalsIgnoreCase( "Count" ) )
-                        return (int)(o2.getCount() - o1.getCount());
+                        return Long.compare(o2.getCount(), o1.getCount());
                     else 
                         return AlphaNumericComparator.CASE_INSENSITIVE.compare( o1, o2 );
     			}			
@@ -198,6 +322,11 @@ public class Timers  {
 			if(!shortForm) {
 				row.add(String.valueOf(timer.getCount()));
 				row.add(nf.format(timer.getAverage()));
+				row.add(nf.format(timer.getPercentile(50)));
+				row.add(nf.format(timer.getPercentile(90)));
+				row.add(nf.format(timer.getPercentile(99)));
+				row.add(nf.format(timer.getPercentile(99.9)));
+				row.add(nf.format(timer.getPercentile(100)));
 			}
 			row.add(String.valueOf(timer.getTotal() + timer.getElapsed()));
 			table.add(row);
@@ -207,6 +336,6 @@ public class Timers  {
 	}
 	
 	public String toString() {
-		return timers.values().toString();
+		return ordered.toString();
 	}
 }
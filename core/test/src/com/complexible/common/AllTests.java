@@ -25,12 +25,21 @@ package com.complexible.common;
 
 import com.complexible.common.base.AllBaseTests;
 import com.complexible.common.collect.BigArrayListTest;
+import com.complexible.common.collect.BigPrimitiveArrayListTest;
+import com.complexible.common.collect.ConcurrentBigArrayListTest;
+import com.complexible.common.collect.DisjointSetTest;
+import com.complexible.common.collect.IntObjectHashMapTest;
+import com.complexible.common.collect.MappedBigArrayListTest;
 import com.complexible.common.io.AllIOTests;
+import com.complexible.common.timer.TimerTests;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({AllBaseTests.class, AllIOTests.class, BigArrayListTest.class })
+@Suite.SuiteClasses({AllBaseTests.class, AllIOTests.class, BigArrayListTest.class,
+                     BigPrimitiveArrayListTest.class, MappedBigArrayListTest.class,
+                     ConcurrentBigArrayListTest.class, DisjointSetTest.class,
+                     IntObjectHashMapTest.class, TimerTests.class })
 public class AllTests {
 
 }
@@ -15,6 +15,10 @@
 
 package com.complexible.common.collect;
 
+import java.util.Arrays;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -68,4 +72,153 @@ public class BigArrayListTest {
         }catch(Throwable e) {
         }
     }
+
+    @Test
+    public void testSetAcrossPages() {
+        BigArrayList<Integer> list = BigArrayList.create(16);
+
+        list.add(0);
+        list.set(40, 40);
+
+        assertEquals(41, list.size());
+        assertEquals(Integer.valueOf(0), list.get(0));
+        assertNull(list.get(20));
+        assertEquals(Integer.valueOf(40), list.get(40));
+
+        list.add(41);
+        assertEquals(Integer.valueOf(41), list.get(41));
+        assertEquals(Integer.valueOf(40), list.set(40, -40));
+        assertEquals(Integer.valueOf(-40), list.get(40));
+
+        int count = 0;
+        for (Integer value : list) {
+            count++;
+        }
+        assertEquals(42, count);
+
+        list.clear();
+        assertEquals(0, list.size());
+        assertFalse(list.iterator().hasNext());
+    }
+
+    @Test
+    public void testStreams() {
+        BigArrayList<Integer> list = BigArrayList.create(64);
+
+        for (int i = 0; i < 1000; i++) {
+            list.add(i);
+        }
+
+        assertEquals(1000, list.stream().count());
+        assertEquals(999 * 1000 / 2, list.parallelStream().mapToLong(Integer::longValue).sum());
+        assertEquals(list.stream().collect(Collectors.toList()), list.parallelStream().collect(Collectors.toList()));
+
+        Spliterator<Integer> suffix = list.spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+
+        assertEquals(512, prefix.estimateSize());
+        assertEquals(488, suffix.estimateSize());
+
+        final long[] count = new long[1];
+        list.forEach((value, index) -> {
+            assertEquals(index, value.longValue());
+            count[0]++;
+        });
+        assertEquals(1000, count[0]);
+    }
+
+    @Test
+    public void testSplitWithinPage() {
+        BigArrayList<Integer> list = BigArrayList.create();
+
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+
+        Spliterator<Integer> suffix = list.spliterator();
+        Spliterator<Integer> prefix = suffix.trySplit();
+
+        assertEquals(5, prefix.estimateSize());
+        assertEquals(5, suffix.estimateSize());
+        assertEquals(45, list.parallelStream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void testBulkOperations() {
+        BigArrayList<Integer> list = BigArrayList.create(16);
+
+        Integer[] values = new Integer[40];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+
+        assertTrue(list.addAll(values));
+        assertEquals(40, list.size());
+
+        assertTrue(list.addAll(Arrays.asList(40, 41, 42)));
+        assertEquals(43, list.size());
+
+        for (int i = 0; i < 43; i++) {
+            assertEquals(Integer.valueOf(i), list.get(i));
+        }
+
+        assertTrue(list.addAll(list));
+        assertEquals(86, list.size());
+        for (int i = 0; i < 86; i++) {
+            assertEquals(Integer.valueOf(i % 43), list.get(i));
+        }
+
+        list.set(10, values, 30, 10);
+        for (int i = 10; i < 20; i++) {
+            assertEquals(Integer.valueOf(i + 20), list.get(i));
+        }
+
+        list.fill(80, 100, -1);
+        assertEquals(100, list.size());
+        assertEquals(Integer.valueOf(36), list.get(79));
+        for (int i = 80; i < 100; i++) {
+            assertEquals(Integer.valueOf(-1), list.get(i));
+        }
+
+        list.set(120, values, 0, 2);
+        assertEquals(122, list.size());
+        assertNull(list.get(110));
+        assertEquals(Integer.valueOf(1), list.get(121));
+    }
+
+    @Test
+    public void testEmptyRangesPastTheEnd() {
+        BigArrayList<Integer> list = BigArrayList.create(16);
+
+        list.fill(10, 10, 1);
+        assertEquals(0, list.size());
+
+        list.set(10, new Integer[] { 1, 2 }, 0, 0);
+        assertEquals(0, list.size());
+
+        list.add(0);
+        list.fill(40, 40, 1);
+        list.set(40, new Integer[0], 0, 0);
+        assertEquals(1, list.size());
+    }
+
+    @Test
+    public void testEnsureCapacity() {
+        BigArrayList<Integer> list = BigArrayList.create(8);
+
+        list.ensureCapacity(100);
+        assertEquals(0, list.size());
+
+        BigArrayList<Integer> other = BigArrayList.create();
+        for (int i = 0; i < 5; i++) {
+            other.add(i);
+        }
+
+        list.addAll(other);
+        list.fill(5, 6, 5);
+        assertEquals(6, list.size());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(Integer.valueOf(i), list.get(i));
+        }
+    }
 }
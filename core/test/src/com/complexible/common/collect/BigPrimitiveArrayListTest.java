@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import java.util.PrimitiveIterator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Tests for {@link BigLongArrayList}, {@link BigIntArrayList} and {@link BigDoubleArrayList}</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public class BigPrimitiveArrayListTest {
+
+    @Test
+    public void testLongList() {
+        int aPageSize = 64;
+
+        BigLongArrayList aList = BigLongArrayList.create(aPageSize);
+
+        assertEquals(0, aList.size());
+
+        for (long i = 0; i < aPageSize * 3 + 5; i++) {
+            assertTrue(aList.add(i * 3));
+        }
+
+        assertEquals(aPageSize * 3 + 5, aList.size());
+
+        for (long i = 0; i < aList.size(); i++) {
+            assertEquals(i * 3, aList.get(i));
+        }
+
+        try {
+            aList.get(aList.size());
+            fail("Exception expected!");
+        }
+        catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+
+        assertEquals(30, aList.set(10, -1));
+        assertEquals(-1, aList.get(10));
+
+        long i = 0;
+        PrimitiveIterator.OfLong aIter = aList.iterator();
+        while (aIter.hasNext()) {
+            long aValue = aIter.nextLong();
+            assertEquals(i == 10 ? -1 : i * 3, aValue);
+            i++;
+        }
+        assertEquals(aList.size(), i);
+
+        aList.clear();
+        assertEquals(0, aList.size());
+        assertFalse(aList.iterator().hasNext());
+    }
+
+    @Test
+    public void testSetPastEnd() {
+        BigIntArrayList aList = BigIntArrayList.create(16);
+
+        aList.add(1);
+        aList.set(100, 7);
+
+        assertEquals(101, aList.size());
+        assertEquals(1, aList.get(0));
+        assertEquals(0, aList.get(50));
+        assertEquals(7, aList.get(100));
+
+        aList.add(8);
+        assertEquals(8, aList.get(101));
+    }
+
+    @Test
+    public void testDoubleList() {
+        BigDoubleArrayList aList = BigDoubleArrayList.create(8);
+
+        for (int i = 0; i < 100; i++) {
+            aList.add(i / 2d);
+        }
+
+        assertEquals(100, aList.size());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i / 2d, aList.get(i), 0d);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testPageSizeMustBePowerOfTwo() {
+        BigLongArrayList.create(100);
+    }
+}
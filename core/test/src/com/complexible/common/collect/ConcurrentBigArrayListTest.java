@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Tests for {@link ConcurrentBigArrayList}</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public class ConcurrentBigArrayListTest {
+
+    @Test
+    public void testSingleThreaded() {
+        ConcurrentBigArrayList<Integer> aList = ConcurrentBigArrayList.create(8);
+
+        for (int i = 0; i < 20; i++) {
+            aList.add(i);
+        }
+
+        aList.addAll(new Integer[] { 20, 21, 22, 23, 24, 25, 26, 27, 28, 29 });
+
+        assertEquals(30, aList.size());
+
+        int i = 0;
+        for (Integer aValue : aList) {
+            assertEquals(Integer.valueOf(i), aList.get(i));
+            assertEquals(Integer.valueOf(i++), aValue);
+        }
+
+        assertEquals(Integer.valueOf(5), aList.set(5, -5));
+        assertEquals(Integer.valueOf(-5), aList.get(5));
+
+        try {
+            aList.get(30);
+            fail("Exception expected!");
+        }
+        catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testConcurrentAppends() throws Exception {
+        final int aThreads = 8;
+        final int aPerThread = 50000;
+        final ConcurrentBigArrayList<Integer> aList = ConcurrentBigArrayList.create(128);
+        final AtomicBoolean aDone = new AtomicBoolean(false);
+
+        ExecutorService aExec = Executors.newFixedThreadPool(aThreads + 1);
+        try {
+            Future<Boolean> aReader = aExec.submit(new Callable<Boolean>() {
+                @Override
+                public Boolean call() throws Exception {
+                    // everything below size() must be visible
+                    while (!aDone.get()) {
+                        long aSize = aList.size();
+                        if (aSize > 0 && aList.get(aSize - 1) == null) {
+                            return false;
+                        }
+                        Thread.yield();
+                    }
+                    return true;
+                }
+            });
+
+            List<Future<?>> aWriters = new ArrayList<Future<?>>();
+            for (int t = 0; t < aThreads; t++) {
+                final int aBase = t * aPerThread;
+                aWriters.add(aExec.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        int i = 0;
+                        while (i < aPerThread) {
+                            if (i % 3 == 0) {
+                                aList.add(aBase + i++);
+                            }
+                            else {
+                                int aCount = Math.min(37, aPerThread - i);
+                                Integer[] aBatch = new Integer[aCount];
+                                for (int j = 0; j < aCount; j++) {
+                                    aBatch[j] = aBase + i++;
+                                }
+                                aList.addAll(aBatch);
+                            }
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> aWriter : aWriters) {
+                aWriter.get();
+            }
+
+            aDone.set(true);
+            assertTrue(aReader.get());
+        }
+        finally {
+            aExec.shutdownNow();
+        }
+
+        assertEquals(aThreads * aPerThread, aList.size());
+
+        BitSet aSeen = new BitSet();
+        for (Integer aValue : aList) {
+            assertFalse(aSeen.get(aValue));
+            aSeen.set(aValue);
+        }
+        assertEquals(aThreads * aPerThread, aSeen.cardinality());
+    }
+
+    @Test(timeout = 10000)
+    public void testFailedAppendDoesNotBlockLaterAppends() throws Exception {
+        // two pages of four, so appends past index 7 fail to allocate a page after reserving their range
+        final ConcurrentBigArrayList<Integer> aList = new ConcurrentBigArrayList<Integer>(4, 2);
+
+        aList.addAll(new Integer[] { 0, 1, 2, 3, 4, 5 });
+
+        try {
+            // writes 6 and 7 into the second page, then fails on the third
+            aList.addAll(new Integer[] { 6, 7, 8, 9 });
+            fail("Exception expected!");
+        }
+        catch (OutOfMemoryError e) {
+            // expected
+        }
+
+        assertEquals(10, aList.size());
+        assertNull(aList.get(6));
+        assertNull(aList.get(7));
+        assertNull(aList.get(9));
+        assertEquals(Integer.valueOf(5), aList.get(5));
+
+        // later appends, from other threads, must not wait on the failed range
+        ExecutorService aExec = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> aWriters = new ArrayList<Future<Boolean>>();
+            for (int i = 0; i < 8; i++) {
+                final int aValue = 100 + i;
+                aWriters.add(aExec.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        try {
+                            return aList.add(aValue);
+                        }
+                        catch (OutOfMemoryError e) {
+                            return false;
+                        }
+                    }
+                }));
+            }
+
+            for (Future<Boolean> aWriter : aWriters) {
+                assertFalse(aWriter.get());
+            }
+        }
+        finally {
+            aExec.shutdownNow();
+        }
+
+        assertEquals(18, aList.size());
+
+        int aCount = 0;
+        for (Integer aValue : aList) {
+            aCount++;
+        }
+        assertEquals(18, aCount);
+    }
+}
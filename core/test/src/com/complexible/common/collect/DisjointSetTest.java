@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Tests for the disjoint set implementations</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public class DisjointSetTest {
+
+    @Test
+    public void testComponents() {
+        DisjointSet<String> aSet = new DisjointSet<String>();
+
+        for (String aElem : Arrays.asList("a", "b", "c", "d", "e", "f")) {
+            aSet.add(aElem);
+        }
+
+        assertEquals(6, aSet.componentCount());
+
+        aSet.union("a", "b");
+        aSet.union("c", "d");
+        aSet.union("b", "d");
+        aSet.union("a", "c");
+
+        assertEquals(3, aSet.componentCount());
+
+        Collection<String> aComponent = aSet.componentOf("c");
+        assertEquals(4, aComponent.size());
+        assertEquals(Sets.newHashSet("a", "b", "c", "d"), Sets.newHashSet(aComponent));
+        assertTrue(aComponent.contains("a"));
+        assertFalse(aComponent.contains("e"));
+
+        assertEquals(Collections.singleton("e"), Sets.newHashSet(aSet.componentOf("e")));
+
+        Set<Set<String>> aComponents = Sets.newHashSet();
+        for (Collection<String> aMembers : aSet.components()) {
+            aComponents.add(Sets.newHashSet(aMembers));
+        }
+
+        Set<Set<String>> aExpected = ImmutableSet.<Set<String>>of(Sets.newHashSet("a", "b", "c", "d"),
+                                                                  Sets.newHashSet("e"),
+                                                                  Sets.newHashSet("f"));
+        assertEquals(aExpected, aComponents);
+        assertEquals(aExpected, Sets.newHashSet(aSet.getEquivalanceSets()));
+
+        aSet.union("e", "f");
+        assertEquals(2, aSet.componentCount());
+        assertEquals(4, aComponent.size());
+        assertEquals(2, aSet.componentOf("f").size());
+    }
+
+    @Test
+    public void testIntDisjointSet() {
+        IntDisjointSet aSet = new IntDisjointSet(10);
+
+        assertEquals(10, aSet.componentCount());
+
+        assertTrue(aSet.union(0, 1));
+        assertTrue(aSet.union(2, 3));
+        assertTrue(aSet.union(1, 3));
+        assertFalse(aSet.union(0, 2));
+        assertTrue(aSet.union(8, 9));
+
+        assertEquals(6, aSet.componentCount());
+        assertTrue(aSet.isSame(0, 3));
+        assertTrue(aSet.isSame(9, 8));
+        assertFalse(aSet.isSame(0, 8));
+        assertEquals(aSet.find(2), aSet.find(1));
+        assertEquals(5, aSet.find(5));
+    }
+
+    @Test
+    public void testConcurrentIntDisjointSet() throws Exception {
+        final int aSize = 20000;
+        final int aEdges = 15000;
+        final int aThreads = 4;
+
+        final int[][] aEdgeList = new int[aEdges][2];
+        Random aRandom = new Random(42);
+        for (int[] aEdge : aEdgeList) {
+            aEdge[0] = aRandom.nextInt(aSize);
+            aEdge[1] = aRandom.nextInt(aSize);
+        }
+
+        IntDisjointSet aExpected = new IntDisjointSet(aSize);
+        for (int[] aEdge : aEdgeList) {
+            aExpected.union(aEdge[0], aEdge[1]);
+        }
+
+        final ConcurrentIntDisjointSet aSet = new ConcurrentIntDisjointSet(aSize);
+
+        ExecutorService aExec = Executors.newFixedThreadPool(aThreads);
+        try {
+            List<Future<?>> aFutures = new ArrayList<Future<?>>();
+            for (int t = 0; t < aThreads; t++) {
+                final int aThread = t;
+                aFutures.add(aExec.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int i = aThread; i < aEdges; i += aThreads) {
+                            aSet.union(aEdgeList[i][0], aEdgeList[i][1]);
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> aFuture : aFutures) {
+                aFuture.get();
+            }
+        }
+        finally {
+            aExec.shutdownNow();
+        }
+
+        assertEquals(aExpected.componentCount(), aSet.componentCount());
+
+        for (int i = 0; i < aSize; i++) {
+            int aOther = aRandom.nextInt(aSize);
+            assertEquals(aExpected.isSame(i, aOther), aSet.isSame(i, aOther));
+        }
+    }
+}
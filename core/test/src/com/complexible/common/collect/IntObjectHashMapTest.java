@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Tests for {@link IntObjectHashMap}</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public class IntObjectHashMapTest {
+
+    @Test
+    public void testBasics() {
+        IntObjectHashMap<String> aMap = new IntObjectHashMap<String>();
+
+        assertTrue(aMap.isEmpty());
+        assertNull(aMap.get(0));
+
+        assertNull(aMap.put(0, "zero"));
+        assertNull(aMap.put(-1, "minus one"));
+        assertNull(aMap.put(Integer.MIN_VALUE, "min"));
+        assertEquals("zero", aMap.put(0, "nil"));
+
+        assertEquals(3, aMap.size());
+        assertEquals("nil", aMap.get(0));
+        assertEquals("min", aMap.get(Integer.MIN_VALUE));
+        assertTrue(aMap.containsKey(-1));
+        assertFalse(aMap.containsKey(1));
+        assertEquals("default", aMap.getOrDefault(1, "default"));
+
+        assertEquals("minus one", aMap.remove(-1));
+        assertNull(aMap.remove(-1));
+        assertEquals(2, aMap.size());
+
+        Map<Integer, String> aSeen = new HashMap<Integer, String>();
+        aMap.forEach(aSeen::put);
+
+        Map<Integer, String> aExpected = new HashMap<Integer, String>();
+        aExpected.put(0, "nil");
+        aExpected.put(Integer.MIN_VALUE, "min");
+
+        assertEquals(aExpected, aSeen);
+        assertEquals(aExpected.hashCode(), aMap.hashCode());
+        assertEquals(2, aMap.keys().length);
+
+        try {
+            aMap.put(5, null);
+            fail("Exception expected!");
+        }
+        catch (NullPointerException e) {
+            // expected
+        }
+
+        aMap.clear();
+        assertTrue(aMap.isEmpty());
+        assertFalse(aMap.containsKey(0));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        Random aRandom = new Random(42);
+
+        IntObjectHashMap<Integer> aMap = new IntObjectHashMap<Integer>(4);
+        Map<Integer, Integer> aExpected = new HashMap<Integer, Integer>();
+
+        for (int i = 0; i < 200000; i++) {
+            // a small key range, so the map sees many collisions, updates and removals of present keys
+            int aKey = aRandom.nextInt(5000) * (aRandom.nextBoolean() ? 1 : -1024);
+
+            if (aRandom.nextInt(3) == 0) {
+                assertEquals(aExpected.remove(aKey), aMap.remove(aKey));
+            }
+            else {
+                assertEquals(aExpected.put(aKey, i), aMap.put(aKey, i));
+            }
+        }
+
+        assertEquals(aExpected.size(), aMap.size());
+
+        for (Map.Entry<Integer, Integer> aEntry : aExpected.entrySet()) {
+            assertEquals(aEntry.getValue(), aMap.get(aEntry.getKey()));
+        }
+
+        IntObjectHashMap<Integer> aCopy = new IntObjectHashMap<Integer>();
+        aMap.forEach(aCopy::put);
+
+        assertEquals(aMap, aCopy);
+        assertEquals(aExpected.hashCode(), aCopy.hashCode());
+    }
+}
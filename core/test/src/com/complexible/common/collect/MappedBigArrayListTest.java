@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.collect;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.IOException;
+
+import com.complexible.common.io.DataInputProcessor;
+import com.complexible.common.io.DataOutputFunnel;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static org.junit.Assert.*;
+
+/**
+ * <p>Tests for {@link MappedBigArrayList}</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public class MappedBigArrayListTest {
+
+    private static final DataOutputFunnel<Long, DataOutput> FUNNEL = new DataOutputFunnel<Long, DataOutput>() {
+        @Override
+        public void funnel(final Long theObj, final DataOutput theTo) throws IOException {
+            theTo.writeLong(theObj);
+        }
+    };
+
+    private static final DataInputProcessor<Long, DataInput> PROCESSOR = new DataInputProcessor<Long, DataInput>() {
+        @Override
+        public Long processInput(final DataInput theInput) throws IOException {
+            return theInput.readLong();
+        }
+    };
+
+    @Rule
+    public TemporaryFolder mFolder = new TemporaryFolder();
+
+    @Test
+    public void testAddGetAcrossSegments() throws IOException {
+        File aFile = mFolder.newFile();
+
+        MappedBigArrayList<Long> aList = MappedBigArrayList.open(aFile, 8, 64, FUNNEL, PROCESSOR);
+        try {
+            for (long i = 0; i < 1000; i++) {
+                assertTrue(aList.add(i * 7));
+            }
+
+            assertEquals(1000, aList.size());
+
+            for (long i = 0; i < 1000; i++) {
+                assertEquals(Long.valueOf(i * 7), aList.get(i));
+            }
+
+            try {
+                aList.get(1000);
+                fail("Exception expected!");
+            }
+            catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+
+            long i = 0;
+            for (Long aValue : aList) {
+                assertEquals(Long.valueOf(i++ * 7), aValue);
+            }
+            assertEquals(1000, i);
+        }
+        finally {
+            aList.close();
+        }
+    }
+
+    @Test
+    public void testReopen() throws IOException {
+        File aFile = mFolder.newFile();
+
+        MappedBigArrayList<Long> aList = MappedBigArrayList.open(aFile, 8, 16, FUNNEL, PROCESSOR);
+        try {
+            for (long i = 0; i < 100; i++) {
+                aList.add(i);
+            }
+            aList.set(150, -1L);
+        }
+        finally {
+            aList.close();
+        }
+
+        aList = MappedBigArrayList.open(aFile, 8, FUNNEL, PROCESSOR);
+        try {
+            assertEquals(151, aList.size());
+            assertEquals(Long.valueOf(99), aList.get(99));
+            assertEquals(Long.valueOf(0), aList.get(120));
+            assertEquals(Long.valueOf(-1), aList.get(150));
+
+            aList.clear();
+            assertEquals(0, aList.size());
+
+            aList.add(5L);
+            assertEquals(Long.valueOf(5), aList.get(0));
+        }
+        finally {
+            aList.close();
+        }
+    }
+
+    @Test
+    public void testCloseTruncatesFile() throws IOException {
+        File aFile = mFolder.newFile();
+
+        MappedBigArrayList<Long> aList = MappedBigArrayList.open(aFile, 8, FUNNEL, PROCESSOR);
+        try {
+            for (long i = 0; i < 3; i++) {
+                aList.add(i);
+            }
+        }
+        finally {
+            aList.close();
+        }
+
+        // the 32 byte header and three 8 byte elements, not the whole of the first segment
+        assertEquals(32 + 3 * 8, aFile.length());
+
+        aList = MappedBigArrayList.open(aFile, 8, FUNNEL, PROCESSOR);
+        try {
+            assertEquals(3, aList.size());
+            assertEquals(Long.valueOf(2), aList.get(2));
+
+            aList.add(3L);
+            assertEquals(Long.valueOf(3), aList.get(3));
+        }
+        finally {
+            aList.close();
+        }
+
+        assertEquals(32 + 4 * 8, aFile.length());
+    }
+
+    @Test(expected = IOException.class)
+    public void testWidthMismatch() throws IOException {
+        File aFile = mFolder.newFile();
+
+        MappedBigArrayList.open(aFile, 8, FUNNEL, PROCESSOR).close();
+        MappedBigArrayList.open(aFile, 4, FUNNEL, PROCESSOR);
+    }
+}
@@ -0,0 +1,668 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.timer;
+
+import java.io.File;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.complexible.common.io.SizeRotationStrategy;
+import com.google.common.base.Charsets;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import static com.complexible.common.timer.Timer.NO_TIMEOUT;
+import static org.junit.Assert.*;
+
+/**
+ * <p>Tests for {@link Timer} and {@link Timers}</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public class TimerTests {
+
+    @Rule
+    public TemporaryFolder mTemp = new TemporaryFolder();
+
+    @Test
+    public void testNesting() {
+        Timer aTimer = new Timer("test");
+
+        aTimer.start();
+        aTimer.start();
+        assertEquals(-1, aTimer.stop());
+        assertTrue(aTimer.isStarted());
+        assertTrue(aTimer.stop() >= 0);
+        assertFalse(aTimer.isStarted());
+        assertEquals(-Long.MAX_VALUE, aTimer.stop());
+
+        assertEquals(1, aTimer.getCount());
+    }
+
+    @Test
+    public void testNanosecondResolution() {
+        Timer aTimer = new Timer("test");
+
+        for (int i = 0; i < 100; i++) {
+            aTimer.start();
+            aTimer.stop();
+        }
+
+        assertEquals(100, aTimer.getCount());
+        assertTrue(aTimer.getTotalNanos() > 0);
+        assertTrue(aTimer.getAverage() > 0);
+        assertEquals(100, aTimer.getHistogram().getCount());
+        assertTrue(aTimer.getPercentile(50) <= aTimer.getPercentile(99));
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        LatencyHistogram aHistogram = new LatencyHistogram();
+
+        assertEquals(0, aHistogram.getValueAtPercentile(99));
+
+        for (long i = 1; i <= 100000; i++) {
+            aHistogram.record(i * 1000);
+        }
+
+        assertEquals(100000, aHistogram.getCount());
+        assertEquals(100000000L, aHistogram.getMax());
+        assertEquals(100000000L, aHistogram.getValueAtPercentile(100));
+
+        assertWithin(50000000L, aHistogram.getValueAtPercentile(50));
+        assertWithin(90000000L, aHistogram.getValueAtPercentile(90));
+        assertWithin(99000000L, aHistogram.getValueAtPercentile(99));
+        assertWithin(99900000L, aHistogram.getValueAtPercentile(99.9));
+
+        // small values are exact
+        LatencyHistogram aSmall = new LatencyHistogram();
+        aSmall.record(3);
+        aSmall.record(7);
+        assertEquals(3, aSmall.getValueAtPercentile(50));
+        assertEquals(7, aSmall.getValueAtPercentile(99));
+
+        aHistogram.add(aSmall);
+        assertEquals(100002, aHistogram.getCount());
+
+        aHistogram.reset();
+        assertEquals(0, aHistogram.getCount());
+        assertEquals(0, aHistogram.getMax());
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        for (long aValue : new long[] { 0, 1, 31, 32, 33, 63, 64, 1000, 123456789, Long.MAX_VALUE / 3, Long.MAX_VALUE }) {
+            int aBucket = LatencyHistogram.bucket(aValue);
+            assertTrue(LatencyHistogram.lowestEquivalentValue(aBucket) <= aValue);
+            assertTrue(LatencyHistogram.highestEquivalentValue(aBucket) >= aValue);
+        }
+    }
+
+    private static void assertWithin(final long theExpected, final long theActual) {
+        assertTrue(theActual + " is not close to " + theExpected, Math.abs(theActual - theExpected) <= theExpected * 0.04);
+    }
+
+    @Test
+    public void testConcurrentNestsPerThread() throws Exception {
+        final ConcurrentTimer aTimer = new ConcurrentTimer("test");
+
+        aTimer.start();
+
+        ExecutorService aExec = Executors.newSingleThreadExecutor();
+        try {
+            // another thread sees the timer as stopped and its runs are recorded independently
+            aExec.submit(new Runnable() {
+                @Override
+                public void run() {
+                    assertFalse(aTimer.isStarted());
+                    assertEquals(-Long.MAX_VALUE, aTimer.stop());
+                    aTimer.start();
+                    assertTrue(aTimer.stop() >= 0);
+                }
+            }).get();
+        }
+        finally {
+            aExec.shutdownNow();
+        }
+
+        assertTrue(aTimer.isStarted());
+        assertEquals(1, aTimer.getCount());
+
+        assertTrue(aTimer.stop() >= 0);
+        assertEquals(2, aTimer.getCount());
+
+        aTimer.reset();
+        assertEquals(0, aTimer.getCount());
+        assertEquals(0, aTimer.getTotal());
+    }
+
+    @Test
+    public void testConcurrentCounts() throws Exception {
+        final int aThreads = 4;
+        final int aRuns = 10000;
+        final Timers aTimers = new Timers(true);
+        aTimers.createTimer("shared");
+
+        ExecutorService aExec = Executors.newFixedThreadPool(aThreads);
+        try {
+            List<Future<?>> aFutures = new ArrayList<Future<?>>();
+            for (int t = 0; t < aThreads; t++) {
+                aFutures.add(aExec.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        Timer aTimer = aTimers.getTimer("shared");
+                        for (int i = 0; i < aRuns; i++) {
+                            aTimer.start();
+                            aTimer.start();
+                            aTimer.stop();
+                            aTimer.stop();
+                        }
+                    }
+                }));
+            }
+
+            for (Future<?> aFuture : aFutures) {
+                aFuture.get();
+            }
+        }
+        finally {
+            aExec.shutdownNow();
+        }
+
+        assertEquals(aThreads * aRuns, aTimers.getTimer("shared").getCount());
+        assertFalse(aTimers.getTimer("shared").isStarted());
+    }
+
+    @Test
+    public void testConcurrentFirstUse() throws Exception {
+        final int aThreads = 8;
+        final int aNames = 200;
+        final Timers aTimers = new Timers(true);
+        final CountDownLatch aStart = new CountDownLatch(1);
+
+        ExecutorService aExec = Executors.newFixedThreadPool(aThreads);
+        try {
+            List<Future<Timer[]>> aFutures = new ArrayList<Future<Timer[]>>();
+            for (int t = 0; t < aThreads; t++) {
+                aFutures.add(aExec.submit(new Callable<Timer[]>() {
+                    @Override
+                    public Timer[] call() throws Exception {
+                        aStart.await();
+
+                        Timer[] aResult = new Timer[aNames];
+                        for (int i = 0; i < aNames; i++) {
+                            aResult[i] = aTimers.startTimer("timer" + i);
+                            aResult[i].stop();
+                        }
+                        return aResult;
+                    }
+                }));
+            }
+
+            aStart.countDown();
+
+            Timer[] aFirst = aFutures.get(0).get();
+            for (Future<Timer[]> aFuture : aFutures) {
+                Timer[] aResult = aFuture.get();
+                for (int i = 0; i < aNames; i++) {
+                    assertSame(aFirst[i], aResult[i]);
+                }
+            }
+        }
+        finally {
+            aExec.shutdownNow();
+        }
+
+        // the named timers plus main
+        assertEquals(aNames + 1, aTimers.getTimers().size());
+
+        for (int i = 0; i < aNames; i++) {
+            assertEquals(aThreads, aTimers.getTimer("timer" + i).getCount());
+        }
+    }
+
+    @Test
+    public void testSampling() {
+        Timer aTimer = new Timer("test");
+        aTimer.setSamplingPolicy(SamplingPolicies.oneIn(10));
+
+        for (int i = 0; i < 1000; i++) {
+            aTimer.start();
+            aTimer.stop();
+        }
+
+        assertEquals(1000, aTimer.getCount());
+        assertEquals(100, aTimer.getSampledCount());
+        assertEquals(100, aTimer.getHistogram().getCount());
+        assertTrue(aTimer.getTotalNanos() > 0);
+
+        // timers with a timeout time every run
+        aTimer.reset();
+        aTimer.setTimeout(100000);
+
+        for (int i = 0; i < 10; i++) {
+            aTimer.start();
+            aTimer.stop();
+        }
+
+        assertEquals(10, aTimer.getSampledCount());
+    }
+
+    @Test
+    public void testAddUnsampledToSampled() throws Exception {
+        for (Timer aSampled : new Timer[] { new Timer("sampled"), new ConcurrentTimer("sampled") }) {
+            aSampled.setSamplingPolicy(SamplingPolicies.oneIn(50));
+
+            for (int i = 0; i < 100; i++) {
+                aSampled.start();
+                aSampled.stop();
+            }
+
+            Timer aOther = new Timer("other");
+            for (int i = 0; i < 5; i++) {
+                aOther.start();
+                Thread.sleep(1);
+                aOther.stop();
+            }
+
+            final long aOwnTotal = aSampled.getTotalNanos();
+
+            aSampled.add(aOther);
+
+            // the other timer's total is counted once, not scaled by this timer's sampling rate
+            assertEquals(105, aSampled.getCount());
+            assertEquals(7, aSampled.getSampledCount());
+            assertEquals(aOwnTotal + aOther.getTotalNanos(), aSampled.getTotalNanos());
+        }
+    }
+
+    @Test
+    public void testConcurrentSampling() {
+        Timers aTimers = new Timers(true);
+        aTimers.setSamplingPolicy(SamplingPolicies.oneIn(4));
+
+        Timer aTimer = aTimers.createTimer("test");
+        assertTrue(aTimer instanceof ConcurrentTimer);
+
+        for (int i = 0; i < 100; i++) {
+            aTimer.start();
+            aTimer.stop();
+        }
+
+        assertEquals(100, aTimer.getCount());
+        assertEquals(25, aTimer.getSampledCount());
+        assertEquals(1, aTimers.mainTimer.getSamplingPolicy().nextInterval(aTimers.mainTimer));
+    }
+
+    @Test
+    public void testAdaptiveSampling() {
+        SamplingPolicy aPolicy = SamplingPolicies.adaptive(0.01, 64);
+
+        Timer aTimer = new Timer("test");
+        assertEquals(1, aPolicy.nextInterval(aTimer));
+
+        aTimer.setSamplingPolicy(aPolicy);
+
+        // runs which do nothing are far cheaper than the clock, so they should be sampled sparsely
+        for (int i = 0; i < 100000; i++) {
+            aTimer.start();
+            aTimer.stop();
+        }
+
+        assertEquals(100000, aTimer.getCount());
+        assertTrue(aTimer.getSampledCount() < 50000);
+
+        for (int i = 0; i < 100; i++) {
+            int aInterval = aPolicy.nextInterval(aTimer);
+            assertTrue(aInterval >= 1 && aInterval < 128);
+        }
+    }
+
+    @Test
+    public void testExportDeltas() throws Exception {
+        Timers aTimers = new Timers();
+        Timer aTimer = aTimers.createTimer("test");
+        RingBufferTimerSink aSink = new RingBufferTimerSink(5);
+
+        TimerExporter aExporter = new TimerExporter(aTimers, 1, TimeUnit.HOURS, aSink);
+        try {
+            for (int i = 0; i < 3; i++) {
+                aTimer.start();
+                aTimer.stop();
+            }
+
+            aExporter.export();
+
+            for (int i = 0; i < 2; i++) {
+                aTimer.start();
+                aTimer.stop();
+            }
+
+            aExporter.export();
+
+            List<TimerSnapshot> aSnapshots = aSink.snapshots("test");
+            assertEquals(2, aSnapshots.size());
+
+            assertEquals(3, aSnapshots.get(0).getCount());
+            assertEquals(3, aSnapshots.get(0).getCountDelta());
+            assertEquals(5, aSnapshots.get(1).getCount());
+            assertEquals(2, aSnapshots.get(1).getCountDelta());
+            assertEquals(aSnapshots.get(1).getTotalNanos(),
+                         aSnapshots.get(0).getTotalNanosDelta() + aSnapshots.get(1).getTotalNanosDelta());
+            assertTrue(aSnapshots.get(1).getP50() <= aSnapshots.get(1).getMax());
+
+            // a reset timer starts its deltas over
+            aTimer.reset();
+            aTimer.start();
+            aTimer.stop();
+            aExporter.export();
+
+            assertEquals(1, aSink.snapshots("test").get(2).getCountDelta());
+
+            // the ring only keeps the most recent snapshots, two timers (main and test) per export
+            assertEquals(5, aSink.snapshots().size());
+            assertEquals(2, aSink.snapshots("main").size());
+        }
+        finally {
+            aExporter.close();
+        }
+    }
+
+    @Test
+    public void testFileSinkRotation() throws Exception {
+        File aDir = mTemp.newFolder();
+        File aFile = new File(aDir, "timers.csv");
+
+        Timers aTimers = new Timers();
+        aTimers.createTimer("a,b");
+
+        TimerExporter aExporter = new TimerExporter(aTimers, 1, TimeUnit.HOURS,
+                                                    new FileTimerSink(aFile, FileTimerSink.Format.CSV, new SizeRotationStrategy(1)));
+        try {
+            aExporter.export();
+
+            List<String> aLines = Files.readAllLines(aFile.toPath(), Charsets.UTF_8);
+            assertEquals(3, aLines.size());
+            assertTrue(aLines.get(0).startsWith("time,name,count"));
+            assertTrue(aLines.get(2).contains(",\"a,b\","));
+
+            aExporter.export();
+        }
+        finally {
+            aExporter.close();
+        }
+
+        assertEquals(2, aDir.listFiles().length);
+        assertEquals(3, Files.readAllLines(aFile.toPath(), Charsets.UTF_8).size());
+
+        File aJson = new File(aDir, "timers.json");
+        FileTimerSink aSink = new FileTimerSink(aJson, FileTimerSink.Format.JSON);
+        try {
+            aSink.write(Collections.singletonList(TimerSnapshot.of(new Timer("q\"t"), 1L, null)));
+        }
+        finally {
+            aSink.close();
+        }
+
+        assertEquals("{\"time\":1,\"name\":\"q\\\"t\",\"count\":0,\"count_delta\":0,\"total_ns\":0,\"total_ns_delta\":0,"
+                     + "\"p50_ns\":0,\"p90_ns\":0,\"p99_ns\":0,\"p999_ns\":0,\"max_ns\":0}",
+                     Files.readAllLines(aJson.toPath(), Charsets.UTF_8).get(0));
+    }
+
+    @Test
+    public void testCallTreeToggledWhileRunning() throws Exception {
+        for (boolean aConcurrent : new boolean[] { false, true }) {
+            Timers aTimers = new Timers(aConcurrent);
+            aTimers.setCallTreeEnabled(true);
+
+            aTimers.startTimer("request");
+            aTimers.setCallTreeEnabled(false);
+            aTimers.stopTimer("request");
+
+            // the run is exited from the tree it was entered in, so it is not left on the thread's stack
+            aTimers.setCallTreeEnabled(true);
+            aTimers.startTimer("parse");
+            aTimers.stopTimer("parse");
+
+            CallTree.Node aRoot = aTimers.getCallTree().getRoot();
+            assertEquals(1, aRoot.getChild("request").getCount());
+            assertEquals(1, aRoot.getChild("parse").getCount());
+            assertNull(aRoot.getChild("request").getChild("parse"));
+        }
+    }
+
+    @Test
+    public void testResetWhileRunningInCallTree() throws Exception {
+        for (boolean aConcurrent : new boolean[] { false, true }) {
+            Timers aTimers = new Timers(aConcurrent);
+            aTimers.setCallTreeEnabled(true);
+
+            aTimers.startTimer("request");
+            aTimers.getTimer("request").reset();
+
+            // the discarded run is no longer on the thread's stack, so later timers are not nested under it
+            aTimers.startTimer("parse");
+            aTimers.stopTimer("parse");
+
+            CallTree.Node aRoot = aTimers.getCallTree().getRoot();
+            assertNotNull(aRoot.getChild("parse"));
+            assertNull(aRoot.getChild("request").getChild("parse"));
+            assertEquals(0, aTimers.getTimer("request").getCount());
+        }
+    }
+
+    @Test
+    public void testConcurrentResetWhileRunningOnAnotherThread() throws Exception {
+        final Timers aTimers = new Timers(true);
+        aTimers.setCallTreeEnabled(true);
+
+        final CountDownLatch aStarted = new CountDownLatch(1);
+        final CountDownLatch aReset = new CountDownLatch(1);
+
+        Thread aThread = new Thread(() -> {
+            aTimers.startTimer("request");
+            aStarted.countDown();
+
+            try {
+                aReset.await();
+            }
+            catch (InterruptedException e) {
+                return;
+            }
+
+            // the run was discarded by the reset; stopping it cleans it up instead of recording it
+            aTimers.getTimer("request").stop();
+
+            aTimers.startTimer("parse");
+            aTimers.stopTimer("parse");
+        });
+        aThread.start();
+
+        aStarted.await();
+        aTimers.getTimer("request").reset();
+        aReset.countDown();
+        aThread.join();
+
+        CallTree.Node aRoot = aTimers.getCallTree().getRoot();
+        assertNotNull(aRoot.getChild("parse"));
+        assertNull(aRoot.getChild("request").getChild("parse"));
+        assertEquals(0, aTimers.getTimer("request").getCount());
+        assertEquals(1, aTimers.getTimer("parse").getCount());
+    }
+
+    @Test
+    public void testCallTree() throws Exception {
+        Timers aTimers = new Timers(true);
+        aTimers.setCallTreeEnabled(true);
+
+        for (int i = 0; i < 2; i++) {
+            aTimers.startTimer("request");
+
+            aTimers.startTimer("parse");
+            Thread.sleep(2);
+            aTimers.stopTimer("parse");
+
+            aTimers.startTimer("execute");
+            aTimers.startTimer("parse");
+            Thread.sleep(2);
+            aTimers.stopTimer("parse");
+            aTimers.stopTimer("execute");
+
+            aTimers.stopTimer("request");
+        }
+
+        aTimers.startTimer("parse");
+        aTimers.stopTimer("parse");
+
+        CallTree.Node aRoot = aTimers.getCallTree().getRoot();
+
+        CallTree.Node aRequest = aRoot.getChild("request");
+        assertEquals(2, aRequest.getCount());
+        assertNotNull(aRoot.getChild("parse"));
+        assertNull(aRoot.getChild("execute"));
+
+        CallTree.Node aExecute = aRequest.getChild("execute");
+        assertEquals(2, aExecute.getCount());
+        assertEquals(2, aExecute.getChild("parse").getCount());
+        assertEquals(aRequest.getTotalNanos(), aRequest.getSelfNanos() + aRequest.getChildNanos());
+        assertTrue(aExecute.getChildNanos() >= 4000000L);
+
+        // the timers themselves still see every run
+        assertEquals(5, aTimers.getTimer("parse").getCount());
+
+        StringWriter aCollapsed = new StringWriter();
+        aTimers.getCallTree().writeCollapsed(aCollapsed);
+        assertTrue(aCollapsed.toString(), aCollapsed.toString().contains("request;execute;parse "));
+        assertTrue(aCollapsed.toString(), aCollapsed.toString().contains("request;parse "));
+
+        StringWriter aReport = new StringWriter();
+        aTimers.getCallTree().print(aReport);
+        assertTrue(aReport.toString(), aReport.toString().startsWith("request  total: "));
+        assertTrue(aReport.toString(), aReport.toString().contains("\n      parse  total: "));
+
+        aTimers.setCallTreeEnabled(false);
+        aTimers.startTimer("other");
+        aTimers.stopTimer("other");
+        assertNull(aRoot.getChild("other"));
+
+        aTimers.resetAll();
+        assertNull(aTimers.getCallTree().getRoot().getChild("request"));
+    }
+
+    @Test
+    public void testCreateTimerWithParent() {
+        Timers aTimers = new Timers();
+        Timer aParent = aTimers.createTimer("parent");
+        Timer aChild = aTimers.createTimer("child", aParent);
+
+        assertSame(aParent, aChild.getParent());
+        assertSame(aTimers.mainTimer, aParent.getParent());
+        assertSame(aChild, aTimers.createTimer("child"));
+    }
+
+    @Test
+    public void testDeadline() throws Exception {
+        Timers aTimers = new Timers();
+        Timer aParent = aTimers.createTimer("parent");
+        Timer aChild = aTimers.createTimer("child", aParent);
+
+        aParent.setTimeout(50);
+        aParent.start();
+        aChild.start();
+
+        aChild.check();
+
+        Thread.sleep(150);
+
+        try {
+            aChild.check();
+            fail("Timeout of the parent expected");
+        }
+        catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("parent"));
+        }
+
+        // once the parent stops its deadline no longer applies
+        aChild.stop();
+        aParent.stop();
+        aChild.check();
+
+        // a new run gets a new deadline
+        aParent.start();
+        aParent.check();
+        aParent.stop();
+        aParent.check();
+    }
+
+    @Test
+    public void testTimeoutSetWhileRunning() throws Exception {
+        Timer aTimer = new Timer("test");
+        aTimer.start();
+        aTimer.check();
+
+        Thread.sleep(20);
+
+        // already past the new timeout
+        aTimer.setTimeout(10);
+
+        try {
+            aTimer.check();
+            fail("Timeout expected");
+        }
+        catch (RuntimeException e) {
+            // expected
+        }
+
+        aTimer.setTimeout(NO_TIMEOUT);
+        aTimer.check();
+        aTimer.stop();
+    }
+
+    @Test
+    public void testInterrupt() {
+        Timers aTimers = new Timers(true);
+        Timer aTimer = aTimers.createTimer("test");
+
+        aTimer.start();
+        aTimer.check();
+
+        aTimers.interrupt();
+
+        try {
+            aTimer.check();
+            fail("Interrupt expected");
+        }
+        catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("interrupted"));
+        }
+
+        // the interrupt is cleared once it has been seen
+        aTimer.check();
+        aTimer.stop();
+    }
+}
@@ -1026,65 +1026,57 @@ public final class Core {
     // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.UID)
   }
 
-  public interface StringMapEntryOrBuilder
+  public interface FixedUIDOrBuilder
       extends com.google.protobuf.MessageOrBuilder {
 
-    // required string key = 1;
-    /**
-     * <code>required string key = 1;</code>
-     */
-    boolean hasKey();
+    // required fixed64 mostSigBits = 1;
     /**
-     * <code>required string key = 1;</code>
+     * <code>required fixed64 mostSigBits = 1;</code>
      */
-    java.lang.String getKey();
+    boolean hasMostSigBits();
     /**
-     * <code>required string key = 1;</code>
+     * <code>required fixed64 mostSigBits = 1;</code>
      */
-    com.google.protobuf.ByteString
-        getKeyBytes();
+    long getMostSigBits();
 
-    // required string value = 2;
-    /**
-     * <code>required string value = 2;</code>
-     */
-    boolean hasValue();
+    // required fixed64 leastSigBits = 2;
     /**
-     * <code>required string value = 2;</code>
+     * <code>required fixed64 leastSigBits = 2;</code>
      */
-    java.lang.String getValue();
+    boolean hasLeastSigBits();
     /**
-     * <code>required string value = 2;</code>
+     * <code>required fixed64 leastSigBits = 2;</code>
      */
-    com.google.protobuf.ByteString
-        getValueBytes();
+    long getLeastSigBits();
   }
   /**
-   * Protobuf type {@code com.complexible.common.protobuf.core.StringMapEntry}
+   * Protobuf type {@code com.complexible.common.protobuf.core.FixedUID}
    *
    * <pre>
    **
-   * The internal element of a StringMap, represents a single key-value pair of strings.
+   * Representation of a UUID as a 128-bit identifier in fixed-width fields.  Random UUIDs encode to 18 bytes this way,
+   * rather than the 20-22 of a UID, whose varints take nine or ten bytes for most values.
    *
-   * @see StringMap
+   * @see java.util.UUID
+   * @see UID
    * </pre>
    */
-  public static final class StringMapEntry extends
+  public static final class FixedUID extends
       com.google.protobuf.GeneratedMessage
-      implements StringMapEntryOrBuilder {
-    // Use StringMapEntry.newBuilder() to construct.
-    private StringMapEntry(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      implements FixedUIDOrBuilder {
+    // Use FixedUID.newBuilder() to construct.
+    private FixedUID(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private StringMapEntry(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private FixedUID(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final StringMapEntry defaultInstance;
-    public static StringMapEntry getDefaultInstance() {
+    private static final FixedUID defaultInstance;
+    public static FixedUID getDefaultInstance() {
       return defaultInstance;
     }
 
-    public StringMapEntry getDefaultInstanceForType() {
+    public FixedUID getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -1094,7 +1086,7 @@ public final class Core {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private StringMapEntry(
+    private FixedUID(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -1117,14 +1109,14 @@ public final class Core {
               }
               break;
             }
-            case 10: {
+            case 9: {
               bitField0_ |= 0x00000001;
-              key_ = input.readBytes();
+              mostSigBits_ = input.readFixed64();
               break;
             }
-            case 18: {
+            case 17: {
               bitField0_ |= 0x00000002;
-              value_ = input.readBytes();
+              leastSigBits_ = input.readFixed64();
               break;
             }
           }
@@ -1141,132 +1133,78 @@ public final class Core {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMapEntry_descriptor;
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_FixedUID_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMapEntry_fieldAccessorTable
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_FixedUID_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              com.complexible.common.protobuf.core.Core.StringMapEntry.class, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder.class);
+              com.complexible.common.protobuf.core.Core.FixedUID.class, com.complexible.common.protobuf.core.Core.FixedUID.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<StringMapEntry> PARSER =
-        new com.google.protobuf.AbstractParser<StringMapEntry>() {
-      public StringMapEntry parsePartialFrom(
+    public static com.google.protobuf.Parser<FixedUID> PARSER =
+        new com.google.protobuf.AbstractParser<FixedUID>() {
+      public FixedUID parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new StringMapEntry(input, extensionRegistry);
+        return new FixedUID(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<StringMapEntry> getParserForType() {
+    public com.google.protobuf.Parser<FixedUID> getParserForType() {
       return PARSER;
     }
 
     private int bitField0_;
-    // required string key = 1;
-    public static final int KEY_FIELD_NUMBER = 1;
-    private java.lang.Object key_;
+    // required fixed64 mostSigBits = 1;
+    public static final int MOSTSIGBITS_FIELD_NUMBER = 1;
+    private long mostSigBits_;
     /**
-     * <code>required string key = 1;</code>
+     * <code>required fixed64 mostSigBits = 1;</code>
      */
-    public boolean hasKey() {
+    public boolean hasMostSigBits() {
       return ((bitField0_ & 0x00000001) == 0x00000001);
     }
     /**
-     * <code>required string key = 1;</code>
-     */
-    public java.lang.String getKey() {
-      java.lang.Object ref = key_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        if (bs.isValidUtf8()) {
-          key_ = s;
-        }
-        return s;
-      }
-    }
-    /**
-     * <code>required string key = 1;</code>
+     * <code>required fixed64 mostSigBits = 1;</code>
      */
-    public com.google.protobuf.ByteString
-        getKeyBytes() {
-      java.lang.Object ref = key_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        key_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
+    public long getMostSigBits() {
+      return mostSigBits_;
     }
 
-    // required string value = 2;
-    public static final int VALUE_FIELD_NUMBER = 2;
-    private java.lang.Object value_;
+    // required fixed64 leastSigBits = 2;
+    public static final int LEASTSIGBITS_FIELD_NUMBER = 2;
+    private long leastSigBits_;
     /**
-     * <code>required string value = 2;</code>
+     * <code>required fixed64 leastSigBits = 2;</code>
      */
-    public boolean hasValue() {
+    public boolean hasLeastSigBits() {
       return ((bitField0_ & 0x00000002) == 0x00000002);
     }
     /**
-     * <code>required string value = 2;</code>
-     */
-    public java.lang.String getValue() {
-      java.lang.Object ref = value_;
-      if (ref instanceof java.lang.String) {
-        return (java.lang.String) ref;
-      } else {
-        com.google.protobuf.ByteString bs = 
-            (com.google.protobuf.ByteString) ref;
-        java.lang.String s = bs.toStringUtf8();
-        if (bs.isValidUtf8()) {
-          value_ = s;
-        }
-        return s;
-      }
-    }
-    /**
-     * <code>required string value = 2;</code>
+     * <code>required fixed64 leastSigBits = 2;</code>
      */
-    public com.google.protobuf.ByteString
-        getValueBytes() {
-      java.lang.Object ref = value_;
-      if (ref instanceof java.lang.String) {
-        com.google.protobuf.ByteString b = 
-            com.google.protobuf.ByteString.copyFromUtf8(
-                (java.lang.String) ref);
-        value_ = b;
-        return b;
-      } else {
-        return (com.google.protobuf.ByteString) ref;
-      }
+    public long getLeastSigBits() {
+      return leastSigBits_;
     }
 
     private void initFields() {
-      key_ = "";
-      value_ = "";
+      mostSigBits_ = 0L;
+      leastSigBits_ = 0L;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized != -1) return isInitialized == 1;
 
-      if (!hasKey()) {
+      if (!hasMostSigBits()) {
         memoizedIsInitialized = 0;
         return false;
       }
-      if (!hasValue()) {
+      if (!hasLeastSigBits()) {
         memoizedIsInitialized = 0;
         return false;
       }
@@ -1278,10 +1216,10 @@ public final class Core {
                         throws java.io.IOException {
       getSerializedSize();
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeBytes(1, getKeyBytes());
+        output.writeFixed64(1, mostSigBits_);
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
-        output.writeBytes(2, getValueBytes());
+        output.writeFixed64(2, leastSigBits_);
       }
       getUnknownFields().writeTo(output);
     }
@@ -1294,11 +1232,11 @@ public final class Core {
       size = 0;
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(1, getKeyBytes());
+          .computeFixed64Size(1, mostSigBits_);
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeBytesSize(2, getValueBytes());
+          .computeFixed64Size(2, leastSigBits_);
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -1312,53 +1250,53 @@ public final class Core {
       return super.writeReplace();
     }
 
-    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.FixedUID parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.FixedUID parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(byte[] data)
+    public static com.complexible.common.protobuf.core.Core.FixedUID parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.FixedUID parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(java.io.InputStream input)
+    public static com.complexible.common.protobuf.core.Core.FixedUID parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.FixedUID parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseDelimitedFrom(java.io.InputStream input)
+    public static com.complexible.common.protobuf.core.Core.FixedUID parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseDelimitedFrom(
+    public static com.complexible.common.protobuf.core.Core.FixedUID parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.FixedUID parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.FixedUID parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -1367,7 +1305,7 @@ public final class Core {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.complexible.common.protobuf.core.Core.StringMapEntry prototype) {
+    public static Builder newBuilder(com.complexible.common.protobuf.core.Core.FixedUID prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -1379,31 +1317,33 @@ public final class Core {
       return builder;
     }
     /**
-     * Protobuf type {@code com.complexible.common.protobuf.core.StringMapEntry}
+     * Protobuf type {@code com.complexible.common.protobuf.core.FixedUID}
      *
      * <pre>
      **
-     * The internal element of a StringMap, represents a single key-value pair of strings.
+     * Representation of a UUID as a 128-bit identifier in fixed-width fields.  Random UUIDs encode to 18 bytes this way,
+     * rather than the 20-22 of a UID, whose varints take nine or ten bytes for most values.
      *
-     * @see StringMap
+     * @see java.util.UUID
+     * @see UID
      * </pre>
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder {
+       implements com.complexible.common.protobuf.core.Core.FixedUIDOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMapEntry_descriptor;
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_FixedUID_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMapEntry_fieldAccessorTable
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_FixedUID_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                com.complexible.common.protobuf.core.Core.StringMapEntry.class, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder.class);
+                com.complexible.common.protobuf.core.Core.FixedUID.class, com.complexible.common.protobuf.core.Core.FixedUID.Builder.class);
       }
 
-      // Construct using com.complexible.common.protobuf.core.Core.StringMapEntry.newBuilder()
+      // Construct using com.complexible.common.protobuf.core.Core.FixedUID.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -1423,9 +1363,9 @@ public final class Core {
 
       public Builder clear() {
         super.clear();
-        key_ = "";
+        mostSigBits_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000001);
-        value_ = "";
+        leastSigBits_ = 0L;
         bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
@@ -1436,69 +1376,65 @@ public final class Core {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMapEntry_descriptor;
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_FixedUID_descriptor;
       }
 
-      public com.complexible.common.protobuf.core.Core.StringMapEntry getDefaultInstanceForType() {
-        return com.complexible.common.protobuf.core.Core.StringMapEntry.getDefaultInstance();
+      public com.complexible.common.protobuf.core.Core.FixedUID getDefaultInstanceForType() {
+        return com.complexible.common.protobuf.core.Core.FixedUID.getDefaultInstance();
       }
 
-      public com.complexible.common.protobuf.core.Core.StringMapEntry build() {
-        com.complexible.common.protobuf.core.Core.StringMapEntry result = buildPartial();
+      public com.complexible.common.protobuf.core.Core.FixedUID build() {
+        com.complexible.common.protobuf.core.Core.FixedUID result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public com.complexible.common.protobuf.core.Core.StringMapEntry buildPartial() {
-        com.complexible.common.protobuf.core.Core.StringMapEntry result = new com.complexible.common.protobuf.core.Core.StringMapEntry(this);
+      public com.complexible.common.protobuf.core.Core.FixedUID buildPartial() {
+        com.complexible.common.protobuf.core.Core.FixedUID result = new com.complexible.common.protobuf.core.Core.FixedUID(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
           to_bitField0_ |= 0x00000001;
         }
-        result.key_ = key_;
+        result.mostSigBits_ = mostSigBits_;
         if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
           to_bitField0_ |= 0x00000002;
         }
-        result.value_ = value_;
+        result.leastSigBits_ = leastSigBits_;
         result.bitField0_ = to_bitField0_;
         onBuilt();
         return result;
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.complexible.common.protobuf.core.Core.StringMapEntry) {
-          return mergeFrom((com.complexible.common.protobuf.core.Core.StringMapEntry)other);
+        if (other instanceof com.complexible.common.protobuf.core.Core.FixedUID) {
+          return mergeFrom((com.complexible.common.protobuf.core.Core.FixedUID)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(com.complexible.common.protobuf.core.Core.StringMapEntry other) {
-        if (other == com.complexible.common.protobuf.core.Core.StringMapEntry.getDefaultInstance()) return this;
-        if (other.hasKey()) {
-          bitField0_ |= 0x00000001;
-          key_ = other.key_;
-          onChanged();
+      public Builder mergeFrom(com.complexible.common.protobuf.core.Core.FixedUID other) {
+        if (other == com.complexible.common.protobuf.core.Core.FixedUID.getDefaultInstance()) return this;
+        if (other.hasMostSigBits()) {
+          setMostSigBits(other.getMostSigBits());
         }
-        if (other.hasValue()) {
-          bitField0_ |= 0x00000002;
-          value_ = other.value_;
-          onChanged();
+        if (other.hasLeastSigBits()) {
+          setLeastSigBits(other.getLeastSigBits());
         }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
 
       public final boolean isInitialized() {
-        if (!hasKey()) {
+        if (!hasMostSigBits()) {
           
           return false;
         }
-        if (!hasValue()) {
+        if (!hasLeastSigBits()) {
           
           return false;
         }
@@ -1509,11 +1445,11 @@ public final class Core {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        com.complexible.common.protobuf.core.Core.StringMapEntry parsedMessage = null;
+        com.complexible.common.protobuf.core.Core.FixedUID parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.complexible.common.protobuf.core.Core.StringMapEntry) e.getUnfinishedMessage();
+          parsedMessage = (com.complexible.common.protobuf.core.Core.FixedUID) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -1524,177 +1460,100 @@ public final class Core {
       }
       private int bitField0_;
 
-      // required string key = 1;
-      private java.lang.Object key_ = "";
+      // required fixed64 mostSigBits = 1;
+      private long mostSigBits_ ;
       /**
-       * <code>required string key = 1;</code>
+       * <code>required fixed64 mostSigBits = 1;</code>
        */
-      public boolean hasKey() {
+      public boolean hasMostSigBits() {
         return ((bitField0_ & 0x00000001) == 0x00000001);
       }
       /**
-       * <code>required string key = 1;</code>
-       */
-      public java.lang.String getKey() {
-        java.lang.Object ref = key_;
-        if (!(ref instanceof java.lang.String)) {
-          java.lang.String s = ((com.google.protobuf.ByteString) ref)
-              .toStringUtf8();
-          key_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>required string key = 1;</code>
+       * <code>required fixed64 mostSigBits = 1;</code>
        */
-      public com.google.protobuf.ByteString
-          getKeyBytes() {
-        java.lang.Object ref = key_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          key_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
+      public long getMostSigBits() {
+        return mostSigBits_;
       }
       /**
-       * <code>required string key = 1;</code>
+       * <code>required fixed64 mostSigBits = 1;</code>
        */
-      public Builder setKey(
-          java.lang.String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000001;
-        key_ = value;
+      public Builder setMostSigBits(long value) {
+        bitField0_ |= 0x00000001;
+        mostSigBits_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required string key = 1;</code>
+       * <code>required fixed64 mostSigBits = 1;</code>
        */
-      public Builder clearKey() {
+      public Builder clearMostSigBits() {
         bitField0_ = (bitField0_ & ~0x00000001);
-        key_ = getDefaultInstance().getKey();
+        mostSigBits_ = 0L;
         onChanged();
         return this;
       }
+
+      // required fixed64 leastSigBits = 2;
+      private long leastSigBits_ ;
       /**
-       * <code>required string key = 1;</code>
+       * <code>required fixed64 leastSigBits = 2;</code>
        */
-      public Builder setKeyBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000001;
-        key_ = value;
-        onChanged();
-        return this;
-      }
-
-      // required string value = 2;
-      private java.lang.Object value_ = "";
-      /**
-       * <code>required string value = 2;</code>
-       */
-      public boolean hasValue() {
+      public boolean hasLeastSigBits() {
         return ((bitField0_ & 0x00000002) == 0x00000002);
       }
       /**
-       * <code>required string value = 2;</code>
-       */
-      public java.lang.String getValue() {
-        java.lang.Object ref = value_;
-        if (!(ref instanceof java.lang.String)) {
-          java.lang.String s = ((com.google.protobuf.ByteString) ref)
-              .toStringUtf8();
-          value_ = s;
-          return s;
-        } else {
-          return (java.lang.String) ref;
-        }
-      }
-      /**
-       * <code>required string value = 2;</code>
+       * <code>required fixed64 leastSigBits = 2;</code>
        */
-      public com.google.protobuf.ByteString
-          getValueBytes() {
-        java.lang.Object ref = value_;
-        if (ref instanceof String) {
-          com.google.protobuf.ByteString b = 
-              com.google.protobuf.ByteString.copyFromUtf8(
-                  (java.lang.String) ref);
-          value_ = b;
-          return b;
-        } else {
-          return (com.google.protobuf.ByteString) ref;
-        }
+      public long getLeastSigBits() {
+        return leastSigBits_;
       }
       /**
-       * <code>required string value = 2;</code>
+       * <code>required fixed64 leastSigBits = 2;</code>
        */
-      public Builder setValue(
-          java.lang.String value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000002;
-        value_ = value;
+      public Builder setLeastSigBits(long value) {
+        bitField0_ |= 0x00000002;
+        leastSigBits_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required string value = 2;</code>
+       * <code>required fixed64 leastSigBits = 2;</code>
        */
-      public Builder clearValue() {
+      public Builder clearLeastSigBits() {
         bitField0_ = (bitField0_ & ~0x00000002);
-        value_ = getDefaultInstance().getValue();
-        onChanged();
-        return this;
-      }
-      /**
-       * <code>required string value = 2;</code>
-       */
-      public Builder setValueBytes(
-          com.google.protobuf.ByteString value) {
-        if (value == null) {
-    throw new NullPointerException();
-  }
-  bitField0_ |= 0x00000002;
-        value_ = value;
+        leastSigBits_ = 0L;
         onChanged();
         return this;
       }
 
-      // @@protoc_insertion_point(builder_scope:com.complexible.common.protobuf.core.StringMapEntry)
+      // @@protoc_insertion_point(builder_scope:com.complexible.common.protobuf.core.FixedUID)
     }
 
     static {
-      defaultInstance = new StringMapEntry(true);
+      defaultInstance = new FixedUID(true);
       defaultInstance.initFields();
     }
 
-    // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.StringMapEntry)
+    // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.FixedUID)
   }
 
-  public interface IntStringMapEntryOrBuilder
+  public interface StringMapEntryOrBuilder
       extends com.google.protobuf.MessageOrBuilder {
 
-    // required int32 key = 1;
+    // required string key = 1;
     /**
-     * <code>required int32 key = 1;</code>
+     * <code>required string key = 1;</code>
      */
     boolean hasKey();
     /**
-     * <code>required int32 key = 1;</code>
+     * <code>required string key = 1;</code>
      */
-    int getKey();
+    java.lang.String getKey();
+    /**
+     * <code>required string key = 1;</code>
+     */
+    com.google.protobuf.ByteString
+        getKeyBytes();
 
     // required string value = 2;
     /**
@@ -1712,31 +1571,31 @@ public final class Core {
         getValueBytes();
   }
   /**
-   * Protobuf type {@code com.complexible.common.protobuf.core.IntStringMapEntry}
+   * Protobuf type {@code com.complexible.common.protobuf.core.StringMapEntry}
    *
    * <pre>
    **
-   * Internal element of a IntStringMap, represents a single key-value pair
+   * The internal element of a StringMap, represents a single key-value pair of strings.
    *
-   * @see IntStringMap
+   * @see StringMap
    * </pre>
    */
-  public static final class IntStringMapEntry extends
+  public static final class StringMapEntry extends
       com.google.protobuf.GeneratedMessage
-      implements IntStringMapEntryOrBuilder {
-    // Use IntStringMapEntry.newBuilder() to construct.
-    private IntStringMapEntry(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      implements StringMapEntryOrBuilder {
+    // Use StringMapEntry.newBuilder() to construct.
+    private StringMapEntry(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private IntStringMapEntry(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private StringMapEntry(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final IntStringMapEntry defaultInstance;
-    public static IntStringMapEntry getDefaultInstance() {
+    private static final StringMapEntry defaultInstance;
+    public static StringMapEntry getDefaultInstance() {
       return defaultInstance;
     }
 
-    public IntStringMapEntry getDefaultInstanceForType() {
+    public StringMapEntry getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -1746,7 +1605,7 @@ public final class Core {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private IntStringMapEntry(
+    private StringMapEntry(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -1769,9 +1628,9 @@ public final class Core {
               }
               break;
             }
-            case 8: {
+            case 10: {
               bitField0_ |= 0x00000001;
-              key_ = input.readInt32();
+              key_ = input.readBytes();
               break;
             }
             case 18: {
@@ -1793,46 +1652,73 @@ public final class Core {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_descriptor;
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMapEntry_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_fieldAccessorTable
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMapEntry_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              com.complexible.common.protobuf.core.Core.IntStringMapEntry.class, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder.class);
+              com.complexible.common.protobuf.core.Core.StringMapEntry.class, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<IntStringMapEntry> PARSER =
-        new com.google.protobuf.AbstractParser<IntStringMapEntry>() {
-      public IntStringMapEntry parsePartialFrom(
+    public static com.google.protobuf.Parser<StringMapEntry> PARSER =
+        new com.google.protobuf.AbstractParser<StringMapEntry>() {
+      public StringMapEntry parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new IntStringMapEntry(input, extensionRegistry);
+        return new StringMapEntry(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<IntStringMapEntry> getParserForType() {
+    public com.google.protobuf.Parser<StringMapEntry> getParserForType() {
       return PARSER;
     }
 
     private int bitField0_;
-    // required int32 key = 1;
+    // required string key = 1;
     public static final int KEY_FIELD_NUMBER = 1;
-    private int key_;
+    private java.lang.Object key_;
     /**
-     * <code>required int32 key = 1;</code>
+     * <code>required string key = 1;</code>
      */
     public boolean hasKey() {
       return ((bitField0_ & 0x00000001) == 0x00000001);
     }
     /**
-     * <code>required int32 key = 1;</code>
+     * <code>required string key = 1;</code>
      */
-    public int getKey() {
-      return key_;
+    public java.lang.String getKey() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          key_ = s;
+        }
+        return s;
+      }
+    }
+    /**
+     * <code>required string key = 1;</code>
+     */
+    public com.google.protobuf.ByteString
+        getKeyBytes() {
+      java.lang.Object ref = key_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        key_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
     }
 
     // required string value = 2;
@@ -1879,7 +1765,7 @@ public final class Core {
     }
 
     private void initFields() {
-      key_ = 0;
+      key_ = "";
       value_ = "";
     }
     private byte memoizedIsInitialized = -1;
@@ -1903,7 +1789,7 @@ public final class Core {
                         throws java.io.IOException {
       getSerializedSize();
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
-        output.writeInt32(1, key_);
+        output.writeBytes(1, getKeyBytes());
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         output.writeBytes(2, getValueBytes());
@@ -1919,7 +1805,7 @@ public final class Core {
       size = 0;
       if (((bitField0_ & 0x00000001) == 0x00000001)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeInt32Size(1, key_);
+          .computeBytesSize(1, getKeyBytes());
       }
       if (((bitField0_ & 0x00000002) == 0x00000002)) {
         size += com.google.protobuf.CodedOutputStream
@@ -1937,53 +1823,53 @@ public final class Core {
       return super.writeReplace();
     }
 
-    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(byte[] data)
+    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(java.io.InputStream input)
+    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseDelimitedFrom(java.io.InputStream input)
+    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseDelimitedFrom(
+    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
+    public static com.complexible.common.protobuf.core.Core.StringMapEntry parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -1992,7 +1878,7 @@ public final class Core {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.complexible.common.protobuf.core.Core.IntStringMapEntry prototype) {
+    public static Builder newBuilder(com.complexible.common.protobuf.core.Core.StringMapEntry prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -2004,31 +1890,31 @@ public final class Core {
       return builder;
     }
     /**
-     * Protobuf type {@code com.complexible.common.protobuf.core.IntStringMapEntry}
+     * Protobuf type {@code com.complexible.common.protobuf.core.StringMapEntry}
      *
      * <pre>
      **
-     * Internal element of a IntStringMap, represents a single key-value pair
+     * The internal element of a StringMap, represents a single key-value pair of strings.
      *
-     * @see IntStringMap
+     * @see StringMap
      * </pre>
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder {
+       implements com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_descriptor;
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMapEntry_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_fieldAccessorTable
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMapEntry_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                com.complexible.common.protobuf.core.Core.IntStringMapEntry.class, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder.class);
+                com.complexible.common.protobuf.core.Core.StringMapEntry.class, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder.class);
       }
 
-      // Construct using com.complexible.common.protobuf.core.Core.IntStringMapEntry.newBuilder()
+      // Construct using com.complexible.common.protobuf.core.Core.StringMapEntry.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -2048,7 +1934,7 @@ public final class Core {
 
       public Builder clear() {
         super.clear();
-        key_ = 0;
+        key_ = "";
         bitField0_ = (bitField0_ & ~0x00000001);
         value_ = "";
         bitField0_ = (bitField0_ & ~0x00000002);
@@ -2061,23 +1947,23 @@ public final class Core {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_descriptor;
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMapEntry_descriptor;
       }
 
-      public com.complexible.common.protobuf.core.Core.IntStringMapEntry getDefaultInstanceForType() {
-        return com.complexible.common.protobuf.core.Core.IntStringMapEntry.getDefaultInstance();
+      public com.complexible.common.protobuf.core.Core.StringMapEntry getDefaultInstanceForType() {
+        return com.complexible.common.protobuf.core.Core.StringMapEntry.getDefaultInstance();
       }
 
-      public com.complexible.common.protobuf.core.Core.IntStringMapEntry build() {
-        com.complexible.common.protobuf.core.Core.IntStringMapEntry result = buildPartial();
+      public com.complexible.common.protobuf.core.Core.StringMapEntry build() {
+        com.complexible.common.protobuf.core.Core.StringMapEntry result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public com.complexible.common.protobuf.core.Core.IntStringMapEntry buildPartial() {
-        com.complexible.common.protobuf.core.Core.IntStringMapEntry result = new com.complexible.common.protobuf.core.Core.IntStringMapEntry(this);
+      public com.complexible.common.protobuf.core.Core.StringMapEntry buildPartial() {
+        com.complexible.common.protobuf.core.Core.StringMapEntry result = new com.complexible.common.protobuf.core.Core.StringMapEntry(this);
         int from_bitField0_ = bitField0_;
         int to_bitField0_ = 0;
         if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
@@ -2094,18 +1980,20 @@ public final class Core {
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.complexible.common.protobuf.core.Core.IntStringMapEntry) {
-          return mergeFrom((com.complexible.common.protobuf.core.Core.IntStringMapEntry)other);
+        if (other instanceof com.complexible.common.protobuf.core.Core.StringMapEntry) {
+          return mergeFrom((com.complexible.common.protobuf.core.Core.StringMapEntry)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(com.complexible.common.protobuf.core.Core.IntStringMapEntry other) {
-        if (other == com.complexible.common.protobuf.core.Core.IntStringMapEntry.getDefaultInstance()) return this;
+      public Builder mergeFrom(com.complexible.common.protobuf.core.Core.StringMapEntry other) {
+        if (other == com.complexible.common.protobuf.core.Core.StringMapEntry.getDefaultInstance()) return this;
         if (other.hasKey()) {
-          setKey(other.getKey());
+          bitField0_ |= 0x00000001;
+          key_ = other.key_;
+          onChanged();
         }
         if (other.hasValue()) {
           bitField0_ |= 0x00000002;
@@ -2132,11 +2020,11 @@ public final class Core {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        com.complexible.common.protobuf.core.Core.IntStringMapEntry parsedMessage = null;
+        com.complexible.common.protobuf.core.Core.StringMapEntry parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.complexible.common.protobuf.core.Core.IntStringMapEntry) e.getUnfinishedMessage();
+          parsedMessage = (com.complexible.common.protobuf.core.Core.StringMapEntry) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -2147,35 +2035,76 @@ public final class Core {
       }
       private int bitField0_;
 
-      // required int32 key = 1;
-      private int key_ ;
+      // required string key = 1;
+      private java.lang.Object key_ = "";
       /**
-       * <code>required int32 key = 1;</code>
+       * <code>required string key = 1;</code>
        */
       public boolean hasKey() {
         return ((bitField0_ & 0x00000001) == 0x00000001);
       }
       /**
-       * <code>required int32 key = 1;</code>
+       * <code>required string key = 1;</code>
        */
-      public int getKey() {
-        return key_;
+      public java.lang.String getKey() {
+        java.lang.Object ref = key_;
+        if (!(ref instanceof java.lang.String)) {
+          java.lang.String s = ((com.google.protobuf.ByteString) ref)
+              .toStringUtf8();
+          key_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
       }
       /**
-       * <code>required int32 key = 1;</code>
+       * <code>required string key = 1;</code>
        */
-      public Builder setKey(int value) {
-        bitField0_ |= 0x00000001;
+      public com.google.protobuf.ByteString
+          getKeyBytes() {
+        java.lang.Object ref = key_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          key_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>required string key = 1;</code>
+       */
+      public Builder setKey(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
         key_ = value;
         onChanged();
         return this;
       }
       /**
-       * <code>required int32 key = 1;</code>
+       * <code>required string key = 1;</code>
        */
       public Builder clearKey() {
         bitField0_ = (bitField0_ & ~0x00000001);
-        key_ = 0;
+        key_ = getDefaultInstance().getKey();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required string key = 1;</code>
+       */
+      public Builder setKeyBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000001;
+        key_ = value;
         onChanged();
         return this;
       }
@@ -2254,73 +2183,71 @@ public final class Core {
         return this;
       }
 
-      // @@protoc_insertion_point(builder_scope:com.complexible.common.protobuf.core.IntStringMapEntry)
+      // @@protoc_insertion_point(builder_scope:com.complexible.common.protobuf.core.StringMapEntry)
     }
 
     static {
-      defaultInstance = new IntStringMapEntry(true);
+      defaultInstance = new StringMapEntry(true);
       defaultInstance.initFields();
     }
 
-    // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.IntStringMapEntry)
+    // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.StringMapEntry)
   }
 
-  public interface StringMapOrBuilder
+  public interface IntStringMapEntryOrBuilder
       extends com.google.protobuf.MessageOrBuilder {
 
-    // repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;
+    // required int32 key = 1;
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     * <code>required int32 key = 1;</code>
      */
-    java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry> 
-        getValuesList();
+    boolean hasKey();
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     * <code>required int32 key = 1;</code>
      */
-    com.complexible.common.protobuf.core.Core.StringMapEntry getValues(int index);
+    int getKey();
+
+    // required string value = 2;
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     * <code>required string value = 2;</code>
      */
-    int getValuesCount();
+    boolean hasValue();
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     * <code>required string value = 2;</code>
      */
-    java.util.List<? extends com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder> 
-        getValuesOrBuilderList();
+    java.lang.String getValue();
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     * <code>required string value = 2;</code>
      */
-    com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder getValuesOrBuilder(
-        int index);
+    com.google.protobuf.ByteString
+        getValueBytes();
   }
   /**
-   * Protobuf type {@code com.complexible.common.protobuf.core.StringMap}
+   * Protobuf type {@code com.complexible.common.protobuf.core.IntStringMapEntry}
    *
    * <pre>
    **
-   * A set of key-value pairs which are strings.  Putting together all the key-value pairs gives us a basic
-   * representation of a Map&lt;String,String&gt; (or Properties) in Protobuf.
+   * Internal element of a IntStringMap, represents a single key-value pair
    *
-   * @see Map&lt;String, String&gt;
-   * @see Properties
+   * @see IntStringMap
    * </pre>
    */
-  public static final class StringMap extends
+  public static final class IntStringMapEntry extends
       com.google.protobuf.GeneratedMessage
-      implements StringMapOrBuilder {
-    // Use StringMap.newBuilder() to construct.
-    private StringMap(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      implements IntStringMapEntryOrBuilder {
+    // Use IntStringMapEntry.newBuilder() to construct.
+    private IntStringMapEntry(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private StringMap(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private IntStringMapEntry(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final StringMap defaultInstance;
-    public static StringMap getDefaultInstance() {
+    private static final IntStringMapEntry defaultInstance;
+    public static IntStringMapEntry getDefaultInstance() {
       return defaultInstance;
     }
 
-    public StringMap getDefaultInstanceForType() {
+    public IntStringMapEntry getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -2330,7 +2257,7 @@ public final class Core {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private StringMap(
+    private IntStringMapEntry(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -2353,12 +2280,14 @@ public final class Core {
               }
               break;
             }
-            case 10: {
-              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
-                values_ = new java.util.ArrayList<com.complexible.common.protobuf.core.Core.StringMapEntry>();
-                mutable_bitField0_ |= 0x00000001;
-              }
-              values_.add(input.readMessage(com.complexible.common.protobuf.core.Core.StringMapEntry.PARSER, extensionRegistry));
+            case 8: {
+              bitField0_ |= 0x00000001;
+              key_ = input.readInt32();
+              break;
+            }
+            case 18: {
+              bitField0_ |= 0x00000002;
+              value_ = input.readBytes();
               break;
             }
           }
@@ -2369,89 +2298,113 @@ public final class Core {
         throw new com.google.protobuf.InvalidProtocolBufferException(
             e.getMessage()).setUnfinishedMessage(this);
       } finally {
-        if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
-          values_ = java.util.Collections.unmodifiableList(values_);
-        }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
       }
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMap_descriptor;
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMap_fieldAccessorTable
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              com.complexible.common.protobuf.core.Core.StringMap.class, com.complexible.common.protobuf.core.Core.StringMap.Builder.class);
+              com.complexible.common.protobuf.core.Core.IntStringMapEntry.class, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<StringMap> PARSER =
-        new com.google.protobuf.AbstractParser<StringMap>() {
-      public StringMap parsePartialFrom(
+    public static com.google.protobuf.Parser<IntStringMapEntry> PARSER =
+        new com.google.protobuf.AbstractParser<IntStringMapEntry>() {
+      public IntStringMapEntry parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new StringMap(input, extensionRegistry);
+        return new IntStringMapEntry(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<StringMap> getParserForType() {
+    public com.google.protobuf.Parser<IntStringMapEntry> getParserForType() {
       return PARSER;
     }
 
-    // repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;
-    public static final int VALUES_FIELD_NUMBER = 1;
-    private java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry> values_;
+    private int bitField0_;
+    // required int32 key = 1;
+    public static final int KEY_FIELD_NUMBER = 1;
+    private int key_;
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     * <code>required int32 key = 1;</code>
      */
-    public java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry> getValuesList() {
-      return values_;
+    public boolean hasKey() {
+      return ((bitField0_ & 0x00000001) == 0x00000001);
     }
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     * <code>required int32 key = 1;</code>
      */
-    public java.util.List<? extends com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder> 
-        getValuesOrBuilderList() {
-      return values_;
+    public int getKey() {
+      return key_;
     }
+
+    // required string value = 2;
+    public static final int VALUE_FIELD_NUMBER = 2;
+    private java.lang.Object value_;
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     * <code>required string value = 2;</code>
      */
-    public int getValuesCount() {
-      return values_.size();
+    public boolean hasValue() {
+      return ((bitField0_ & 0x00000002) == 0x00000002);
     }
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     * <code>required string value = 2;</code>
      */
-    public com.complexible.common.protobuf.core.Core.StringMapEntry getValues(int index) {
-      return values_.get(index);
+    public java.lang.String getValue() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        return (java.lang.String) ref;
+      } else {
+        com.google.protobuf.ByteString bs = 
+            (com.google.protobuf.ByteString) ref;
+        java.lang.String s = bs.toStringUtf8();
+        if (bs.isValidUtf8()) {
+          value_ = s;
+        }
+        return s;
+      }
     }
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     * <code>required string value = 2;</code>
      */
-    public com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder getValuesOrBuilder(
-        int index) {
-      return values_.get(index);
+    public com.google.protobuf.ByteString
+        getValueBytes() {
+      java.lang.Object ref = value_;
+      if (ref instanceof java.lang.String) {
+        com.google.protobuf.ByteString b = 
+            com.google.protobuf.ByteString.copyFromUtf8(
+                (java.lang.String) ref);
+        value_ = b;
+        return b;
+      } else {
+        return (com.google.protobuf.ByteString) ref;
+      }
     }
 
     private void initFields() {
-      values_ = java.util.Collections.emptyList();
+      key_ = 0;
+      value_ = "";
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized != -1) return isInitialized == 1;
 
-      for (int i = 0; i < getValuesCount(); i++) {
-        if (!getValues(i).isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
-        }
+      if (!hasKey()) {
+        memoizedIsInitialized = 0;
+        return false;
+      }
+      if (!hasValue()) {
+        memoizedIsInitialized = 0;
+        return false;
       }
       memoizedIsInitialized = 1;
       return true;
@@ -2460,8 +2413,11 @@ public final class Core {
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
       getSerializedSize();
-      for (int i = 0; i < values_.size(); i++) {
-        output.writeMessage(1, values_.get(i));
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
+        output.writeInt32(1, key_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        output.writeBytes(2, getValueBytes());
       }
       getUnknownFields().writeTo(output);
     }
@@ -2472,9 +2428,13 @@ public final class Core {
       if (size != -1) return size;
 
       size = 0;
-      for (int i = 0; i < values_.size(); i++) {
+      if (((bitField0_ & 0x00000001) == 0x00000001)) {
         size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(1, values_.get(i));
+          .computeInt32Size(1, key_);
+      }
+      if (((bitField0_ & 0x00000002) == 0x00000002)) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeBytesSize(2, getValueBytes());
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -2488,53 +2448,1306 @@ public final class Core {
       return super.writeReplace();
     }
 
-    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(byte[] data)
+    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(java.io.InputStream input)
+    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
+        com.google.protobuf.CodedInputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.complexible.common.protobuf.core.Core.IntStringMapEntry parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.complexible.common.protobuf.core.Core.IntStringMapEntry prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code com.complexible.common.protobuf.core.IntStringMapEntry}
+     *
+     * <pre>
+     **
+     * Internal element of a IntStringMap, represents a single key-value pair
+     *
+     * @see IntStringMap
+     * </pre>
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.complexible.common.protobuf.core.Core.IntStringMapEntry.class, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder.class);
+      }
+
+      // Construct using com.complexible.common.protobuf.core.Core.IntStringMapEntry.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        key_ = 0;
+        bitField0_ = (bitField0_ & ~0x00000001);
+        value_ = "";
+        bitField0_ = (bitField0_ & ~0x00000002);
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_descriptor;
+      }
+
+      public com.complexible.common.protobuf.core.Core.IntStringMapEntry getDefaultInstanceForType() {
+        return com.complexible.common.protobuf.core.Core.IntStringMapEntry.getDefaultInstance();
+      }
+
+      public com.complexible.common.protobuf.core.Core.IntStringMapEntry build() {
+        com.complexible.common.protobuf.core.Core.IntStringMapEntry result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.complexible.common.protobuf.core.Core.IntStringMapEntry buildPartial() {
+        com.complexible.common.protobuf.core.Core.IntStringMapEntry result = new com.complexible.common.protobuf.core.Core.IntStringMapEntry(this);
+        int from_bitField0_ = bitField0_;
+        int to_bitField0_ = 0;
+        if (((from_bitField0_ & 0x00000001) == 0x00000001)) {
+          to_bitField0_ |= 0x00000001;
+        }
+        result.key_ = key_;
+        if (((from_bitField0_ & 0x00000002) == 0x00000002)) {
+          to_bitField0_ |= 0x00000002;
+        }
+        result.value_ = value_;
+        result.bitField0_ = to_bitField0_;
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.complexible.common.protobuf.core.Core.IntStringMapEntry) {
+          return mergeFrom((com.complexible.common.protobuf.core.Core.IntStringMapEntry)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.complexible.common.protobuf.core.Core.IntStringMapEntry other) {
+        if (other == com.complexible.common.protobuf.core.Core.IntStringMapEntry.getDefaultInstance()) return this;
+        if (other.hasKey()) {
+          setKey(other.getKey());
+        }
+        if (other.hasValue()) {
+          bitField0_ |= 0x00000002;
+          value_ = other.value_;
+          onChanged();
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        if (!hasKey()) {
+          
+          return false;
+        }
+        if (!hasValue()) {
+          
+          return false;
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.complexible.common.protobuf.core.Core.IntStringMapEntry parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.complexible.common.protobuf.core.Core.IntStringMapEntry) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // required int32 key = 1;
+      private int key_ ;
+      /**
+       * <code>required int32 key = 1;</code>
+       */
+      public boolean hasKey() {
+        return ((bitField0_ & 0x00000001) == 0x00000001);
+      }
+      /**
+       * <code>required int32 key = 1;</code>
+       */
+      public int getKey() {
+        return key_;
+      }
+      /**
+       * <code>required int32 key = 1;</code>
+       */
+      public Builder setKey(int value) {
+        bitField0_ |= 0x00000001;
+        key_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required int32 key = 1;</code>
+       */
+      public Builder clearKey() {
+        bitField0_ = (bitField0_ & ~0x00000001);
+        key_ = 0;
+        onChanged();
+        return this;
+      }
+
+      // required string value = 2;
+      private java.lang.Object value_ = "";
+      /**
+       * <code>required string value = 2;</code>
+       */
+      public boolean hasValue() {
+        return ((bitField0_ & 0x00000002) == 0x00000002);
+      }
+      /**
+       * <code>required string value = 2;</code>
+       */
+      public java.lang.String getValue() {
+        java.lang.Object ref = value_;
+        if (!(ref instanceof java.lang.String)) {
+          java.lang.String s = ((com.google.protobuf.ByteString) ref)
+              .toStringUtf8();
+          value_ = s;
+          return s;
+        } else {
+          return (java.lang.String) ref;
+        }
+      }
+      /**
+       * <code>required string value = 2;</code>
+       */
+      public com.google.protobuf.ByteString
+          getValueBytes() {
+        java.lang.Object ref = value_;
+        if (ref instanceof String) {
+          com.google.protobuf.ByteString b = 
+              com.google.protobuf.ByteString.copyFromUtf8(
+                  (java.lang.String) ref);
+          value_ = b;
+          return b;
+        } else {
+          return (com.google.protobuf.ByteString) ref;
+        }
+      }
+      /**
+       * <code>required string value = 2;</code>
+       */
+      public Builder setValue(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required string value = 2;</code>
+       */
+      public Builder clearValue() {
+        bitField0_ = (bitField0_ & ~0x00000002);
+        value_ = getDefaultInstance().getValue();
+        onChanged();
+        return this;
+      }
+      /**
+       * <code>required string value = 2;</code>
+       */
+      public Builder setValueBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  bitField0_ |= 0x00000002;
+        value_ = value;
+        onChanged();
+        return this;
+      }
+
+      // @@protoc_insertion_point(builder_scope:com.complexible.common.protobuf.core.IntStringMapEntry)
+    }
+
+    static {
+      defaultInstance = new IntStringMapEntry(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.IntStringMapEntry)
+  }
+
+  public interface StringMapOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     */
+    java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry> 
+        getValuesList();
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     */
+    com.complexible.common.protobuf.core.Core.StringMapEntry getValues(int index);
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     */
+    int getValuesCount();
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     */
+    java.util.List<? extends com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder> 
+        getValuesOrBuilderList();
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     */
+    com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder getValuesOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code com.complexible.common.protobuf.core.StringMap}
+   *
+   * <pre>
+   **
+   * A set of key-value pairs which are strings.  Putting together all the key-value pairs gives us a basic
+   * representation of a Map&lt;String,String&gt; (or Properties) in Protobuf.
+   *
+   * @see Map&lt;String, String&gt;
+   * @see Properties
+   * </pre>
+   */
+  public static final class StringMap extends
+      com.google.protobuf.GeneratedMessage
+      implements StringMapOrBuilder {
+    // Use StringMap.newBuilder() to construct.
+    private StringMap(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private StringMap(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final StringMap defaultInstance;
+    public static StringMap getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public StringMap getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private StringMap(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+                values_ = new java.util.ArrayList<com.complexible.common.protobuf.core.Core.StringMapEntry>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              values_.add(input.readMessage(com.complexible.common.protobuf.core.Core.StringMapEntry.PARSER, extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+          values_ = java.util.Collections.unmodifiableList(values_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMap_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMap_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.complexible.common.protobuf.core.Core.StringMap.class, com.complexible.common.protobuf.core.Core.StringMap.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<StringMap> PARSER =
+        new com.google.protobuf.AbstractParser<StringMap>() {
+      public StringMap parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new StringMap(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<StringMap> getParserForType() {
+      return PARSER;
+    }
+
+    // repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;
+    public static final int VALUES_FIELD_NUMBER = 1;
+    private java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry> values_;
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     */
+    public java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry> getValuesList() {
+      return values_;
+    }
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     */
+    public java.util.List<? extends com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder> 
+        getValuesOrBuilderList() {
+      return values_;
+    }
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     */
+    public int getValuesCount() {
+      return values_.size();
+    }
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     */
+    public com.complexible.common.protobuf.core.Core.StringMapEntry getValues(int index) {
+      return values_.get(index);
+    }
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+     */
+    public com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder getValuesOrBuilder(
+        int index) {
+      return values_.get(index);
+    }
+
+    private void initFields() {
+      values_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      for (int i = 0; i < getValuesCount(); i++) {
+        if (!getValues(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      for (int i = 0; i < values_.size(); i++) {
+        output.writeMessage(1, values_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < values_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, values_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+    public static com.complexible.common.protobuf.core.Core.StringMap parseDelimitedFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input);
+    }
+    public static com.complexible.common.protobuf.core.Core.StringMap parseDelimitedFrom(
+        java.io.InputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseDelimitedFrom(input, extensionRegistry);
+    }
+    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+        com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
     public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input, extensionRegistry);
+    }
+
+    public static Builder newBuilder() { return Builder.create(); }
+    public Builder newBuilderForType() { return newBuilder(); }
+    public static Builder newBuilder(com.complexible.common.protobuf.core.Core.StringMap prototype) {
+      return newBuilder().mergeFrom(prototype);
+    }
+    public Builder toBuilder() { return newBuilder(this); }
+
+    @java.lang.Override
+    protected Builder newBuilderForType(
+        com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+      Builder builder = new Builder(parent);
+      return builder;
+    }
+    /**
+     * Protobuf type {@code com.complexible.common.protobuf.core.StringMap}
+     *
+     * <pre>
+     **
+     * A set of key-value pairs which are strings.  Putting together all the key-value pairs gives us a basic
+     * representation of a Map&lt;String,String&gt; (or Properties) in Protobuf.
+     *
+     * @see Map&lt;String, String&gt;
+     * @see Properties
+     * </pre>
+     */
+    public static final class Builder extends
+        com.google.protobuf.GeneratedMessage.Builder<Builder>
+       implements com.complexible.common.protobuf.core.Core.StringMapOrBuilder {
+      public static final com.google.protobuf.Descriptors.Descriptor
+          getDescriptor() {
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMap_descriptor;
+      }
+
+      protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+          internalGetFieldAccessorTable() {
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMap_fieldAccessorTable
+            .ensureFieldAccessorsInitialized(
+                com.complexible.common.protobuf.core.Core.StringMap.class, com.complexible.common.protobuf.core.Core.StringMap.Builder.class);
+      }
+
+      // Construct using com.complexible.common.protobuf.core.Core.StringMap.newBuilder()
+      private Builder() {
+        maybeForceBuilderInitialization();
+      }
+
+      private Builder(
+          com.google.protobuf.GeneratedMessage.BuilderParent parent) {
+        super(parent);
+        maybeForceBuilderInitialization();
+      }
+      private void maybeForceBuilderInitialization() {
+        if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
+          getValuesFieldBuilder();
+        }
+      }
+      private static Builder create() {
+        return new Builder();
+      }
+
+      public Builder clear() {
+        super.clear();
+        if (valuesBuilder_ == null) {
+          values_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+        } else {
+          valuesBuilder_.clear();
+        }
+        return this;
+      }
+
+      public Builder clone() {
+        return create().mergeFrom(buildPartial());
+      }
+
+      public com.google.protobuf.Descriptors.Descriptor
+          getDescriptorForType() {
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMap_descriptor;
+      }
+
+      public com.complexible.common.protobuf.core.Core.StringMap getDefaultInstanceForType() {
+        return com.complexible.common.protobuf.core.Core.StringMap.getDefaultInstance();
+      }
+
+      public com.complexible.common.protobuf.core.Core.StringMap build() {
+        com.complexible.common.protobuf.core.Core.StringMap result = buildPartial();
+        if (!result.isInitialized()) {
+          throw newUninitializedMessageException(result);
+        }
+        return result;
+      }
+
+      public com.complexible.common.protobuf.core.Core.StringMap buildPartial() {
+        com.complexible.common.protobuf.core.Core.StringMap result = new com.complexible.common.protobuf.core.Core.StringMap(this);
+        int from_bitField0_ = bitField0_;
+        if (valuesBuilder_ == null) {
+          if (((bitField0_ & 0x00000001) == 0x00000001)) {
+            values_ = java.util.Collections.unmodifiableList(values_);
+            bitField0_ = (bitField0_ & ~0x00000001);
+          }
+          result.values_ = values_;
+        } else {
+          result.values_ = valuesBuilder_.build();
+        }
+        onBuilt();
+        return result;
+      }
+
+      public Builder mergeFrom(com.google.protobuf.Message other) {
+        if (other instanceof com.complexible.common.protobuf.core.Core.StringMap) {
+          return mergeFrom((com.complexible.common.protobuf.core.Core.StringMap)other);
+        } else {
+          super.mergeFrom(other);
+          return this;
+        }
+      }
+
+      public Builder mergeFrom(com.complexible.common.protobuf.core.Core.StringMap other) {
+        if (other == com.complexible.common.protobuf.core.Core.StringMap.getDefaultInstance()) return this;
+        if (valuesBuilder_ == null) {
+          if (!other.values_.isEmpty()) {
+            if (values_.isEmpty()) {
+              values_ = other.values_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+            } else {
+              ensureValuesIsMutable();
+              values_.addAll(other.values_);
+            }
+            onChanged();
+          }
+        } else {
+          if (!other.values_.isEmpty()) {
+            if (valuesBuilder_.isEmpty()) {
+              valuesBuilder_.dispose();
+              valuesBuilder_ = null;
+              values_ = other.values_;
+              bitField0_ = (bitField0_ & ~0x00000001);
+              valuesBuilder_ = 
+                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
+                   getValuesFieldBuilder() : null;
+            } else {
+              valuesBuilder_.addAllMessages(other.values_);
+            }
+          }
+        }
+        this.mergeUnknownFields(other.getUnknownFields());
+        return this;
+      }
+
+      public final boolean isInitialized() {
+        for (int i = 0; i < getValuesCount(); i++) {
+          if (!getValues(i).isInitialized()) {
+            
+            return false;
+          }
+        }
+        return true;
+      }
+
+      public Builder mergeFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws java.io.IOException {
+        com.complexible.common.protobuf.core.Core.StringMap parsedMessage = null;
+        try {
+          parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
+        } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+          parsedMessage = (com.complexible.common.protobuf.core.Core.StringMap) e.getUnfinishedMessage();
+          throw e;
+        } finally {
+          if (parsedMessage != null) {
+            mergeFrom(parsedMessage);
+          }
+        }
+        return this;
+      }
+      private int bitField0_;
+
+      // repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;
+      private java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry> values_ =
+        java.util.Collections.emptyList();
+      private void ensureValuesIsMutable() {
+        if (!((bitField0_ & 0x00000001) == 0x00000001)) {
+          values_ = new java.util.ArrayList<com.complexible.common.protobuf.core.Core.StringMapEntry>(values_);
+          bitField0_ |= 0x00000001;
+         }
+      }
+
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.complexible.common.protobuf.core.Core.StringMapEntry, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder, com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder> valuesBuilder_;
+
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry> getValuesList() {
+        if (valuesBuilder_ == null) {
+          return java.util.Collections.unmodifiableList(values_);
+        } else {
+          return valuesBuilder_.getMessageList();
+        }
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public int getValuesCount() {
+        if (valuesBuilder_ == null) {
+          return values_.size();
+        } else {
+          return valuesBuilder_.getCount();
+        }
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public com.complexible.common.protobuf.core.Core.StringMapEntry getValues(int index) {
+        if (valuesBuilder_ == null) {
+          return values_.get(index);
+        } else {
+          return valuesBuilder_.getMessage(index);
+        }
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public Builder setValues(
+          int index, com.complexible.common.protobuf.core.Core.StringMapEntry value) {
+        if (valuesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureValuesIsMutable();
+          values_.set(index, value);
+          onChanged();
+        } else {
+          valuesBuilder_.setMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public Builder setValues(
+          int index, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder builderForValue) {
+        if (valuesBuilder_ == null) {
+          ensureValuesIsMutable();
+          values_.set(index, builderForValue.build());
+          onChanged();
+        } else {
+          valuesBuilder_.setMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public Builder addValues(com.complexible.common.protobuf.core.Core.StringMapEntry value) {
+        if (valuesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureValuesIsMutable();
+          values_.add(value);
+          onChanged();
+        } else {
+          valuesBuilder_.addMessage(value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public Builder addValues(
+          int index, com.complexible.common.protobuf.core.Core.StringMapEntry value) {
+        if (valuesBuilder_ == null) {
+          if (value == null) {
+            throw new NullPointerException();
+          }
+          ensureValuesIsMutable();
+          values_.add(index, value);
+          onChanged();
+        } else {
+          valuesBuilder_.addMessage(index, value);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public Builder addValues(
+          com.complexible.common.protobuf.core.Core.StringMapEntry.Builder builderForValue) {
+        if (valuesBuilder_ == null) {
+          ensureValuesIsMutable();
+          values_.add(builderForValue.build());
+          onChanged();
+        } else {
+          valuesBuilder_.addMessage(builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public Builder addValues(
+          int index, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder builderForValue) {
+        if (valuesBuilder_ == null) {
+          ensureValuesIsMutable();
+          values_.add(index, builderForValue.build());
+          onChanged();
+        } else {
+          valuesBuilder_.addMessage(index, builderForValue.build());
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public Builder addAllValues(
+          java.lang.Iterable<? extends com.complexible.common.protobuf.core.Core.StringMapEntry> values) {
+        if (valuesBuilder_ == null) {
+          ensureValuesIsMutable();
+          super.addAll(values, values_);
+          onChanged();
+        } else {
+          valuesBuilder_.addAllMessages(values);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public Builder clearValues() {
+        if (valuesBuilder_ == null) {
+          values_ = java.util.Collections.emptyList();
+          bitField0_ = (bitField0_ & ~0x00000001);
+          onChanged();
+        } else {
+          valuesBuilder_.clear();
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public Builder removeValues(int index) {
+        if (valuesBuilder_ == null) {
+          ensureValuesIsMutable();
+          values_.remove(index);
+          onChanged();
+        } else {
+          valuesBuilder_.remove(index);
+        }
+        return this;
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public com.complexible.common.protobuf.core.Core.StringMapEntry.Builder getValuesBuilder(
+          int index) {
+        return getValuesFieldBuilder().getBuilder(index);
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder getValuesOrBuilder(
+          int index) {
+        if (valuesBuilder_ == null) {
+          return values_.get(index);  } else {
+          return valuesBuilder_.getMessageOrBuilder(index);
+        }
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public java.util.List<? extends com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder> 
+           getValuesOrBuilderList() {
+        if (valuesBuilder_ != null) {
+          return valuesBuilder_.getMessageOrBuilderList();
+        } else {
+          return java.util.Collections.unmodifiableList(values_);
+        }
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public com.complexible.common.protobuf.core.Core.StringMapEntry.Builder addValuesBuilder() {
+        return getValuesFieldBuilder().addBuilder(
+            com.complexible.common.protobuf.core.Core.StringMapEntry.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public com.complexible.common.protobuf.core.Core.StringMapEntry.Builder addValuesBuilder(
+          int index) {
+        return getValuesFieldBuilder().addBuilder(
+            index, com.complexible.common.protobuf.core.Core.StringMapEntry.getDefaultInstance());
+      }
+      /**
+       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       */
+      public java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry.Builder> 
+           getValuesBuilderList() {
+        return getValuesFieldBuilder().getBuilderList();
+      }
+      private com.google.protobuf.RepeatedFieldBuilder<
+          com.complexible.common.protobuf.core.Core.StringMapEntry, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder, com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder> 
+          getValuesFieldBuilder() {
+        if (valuesBuilder_ == null) {
+          valuesBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
+              com.complexible.common.protobuf.core.Core.StringMapEntry, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder, com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder>(
+                  values_,
+                  ((bitField0_ & 0x00000001) == 0x00000001),
+                  getParentForChildren(),
+                  isClean());
+          values_ = null;
+        }
+        return valuesBuilder_;
+      }
+
+      // @@protoc_insertion_point(builder_scope:com.complexible.common.protobuf.core.StringMap)
+    }
+
+    static {
+      defaultInstance = new StringMap(true);
+      defaultInstance.initFields();
+    }
+
+    // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.StringMap)
+  }
+
+  public interface IntStringMapOrBuilder
+      extends com.google.protobuf.MessageOrBuilder {
+
+    // repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     */
+    java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry> 
+        getValuesList();
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     */
+    com.complexible.common.protobuf.core.Core.IntStringMapEntry getValues(int index);
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     */
+    int getValuesCount();
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     */
+    java.util.List<? extends com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder> 
+        getValuesOrBuilderList();
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     */
+    com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder getValuesOrBuilder(
+        int index);
+  }
+  /**
+   * Protobuf type {@code com.complexible.common.protobuf.core.IntStringMap}
+   *
+   * <pre>
+   **
+   * 'Map' implementation whose keys are integers and the values are strings.
+   *
+   * @see Map&lt;Integer, String&gt;
+   * </pre>
+   */
+  public static final class IntStringMap extends
+      com.google.protobuf.GeneratedMessage
+      implements IntStringMapOrBuilder {
+    // Use IntStringMap.newBuilder() to construct.
+    private IntStringMap(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      super(builder);
+      this.unknownFields = builder.getUnknownFields();
+    }
+    private IntStringMap(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+
+    private static final IntStringMap defaultInstance;
+    public static IntStringMap getDefaultInstance() {
+      return defaultInstance;
+    }
+
+    public IntStringMap getDefaultInstanceForType() {
+      return defaultInstance;
+    }
+
+    private final com.google.protobuf.UnknownFieldSet unknownFields;
+    @java.lang.Override
+    public final com.google.protobuf.UnknownFieldSet
+        getUnknownFields() {
+      return this.unknownFields;
+    }
+    private IntStringMap(
+        com.google.protobuf.CodedInputStream input,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      initFields();
+      int mutable_bitField0_ = 0;
+      com.google.protobuf.UnknownFieldSet.Builder unknownFields =
+          com.google.protobuf.UnknownFieldSet.newBuilder();
+      try {
+        boolean done = false;
+        while (!done) {
+          int tag = input.readTag();
+          switch (tag) {
+            case 0:
+              done = true;
+              break;
+            default: {
+              if (!parseUnknownField(input, unknownFields,
+                                     extensionRegistry, tag)) {
+                done = true;
+              }
+              break;
+            }
+            case 10: {
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+                values_ = new java.util.ArrayList<com.complexible.common.protobuf.core.Core.IntStringMapEntry>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              values_.add(input.readMessage(com.complexible.common.protobuf.core.Core.IntStringMapEntry.PARSER, extensionRegistry));
+              break;
+            }
+          }
+        }
+      } catch (com.google.protobuf.InvalidProtocolBufferException e) {
+        throw e.setUnfinishedMessage(this);
+      } catch (java.io.IOException e) {
+        throw new com.google.protobuf.InvalidProtocolBufferException(
+            e.getMessage()).setUnfinishedMessage(this);
+      } finally {
+        if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
+          values_ = java.util.Collections.unmodifiableList(values_);
+        }
+        this.unknownFields = unknownFields.build();
+        makeExtensionsImmutable();
+      }
+    }
+    public static final com.google.protobuf.Descriptors.Descriptor
+        getDescriptor() {
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMap_descriptor;
+    }
+
+    protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
+        internalGetFieldAccessorTable() {
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMap_fieldAccessorTable
+          .ensureFieldAccessorsInitialized(
+              com.complexible.common.protobuf.core.Core.IntStringMap.class, com.complexible.common.protobuf.core.Core.IntStringMap.Builder.class);
+    }
+
+    public static com.google.protobuf.Parser<IntStringMap> PARSER =
+        new com.google.protobuf.AbstractParser<IntStringMap>() {
+      public IntStringMap parsePartialFrom(
+          com.google.protobuf.CodedInputStream input,
+          com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+          throws com.google.protobuf.InvalidProtocolBufferException {
+        return new IntStringMap(input, extensionRegistry);
+      }
+    };
+
+    @java.lang.Override
+    public com.google.protobuf.Parser<IntStringMap> getParserForType() {
+      return PARSER;
+    }
+
+    // repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;
+    public static final int VALUES_FIELD_NUMBER = 1;
+    private java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry> values_;
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     */
+    public java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry> getValuesList() {
+      return values_;
+    }
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     */
+    public java.util.List<? extends com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder> 
+        getValuesOrBuilderList() {
+      return values_;
+    }
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     */
+    public int getValuesCount() {
+      return values_.size();
+    }
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     */
+    public com.complexible.common.protobuf.core.Core.IntStringMapEntry getValues(int index) {
+      return values_.get(index);
+    }
+    /**
+     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     */
+    public com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder getValuesOrBuilder(
+        int index) {
+      return values_.get(index);
+    }
+
+    private void initFields() {
+      values_ = java.util.Collections.emptyList();
+    }
+    private byte memoizedIsInitialized = -1;
+    public final boolean isInitialized() {
+      byte isInitialized = memoizedIsInitialized;
+      if (isInitialized != -1) return isInitialized == 1;
+
+      for (int i = 0; i < getValuesCount(); i++) {
+        if (!getValues(i).isInitialized()) {
+          memoizedIsInitialized = 0;
+          return false;
+        }
+      }
+      memoizedIsInitialized = 1;
+      return true;
+    }
+
+    public void writeTo(com.google.protobuf.CodedOutputStream output)
+                        throws java.io.IOException {
+      getSerializedSize();
+      for (int i = 0; i < values_.size(); i++) {
+        output.writeMessage(1, values_.get(i));
+      }
+      getUnknownFields().writeTo(output);
+    }
+
+    private int memoizedSerializedSize = -1;
+    public int getSerializedSize() {
+      int size = memoizedSerializedSize;
+      if (size != -1) return size;
+
+      size = 0;
+      for (int i = 0; i < values_.size(); i++) {
+        size += com.google.protobuf.CodedOutputStream
+          .computeMessageSize(1, values_.get(i));
+      }
+      size += getUnknownFields().getSerializedSize();
+      memoizedSerializedSize = size;
+      return size;
+    }
+
+    private static final long serialVersionUID = 0L;
+    @java.lang.Override
+    protected java.lang.Object writeReplace()
+        throws java.io.ObjectStreamException {
+      return super.writeReplace();
+    }
+
+    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
+        com.google.protobuf.ByteString data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
+        com.google.protobuf.ByteString data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(byte[] data)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data);
+    }
+    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
+        byte[] data,
+        com.google.protobuf.ExtensionRegistryLite extensionRegistry)
+        throws com.google.protobuf.InvalidProtocolBufferException {
+      return PARSER.parseFrom(data, extensionRegistry);
+    }
+    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(java.io.InputStream input)
+        throws java.io.IOException {
+      return PARSER.parseFrom(input);
+    }
+    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMap parseDelimitedFrom(java.io.InputStream input)
+    public static com.complexible.common.protobuf.core.Core.IntStringMap parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMap parseDelimitedFrom(
+    public static com.complexible.common.protobuf.core.Core.IntStringMap parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.StringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -2543,7 +3756,7 @@ public final class Core {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.complexible.common.protobuf.core.Core.StringMap prototype) {
+    public static Builder newBuilder(com.complexible.common.protobuf.core.Core.IntStringMap prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -2555,33 +3768,31 @@ public final class Core {
       return builder;
     }
     /**
-     * Protobuf type {@code com.complexible.common.protobuf.core.StringMap}
+     * Protobuf type {@code com.complexible.common.protobuf.core.IntStringMap}
      *
      * <pre>
      **
-     * A set of key-value pairs which are strings.  Putting together all the key-value pairs gives us a basic
-     * representation of a Map&lt;String,String&gt; (or Properties) in Protobuf.
+     * 'Map' implementation whose keys are integers and the values are strings.
      *
-     * @see Map&lt;String, String&gt;
-     * @see Properties
+     * @see Map&lt;Integer, String&gt;
      * </pre>
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements com.complexible.common.protobuf.core.Core.StringMapOrBuilder {
+       implements com.complexible.common.protobuf.core.Core.IntStringMapOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMap_descriptor;
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMap_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMap_fieldAccessorTable
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMap_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                com.complexible.common.protobuf.core.Core.StringMap.class, com.complexible.common.protobuf.core.Core.StringMap.Builder.class);
+                com.complexible.common.protobuf.core.Core.IntStringMap.class, com.complexible.common.protobuf.core.Core.IntStringMap.Builder.class);
       }
 
-      // Construct using com.complexible.common.protobuf.core.Core.StringMap.newBuilder()
+      // Construct using com.complexible.common.protobuf.core.Core.IntStringMap.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -2617,23 +3828,23 @@ public final class Core {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_StringMap_descriptor;
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMap_descriptor;
       }
 
-      public com.complexible.common.protobuf.core.Core.StringMap getDefaultInstanceForType() {
-        return com.complexible.common.protobuf.core.Core.StringMap.getDefaultInstance();
+      public com.complexible.common.protobuf.core.Core.IntStringMap getDefaultInstanceForType() {
+        return com.complexible.common.protobuf.core.Core.IntStringMap.getDefaultInstance();
       }
 
-      public com.complexible.common.protobuf.core.Core.StringMap build() {
-        com.complexible.common.protobuf.core.Core.StringMap result = buildPartial();
+      public com.complexible.common.protobuf.core.Core.IntStringMap build() {
+        com.complexible.common.protobuf.core.Core.IntStringMap result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public com.complexible.common.protobuf.core.Core.StringMap buildPartial() {
-        com.complexible.common.protobuf.core.Core.StringMap result = new com.complexible.common.protobuf.core.Core.StringMap(this);
+      public com.complexible.common.protobuf.core.Core.IntStringMap buildPartial() {
+        com.complexible.common.protobuf.core.Core.IntStringMap result = new com.complexible.common.protobuf.core.Core.IntStringMap(this);
         int from_bitField0_ = bitField0_;
         if (valuesBuilder_ == null) {
           if (((bitField0_ & 0x00000001) == 0x00000001)) {
@@ -2649,16 +3860,16 @@ public final class Core {
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.complexible.common.protobuf.core.Core.StringMap) {
-          return mergeFrom((com.complexible.common.protobuf.core.Core.StringMap)other);
+        if (other instanceof com.complexible.common.protobuf.core.Core.IntStringMap) {
+          return mergeFrom((com.complexible.common.protobuf.core.Core.IntStringMap)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(com.complexible.common.protobuf.core.Core.StringMap other) {
-        if (other == com.complexible.common.protobuf.core.Core.StringMap.getDefaultInstance()) return this;
+      public Builder mergeFrom(com.complexible.common.protobuf.core.Core.IntStringMap other) {
+        if (other == com.complexible.common.protobuf.core.Core.IntStringMap.getDefaultInstance()) return this;
         if (valuesBuilder_ == null) {
           if (!other.values_.isEmpty()) {
             if (values_.isEmpty()) {
@@ -2703,11 +3914,11 @@ public final class Core {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        com.complexible.common.protobuf.core.Core.StringMap parsedMessage = null;
+        com.complexible.common.protobuf.core.Core.IntStringMap parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.complexible.common.protobuf.core.Core.StringMap) e.getUnfinishedMessage();
+          parsedMessage = (com.complexible.common.protobuf.core.Core.IntStringMap) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -2718,23 +3929,23 @@ public final class Core {
       }
       private int bitField0_;
 
-      // repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;
-      private java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry> values_ =
+      // repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;
+      private java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry> values_ =
         java.util.Collections.emptyList();
       private void ensureValuesIsMutable() {
         if (!((bitField0_ & 0x00000001) == 0x00000001)) {
-          values_ = new java.util.ArrayList<com.complexible.common.protobuf.core.Core.StringMapEntry>(values_);
+          values_ = new java.util.ArrayList<com.complexible.common.protobuf.core.Core.IntStringMapEntry>(values_);
           bitField0_ |= 0x00000001;
          }
       }
 
       private com.google.protobuf.RepeatedFieldBuilder<
-          com.complexible.common.protobuf.core.Core.StringMapEntry, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder, com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder> valuesBuilder_;
+          com.complexible.common.protobuf.core.Core.IntStringMapEntry, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder, com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder> valuesBuilder_;
 
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
-      public java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry> getValuesList() {
+      public java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry> getValuesList() {
         if (valuesBuilder_ == null) {
           return java.util.Collections.unmodifiableList(values_);
         } else {
@@ -2742,7 +3953,7 @@ public final class Core {
         }
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
       public int getValuesCount() {
         if (valuesBuilder_ == null) {
@@ -2752,9 +3963,9 @@ public final class Core {
         }
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
-      public com.complexible.common.protobuf.core.Core.StringMapEntry getValues(int index) {
+      public com.complexible.common.protobuf.core.Core.IntStringMapEntry getValues(int index) {
         if (valuesBuilder_ == null) {
           return values_.get(index);
         } else {
@@ -2762,10 +3973,10 @@ public final class Core {
         }
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
       public Builder setValues(
-          int index, com.complexible.common.protobuf.core.Core.StringMapEntry value) {
+          int index, com.complexible.common.protobuf.core.Core.IntStringMapEntry value) {
         if (valuesBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -2779,10 +3990,10 @@ public final class Core {
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
       public Builder setValues(
-          int index, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder builderForValue) {
+          int index, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder builderForValue) {
         if (valuesBuilder_ == null) {
           ensureValuesIsMutable();
           values_.set(index, builderForValue.build());
@@ -2793,9 +4004,9 @@ public final class Core {
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
-      public Builder addValues(com.complexible.common.protobuf.core.Core.StringMapEntry value) {
+      public Builder addValues(com.complexible.common.protobuf.core.Core.IntStringMapEntry value) {
         if (valuesBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -2809,10 +4020,10 @@ public final class Core {
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
       public Builder addValues(
-          int index, com.complexible.common.protobuf.core.Core.StringMapEntry value) {
+          int index, com.complexible.common.protobuf.core.Core.IntStringMapEntry value) {
         if (valuesBuilder_ == null) {
           if (value == null) {
             throw new NullPointerException();
@@ -2826,10 +4037,10 @@ public final class Core {
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
       public Builder addValues(
-          com.complexible.common.protobuf.core.Core.StringMapEntry.Builder builderForValue) {
+          com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder builderForValue) {
         if (valuesBuilder_ == null) {
           ensureValuesIsMutable();
           values_.add(builderForValue.build());
@@ -2840,10 +4051,10 @@ public final class Core {
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
       public Builder addValues(
-          int index, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder builderForValue) {
+          int index, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder builderForValue) {
         if (valuesBuilder_ == null) {
           ensureValuesIsMutable();
           values_.add(index, builderForValue.build());
@@ -2854,10 +4065,10 @@ public final class Core {
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
       public Builder addAllValues(
-          java.lang.Iterable<? extends com.complexible.common.protobuf.core.Core.StringMapEntry> values) {
+          java.lang.Iterable<? extends com.complexible.common.protobuf.core.Core.IntStringMapEntry> values) {
         if (valuesBuilder_ == null) {
           ensureValuesIsMutable();
           super.addAll(values, values_);
@@ -2868,7 +4079,7 @@ public final class Core {
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
       public Builder clearValues() {
         if (valuesBuilder_ == null) {
@@ -2881,7 +4092,7 @@ public final class Core {
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
       public Builder removeValues(int index) {
         if (valuesBuilder_ == null) {
@@ -2894,16 +4105,16 @@ public final class Core {
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
-      public com.complexible.common.protobuf.core.Core.StringMapEntry.Builder getValuesBuilder(
+      public com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder getValuesBuilder(
           int index) {
         return getValuesFieldBuilder().getBuilder(index);
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
-      public com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder getValuesOrBuilder(
+      public com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder getValuesOrBuilder(
           int index) {
         if (valuesBuilder_ == null) {
           return values_.get(index);  } else {
@@ -2911,9 +4122,9 @@ public final class Core {
         }
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
-      public java.util.List<? extends com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder> 
+      public java.util.List<? extends com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder> 
            getValuesOrBuilderList() {
         if (valuesBuilder_ != null) {
           return valuesBuilder_.getMessageOrBuilderList();
@@ -2922,33 +4133,33 @@ public final class Core {
         }
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
-      public com.complexible.common.protobuf.core.Core.StringMapEntry.Builder addValuesBuilder() {
+      public com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder addValuesBuilder() {
         return getValuesFieldBuilder().addBuilder(
-            com.complexible.common.protobuf.core.Core.StringMapEntry.getDefaultInstance());
+            com.complexible.common.protobuf.core.Core.IntStringMapEntry.getDefaultInstance());
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
-      public com.complexible.common.protobuf.core.Core.StringMapEntry.Builder addValuesBuilder(
+      public com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder addValuesBuilder(
           int index) {
         return getValuesFieldBuilder().addBuilder(
-            index, com.complexible.common.protobuf.core.Core.StringMapEntry.getDefaultInstance());
+            index, com.complexible.common.protobuf.core.Core.IntStringMapEntry.getDefaultInstance());
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.StringMapEntry values = 1;</code>
+       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
        */
-      public java.util.List<com.complexible.common.protobuf.core.Core.StringMapEntry.Builder> 
+      public java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder> 
            getValuesBuilderList() {
         return getValuesFieldBuilder().getBuilderList();
       }
       private com.google.protobuf.RepeatedFieldBuilder<
-          com.complexible.common.protobuf.core.Core.StringMapEntry, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder, com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder> 
+          com.complexible.common.protobuf.core.Core.IntStringMapEntry, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder, com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder> 
           getValuesFieldBuilder() {
         if (valuesBuilder_ == null) {
           valuesBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
-              com.complexible.common.protobuf.core.Core.StringMapEntry, com.complexible.common.protobuf.core.Core.StringMapEntry.Builder, com.complexible.common.protobuf.core.Core.StringMapEntryOrBuilder>(
+              com.complexible.common.protobuf.core.Core.IntStringMapEntry, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder, com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder>(
                   values_,
                   ((bitField0_ & 0x00000001) == 0x00000001),
                   getParentForChildren(),
@@ -2958,71 +4169,81 @@ public final class Core {
         return valuesBuilder_;
       }
 
-      // @@protoc_insertion_point(builder_scope:com.complexible.common.protobuf.core.StringMap)
+      // @@protoc_insertion_point(builder_scope:com.complexible.common.protobuf.core.IntStringMap)
     }
 
     static {
-      defaultInstance = new StringMap(true);
+      defaultInstance = new IntStringMap(true);
       defaultInstance.initFields();
     }
 
-    // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.StringMap)
+    // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.IntStringMap)
   }
 
-  public interface IntStringMapOrBuilder
+  public interface PackedIntStringMapOrBuilder
       extends com.google.protobuf.MessageOrBuilder {
 
-    // repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;
+    // repeated int32 keys = 1 [packed = true];
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     * <code>repeated int32 keys = 1 [packed = true];</code>
      */
-    java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry> 
-        getValuesList();
+    java.util.List<java.lang.Integer> getKeysList();
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     * <code>repeated int32 keys = 1 [packed = true];</code>
      */
-    com.complexible.common.protobuf.core.Core.IntStringMapEntry getValues(int index);
+    int getKeysCount();
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     * <code>repeated int32 keys = 1 [packed = true];</code>
+     */
+    int getKeys(int index);
+
+    // repeated string values = 2;
+    /**
+     * <code>repeated string values = 2;</code>
+     */
+    java.util.List<java.lang.String>
+    getValuesList();
+    /**
+     * <code>repeated string values = 2;</code>
      */
     int getValuesCount();
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     * <code>repeated string values = 2;</code>
      */
-    java.util.List<? extends com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder> 
-        getValuesOrBuilderList();
+    java.lang.String getValues(int index);
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     * <code>repeated string values = 2;</code>
      */
-    com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder getValuesOrBuilder(
-        int index);
+    com.google.protobuf.ByteString
+        getValuesBytes(int index);
   }
   /**
-   * Protobuf type {@code com.complexible.common.protobuf.core.IntStringMap}
+   * Protobuf type {@code com.complexible.common.protobuf.core.PackedIntStringMap}
    *
    * <pre>
    **
-   * 'Map' implementation whose keys are integers and the values are strings.
+   * A packed form of IntStringMap: the keys and values are parallel lists, the key at each position is mapped to the
+   * value at the same position.  Cheaper to encode and decode than an entry message per mapping.
    *
-   * @see Map&lt;Integer, String&gt;
+   * @see IntStringMap
    * </pre>
    */
-  public static final class IntStringMap extends
+  public static final class PackedIntStringMap extends
       com.google.protobuf.GeneratedMessage
-      implements IntStringMapOrBuilder {
-    // Use IntStringMap.newBuilder() to construct.
-    private IntStringMap(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
+      implements PackedIntStringMapOrBuilder {
+    // Use PackedIntStringMap.newBuilder() to construct.
+    private PackedIntStringMap(com.google.protobuf.GeneratedMessage.Builder<?> builder) {
       super(builder);
       this.unknownFields = builder.getUnknownFields();
     }
-    private IntStringMap(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
+    private PackedIntStringMap(boolean noInit) { this.unknownFields = com.google.protobuf.UnknownFieldSet.getDefaultInstance(); }
 
-    private static final IntStringMap defaultInstance;
-    public static IntStringMap getDefaultInstance() {
+    private static final PackedIntStringMap defaultInstance;
+    public static PackedIntStringMap getDefaultInstance() {
       return defaultInstance;
     }
 
-    public IntStringMap getDefaultInstanceForType() {
+    public PackedIntStringMap getDefaultInstanceForType() {
       return defaultInstance;
     }
 
@@ -3032,7 +4253,7 @@ public final class Core {
         getUnknownFields() {
       return this.unknownFields;
     }
-    private IntStringMap(
+    private PackedIntStringMap(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
@@ -3055,12 +4276,33 @@ public final class Core {
               }
               break;
             }
-            case 10: {
+            case 8: {
               if (!((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
-                values_ = new java.util.ArrayList<com.complexible.common.protobuf.core.Core.IntStringMapEntry>();
+                keys_ = new java.util.ArrayList<java.lang.Integer>();
                 mutable_bitField0_ |= 0x00000001;
               }
-              values_.add(input.readMessage(com.complexible.common.protobuf.core.Core.IntStringMapEntry.PARSER, extensionRegistry));
+              keys_.add(input.readInt32());
+              break;
+            }
+            case 10: {
+              int length = input.readRawVarint32();
+              int limit = input.pushLimit(length);
+              if (!((mutable_bitField0_ & 0x00000001) == 0x00000001) && input.getBytesUntilLimit() > 0) {
+                keys_ = new java.util.ArrayList<java.lang.Integer>();
+                mutable_bitField0_ |= 0x00000001;
+              }
+              while (input.getBytesUntilLimit() > 0) {
+                keys_.add(input.readInt32());
+              }
+              input.popLimit(limit);
+              break;
+            }
+            case 18: {
+              if (!((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+                values_ = new com.google.protobuf.LazyStringArrayList();
+                mutable_bitField0_ |= 0x00000002;
+              }
+              values_.add(input.readBytes());
               break;
             }
           }
@@ -3072,7 +4314,10 @@ public final class Core {
             e.getMessage()).setUnfinishedMessage(this);
       } finally {
         if (((mutable_bitField0_ & 0x00000001) == 0x00000001)) {
-          values_ = java.util.Collections.unmodifiableList(values_);
+          keys_ = java.util.Collections.unmodifiableList(keys_);
+        }
+        if (((mutable_bitField0_ & 0x00000002) == 0x00000002)) {
+          values_ = new com.google.protobuf.UnmodifiableLazyStringList(values_);
         }
         this.unknownFields = unknownFields.build();
         makeExtensionsImmutable();
@@ -3080,81 +4325,94 @@ public final class Core {
     }
     public static final com.google.protobuf.Descriptors.Descriptor
         getDescriptor() {
-      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMap_descriptor;
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_PackedIntStringMap_descriptor;
     }
 
     protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
         internalGetFieldAccessorTable() {
-      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMap_fieldAccessorTable
+      return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_PackedIntStringMap_fieldAccessorTable
           .ensureFieldAccessorsInitialized(
-              com.complexible.common.protobuf.core.Core.IntStringMap.class, com.complexible.common.protobuf.core.Core.IntStringMap.Builder.class);
+              com.complexible.common.protobuf.core.Core.PackedIntStringMap.class, com.complexible.common.protobuf.core.Core.PackedIntStringMap.Builder.class);
     }
 
-    public static com.google.protobuf.Parser<IntStringMap> PARSER =
-        new com.google.protobuf.AbstractParser<IntStringMap>() {
-      public IntStringMap parsePartialFrom(
+    public static com.google.protobuf.Parser<PackedIntStringMap> PARSER =
+        new com.google.protobuf.AbstractParser<PackedIntStringMap>() {
+      public PackedIntStringMap parsePartialFrom(
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws com.google.protobuf.InvalidProtocolBufferException {
-        return new IntStringMap(input, extensionRegistry);
+        return new PackedIntStringMap(input, extensionRegistry);
       }
     };
 
     @java.lang.Override
-    public com.google.protobuf.Parser<IntStringMap> getParserForType() {
+    public com.google.protobuf.Parser<PackedIntStringMap> getParserForType() {
       return PARSER;
     }
 
-    // repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;
-    public static final int VALUES_FIELD_NUMBER = 1;
-    private java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry> values_;
+    // repeated int32 keys = 1 [packed = true];
+    public static final int KEYS_FIELD_NUMBER = 1;
+    private java.util.List<java.lang.Integer> keys_;
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     * <code>repeated int32 keys = 1 [packed = true];</code>
      */
-    public java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry> getValuesList() {
-      return values_;
+    public java.util.List<java.lang.Integer>
+        getKeysList() {
+      return keys_;
     }
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     * <code>repeated int32 keys = 1 [packed = true];</code>
      */
-    public java.util.List<? extends com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder> 
-        getValuesOrBuilderList() {
+    public int getKeysCount() {
+      return keys_.size();
+    }
+    /**
+     * <code>repeated int32 keys = 1 [packed = true];</code>
+     */
+    public int getKeys(int index) {
+      return keys_.get(index);
+    }
+    private int keysMemoizedSerializedSize = -1;
+
+    // repeated string values = 2;
+    public static final int VALUES_FIELD_NUMBER = 2;
+    private com.google.protobuf.LazyStringList values_;
+    /**
+     * <code>repeated string values = 2;</code>
+     */
+    public java.util.List<java.lang.String>
+        getValuesList() {
       return values_;
     }
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     * <code>repeated string values = 2;</code>
      */
     public int getValuesCount() {
       return values_.size();
     }
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     * <code>repeated string values = 2;</code>
      */
-    public com.complexible.common.protobuf.core.Core.IntStringMapEntry getValues(int index) {
+    public java.lang.String getValues(int index) {
       return values_.get(index);
     }
     /**
-     * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+     * <code>repeated string values = 2;</code>
      */
-    public com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder getValuesOrBuilder(
-        int index) {
-      return values_.get(index);
+    public com.google.protobuf.ByteString
+        getValuesBytes(int index) {
+      return values_.getByteString(index);
     }
 
     private void initFields() {
-      values_ = java.util.Collections.emptyList();
+      keys_ = java.util.Collections.emptyList();
+      values_ = com.google.protobuf.LazyStringArrayList.EMPTY;
     }
     private byte memoizedIsInitialized = -1;
     public final boolean isInitialized() {
       byte isInitialized = memoizedIsInitialized;
       if (isInitialized != -1) return isInitialized == 1;
 
-      for (int i = 0; i < getValuesCount(); i++) {
-        if (!getValues(i).isInitialized()) {
-          memoizedIsInitialized = 0;
-          return false;
-        }
-      }
       memoizedIsInitialized = 1;
       return true;
     }
@@ -3162,8 +4420,15 @@ public final class Core {
     public void writeTo(com.google.protobuf.CodedOutputStream output)
                         throws java.io.IOException {
       getSerializedSize();
+      if (getKeysList().size() > 0) {
+        output.writeRawVarint32(10);
+        output.writeRawVarint32(keysMemoizedSerializedSize);
+      }
+      for (int i = 0; i < keys_.size(); i++) {
+        output.writeInt32NoTag(keys_.get(i));
+      }
       for (int i = 0; i < values_.size(); i++) {
-        output.writeMessage(1, values_.get(i));
+        output.writeBytes(2, values_.getByteString(i));
       }
       getUnknownFields().writeTo(output);
     }
@@ -3174,9 +4439,28 @@ public final class Core {
       if (size != -1) return size;
 
       size = 0;
-      for (int i = 0; i < values_.size(); i++) {
-        size += com.google.protobuf.CodedOutputStream
-          .computeMessageSize(1, values_.get(i));
+      {
+        int dataSize = 0;
+        for (int i = 0; i < keys_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeInt32SizeNoTag(keys_.get(i));
+        }
+        size += dataSize;
+        if (!getKeysList().isEmpty()) {
+          size += 1;
+          size += com.google.protobuf.CodedOutputStream
+              .computeInt32SizeNoTag(dataSize);
+        }
+        keysMemoizedSerializedSize = dataSize;
+      }
+      {
+        int dataSize = 0;
+        for (int i = 0; i < values_.size(); i++) {
+          dataSize += com.google.protobuf.CodedOutputStream
+            .computeBytesSizeNoTag(values_.getByteString(i));
+        }
+        size += dataSize;
+        size += 1 * getValuesList().size();
       }
       size += getUnknownFields().getSerializedSize();
       memoizedSerializedSize = size;
@@ -3190,53 +4474,53 @@ public final class Core {
       return super.writeReplace();
     }
 
-    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.PackedIntStringMap parseFrom(
         com.google.protobuf.ByteString data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.PackedIntStringMap parseFrom(
         com.google.protobuf.ByteString data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(byte[] data)
+    public static com.complexible.common.protobuf.core.Core.PackedIntStringMap parseFrom(byte[] data)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.PackedIntStringMap parseFrom(
         byte[] data,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws com.google.protobuf.InvalidProtocolBufferException {
       return PARSER.parseFrom(data, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(java.io.InputStream input)
+    public static com.complexible.common.protobuf.core.Core.PackedIntStringMap parseFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.PackedIntStringMap parseFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseFrom(input, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMap parseDelimitedFrom(java.io.InputStream input)
+    public static com.complexible.common.protobuf.core.Core.PackedIntStringMap parseDelimitedFrom(java.io.InputStream input)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMap parseDelimitedFrom(
+    public static com.complexible.common.protobuf.core.Core.PackedIntStringMap parseDelimitedFrom(
         java.io.InputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
       return PARSER.parseDelimitedFrom(input, extensionRegistry);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.PackedIntStringMap parseFrom(
         com.google.protobuf.CodedInputStream input)
         throws java.io.IOException {
       return PARSER.parseFrom(input);
     }
-    public static com.complexible.common.protobuf.core.Core.IntStringMap parseFrom(
+    public static com.complexible.common.protobuf.core.Core.PackedIntStringMap parseFrom(
         com.google.protobuf.CodedInputStream input,
         com.google.protobuf.ExtensionRegistryLite extensionRegistry)
         throws java.io.IOException {
@@ -3245,7 +4529,7 @@ public final class Core {
 
     public static Builder newBuilder() { return Builder.create(); }
     public Builder newBuilderForType() { return newBuilder(); }
-    public static Builder newBuilder(com.complexible.common.protobuf.core.Core.IntStringMap prototype) {
+    public static Builder newBuilder(com.complexible.common.protobuf.core.Core.PackedIntStringMap prototype) {
       return newBuilder().mergeFrom(prototype);
     }
     public Builder toBuilder() { return newBuilder(this); }
@@ -3257,31 +4541,32 @@ public final class Core {
       return builder;
     }
     /**
-     * Protobuf type {@code com.complexible.common.protobuf.core.IntStringMap}
+     * Protobuf type {@code com.complexible.common.protobuf.core.PackedIntStringMap}
      *
      * <pre>
      **
-     * 'Map' implementation whose keys are integers and the values are strings.
+     * A packed form of IntStringMap: the keys and values are parallel lists, the key at each position is mapped to the
+     * value at the same position.  Cheaper to encode and decode than an entry message per mapping.
      *
-     * @see Map&lt;Integer, String&gt;
+     * @see IntStringMap
      * </pre>
      */
     public static final class Builder extends
         com.google.protobuf.GeneratedMessage.Builder<Builder>
-       implements com.complexible.common.protobuf.core.Core.IntStringMapOrBuilder {
+       implements com.complexible.common.protobuf.core.Core.PackedIntStringMapOrBuilder {
       public static final com.google.protobuf.Descriptors.Descriptor
           getDescriptor() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMap_descriptor;
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_PackedIntStringMap_descriptor;
       }
 
       protected com.google.protobuf.GeneratedMessage.FieldAccessorTable
           internalGetFieldAccessorTable() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMap_fieldAccessorTable
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_PackedIntStringMap_fieldAccessorTable
             .ensureFieldAccessorsInitialized(
-                com.complexible.common.protobuf.core.Core.IntStringMap.class, com.complexible.common.protobuf.core.Core.IntStringMap.Builder.class);
+                com.complexible.common.protobuf.core.Core.PackedIntStringMap.class, com.complexible.common.protobuf.core.Core.PackedIntStringMap.Builder.class);
       }
 
-      // Construct using com.complexible.common.protobuf.core.Core.IntStringMap.newBuilder()
+      // Construct using com.complexible.common.protobuf.core.Core.PackedIntStringMap.newBuilder()
       private Builder() {
         maybeForceBuilderInitialization();
       }
@@ -3293,7 +4578,6 @@ public final class Core {
       }
       private void maybeForceBuilderInitialization() {
         if (com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders) {
-          getValuesFieldBuilder();
         }
       }
       private static Builder create() {
@@ -3302,12 +4586,10 @@ public final class Core {
 
       public Builder clear() {
         super.clear();
-        if (valuesBuilder_ == null) {
-          values_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00000001);
-        } else {
-          valuesBuilder_.clear();
-        }
+        keys_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        values_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
         return this;
       }
 
@@ -3317,85 +4599,75 @@ public final class Core {
 
       public com.google.protobuf.Descriptors.Descriptor
           getDescriptorForType() {
-        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_IntStringMap_descriptor;
+        return com.complexible.common.protobuf.core.Core.internal_static_com_complexible_common_protobuf_core_PackedIntStringMap_descriptor;
       }
 
-      public com.complexible.common.protobuf.core.Core.IntStringMap getDefaultInstanceForType() {
-        return com.complexible.common.protobuf.core.Core.IntStringMap.getDefaultInstance();
+      public com.complexible.common.protobuf.core.Core.PackedIntStringMap getDefaultInstanceForType() {
+        return com.complexible.common.protobuf.core.Core.PackedIntStringMap.getDefaultInstance();
       }
 
-      public com.complexible.common.protobuf.core.Core.IntStringMap build() {
-        com.complexible.common.protobuf.core.Core.IntStringMap result = buildPartial();
+      public com.complexible.common.protobuf.core.Core.PackedIntStringMap build() {
+        com.complexible.common.protobuf.core.Core.PackedIntStringMap result = buildPartial();
         if (!result.isInitialized()) {
           throw newUninitializedMessageException(result);
         }
         return result;
       }
 
-      public com.complexible.common.protobuf.core.Core.IntStringMap buildPartial() {
-        com.complexible.common.protobuf.core.Core.IntStringMap result = new com.complexible.common.protobuf.core.Core.IntStringMap(this);
+      public com.complexible.common.protobuf.core.Core.PackedIntStringMap buildPartial() {
+        com.complexible.common.protobuf.core.Core.PackedIntStringMap result = new com.complexible.common.protobuf.core.Core.PackedIntStringMap(this);
         int from_bitField0_ = bitField0_;
-        if (valuesBuilder_ == null) {
-          if (((bitField0_ & 0x00000001) == 0x00000001)) {
-            values_ = java.util.Collections.unmodifiableList(values_);
-            bitField0_ = (bitField0_ & ~0x00000001);
-          }
-          result.values_ = values_;
-        } else {
-          result.values_ = valuesBuilder_.build();
+        if (((bitField0_ & 0x00000001) == 0x00000001)) {
+          keys_ = java.util.Collections.unmodifiableList(keys_);
+          bitField0_ = (bitField0_ & ~0x00000001);
         }
+        result.keys_ = keys_;
+        if (((bitField0_ & 0x00000002) == 0x00000002)) {
+          values_ = new com.google.protobuf.UnmodifiableLazyStringList(
+              values_);
+          bitField0_ = (bitField0_ & ~0x00000002);
+        }
+        result.values_ = values_;
         onBuilt();
         return result;
       }
 
       public Builder mergeFrom(com.google.protobuf.Message other) {
-        if (other instanceof com.complexible.common.protobuf.core.Core.IntStringMap) {
-          return mergeFrom((com.complexible.common.protobuf.core.Core.IntStringMap)other);
+        if (other instanceof com.complexible.common.protobuf.core.Core.PackedIntStringMap) {
+          return mergeFrom((com.complexible.common.protobuf.core.Core.PackedIntStringMap)other);
         } else {
           super.mergeFrom(other);
           return this;
         }
       }
 
-      public Builder mergeFrom(com.complexible.common.protobuf.core.Core.IntStringMap other) {
-        if (other == com.complexible.common.protobuf.core.Core.IntStringMap.getDefaultInstance()) return this;
-        if (valuesBuilder_ == null) {
-          if (!other.values_.isEmpty()) {
-            if (values_.isEmpty()) {
-              values_ = other.values_;
-              bitField0_ = (bitField0_ & ~0x00000001);
-            } else {
-              ensureValuesIsMutable();
-              values_.addAll(other.values_);
-            }
-            onChanged();
-          }
-        } else {
-          if (!other.values_.isEmpty()) {
-            if (valuesBuilder_.isEmpty()) {
-              valuesBuilder_.dispose();
-              valuesBuilder_ = null;
-              values_ = other.values_;
-              bitField0_ = (bitField0_ & ~0x00000001);
-              valuesBuilder_ = 
-                com.google.protobuf.GeneratedMessage.alwaysUseFieldBuilders ?
-                   getValuesFieldBuilder() : null;
-            } else {
-              valuesBuilder_.addAllMessages(other.values_);
-            }
+      public Builder mergeFrom(com.complexible.common.protobuf.core.Core.PackedIntStringMap other) {
+        if (other == com.complexible.common.protobuf.core.Core.PackedIntStringMap.getDefaultInstance()) return this;
+        if (!other.keys_.isEmpty()) {
+          if (keys_.isEmpty()) {
+            keys_ = other.keys_;
+            bitField0_ = (bitField0_ & ~0x00000001);
+          } else {
+            ensureKeysIsMutable();
+            keys_.addAll(other.keys_);
+          }
+          onChanged();
+        }
+        if (!other.values_.isEmpty()) {
+          if (values_.isEmpty()) {
+            values_ = other.values_;
+            bitField0_ = (bitField0_ & ~0x00000002);
+          } else {
+            ensureValuesIsMutable();
+            values_.addAll(other.values_);
           }
+          onChanged();
         }
         this.mergeUnknownFields(other.getUnknownFields());
         return this;
       }
 
       public final boolean isInitialized() {
-        for (int i = 0; i < getValuesCount(); i++) {
-          if (!getValues(i).isInitialized()) {
-            
-            return false;
-          }
-        }
         return true;
       }
 
@@ -3403,11 +4675,11 @@ public final class Core {
           com.google.protobuf.CodedInputStream input,
           com.google.protobuf.ExtensionRegistryLite extensionRegistry)
           throws java.io.IOException {
-        com.complexible.common.protobuf.core.Core.IntStringMap parsedMessage = null;
+        com.complexible.common.protobuf.core.Core.PackedIntStringMap parsedMessage = null;
         try {
           parsedMessage = PARSER.parsePartialFrom(input, extensionRegistry);
         } catch (com.google.protobuf.InvalidProtocolBufferException e) {
-          parsedMessage = (com.complexible.common.protobuf.core.Core.IntStringMap) e.getUnfinishedMessage();
+          parsedMessage = (com.complexible.common.protobuf.core.Core.PackedIntStringMap) e.getUnfinishedMessage();
           throw e;
         } finally {
           if (parsedMessage != null) {
@@ -3418,255 +4690,174 @@ public final class Core {
       }
       private int bitField0_;
 
-      // repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;
-      private java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry> values_ =
-        java.util.Collections.emptyList();
-      private void ensureValuesIsMutable() {
+      // repeated int32 keys = 1 [packed = true];
+      private java.util.List<java.lang.Integer> keys_ = java.util.Collections.emptyList();
+      private void ensureKeysIsMutable() {
         if (!((bitField0_ & 0x00000001) == 0x00000001)) {
-          values_ = new java.util.ArrayList<com.complexible.common.protobuf.core.Core.IntStringMapEntry>(values_);
+          keys_ = new java.util.ArrayList<java.lang.Integer>(keys_);
           bitField0_ |= 0x00000001;
          }
       }
-
-      private com.google.protobuf.RepeatedFieldBuilder<
-          com.complexible.common.protobuf.core.Core.IntStringMapEntry, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder, com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder> valuesBuilder_;
-
-      /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
-       */
-      public java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry> getValuesList() {
-        if (valuesBuilder_ == null) {
-          return java.util.Collections.unmodifiableList(values_);
-        } else {
-          return valuesBuilder_.getMessageList();
-        }
-      }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated int32 keys = 1 [packed = true];</code>
        */
-      public int getValuesCount() {
-        if (valuesBuilder_ == null) {
-          return values_.size();
-        } else {
-          return valuesBuilder_.getCount();
-        }
+      public java.util.List<java.lang.Integer>
+          getKeysList() {
+        return java.util.Collections.unmodifiableList(keys_);
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated int32 keys = 1 [packed = true];</code>
        */
-      public com.complexible.common.protobuf.core.Core.IntStringMapEntry getValues(int index) {
-        if (valuesBuilder_ == null) {
-          return values_.get(index);
-        } else {
-          return valuesBuilder_.getMessage(index);
-        }
+      public int getKeysCount() {
+        return keys_.size();
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated int32 keys = 1 [packed = true];</code>
        */
-      public Builder setValues(
-          int index, com.complexible.common.protobuf.core.Core.IntStringMapEntry value) {
-        if (valuesBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureValuesIsMutable();
-          values_.set(index, value);
-          onChanged();
-        } else {
-          valuesBuilder_.setMessage(index, value);
-        }
-        return this;
+      public int getKeys(int index) {
+        return keys_.get(index);
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated int32 keys = 1 [packed = true];</code>
        */
-      public Builder setValues(
-          int index, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder builderForValue) {
-        if (valuesBuilder_ == null) {
-          ensureValuesIsMutable();
-          values_.set(index, builderForValue.build());
-          onChanged();
-        } else {
-          valuesBuilder_.setMessage(index, builderForValue.build());
-        }
+      public Builder setKeys(
+          int index, int value) {
+        ensureKeysIsMutable();
+        keys_.set(index, value);
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated int32 keys = 1 [packed = true];</code>
        */
-      public Builder addValues(com.complexible.common.protobuf.core.Core.IntStringMapEntry value) {
-        if (valuesBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureValuesIsMutable();
-          values_.add(value);
-          onChanged();
-        } else {
-          valuesBuilder_.addMessage(value);
-        }
+      public Builder addKeys(int value) {
+        ensureKeysIsMutable();
+        keys_.add(value);
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated int32 keys = 1 [packed = true];</code>
        */
-      public Builder addValues(
-          int index, com.complexible.common.protobuf.core.Core.IntStringMapEntry value) {
-        if (valuesBuilder_ == null) {
-          if (value == null) {
-            throw new NullPointerException();
-          }
-          ensureValuesIsMutable();
-          values_.add(index, value);
-          onChanged();
-        } else {
-          valuesBuilder_.addMessage(index, value);
-        }
+      public Builder addAllKeys(
+          java.lang.Iterable<? extends java.lang.Integer> values) {
+        ensureKeysIsMutable();
+        super.addAll(values, keys_);
+        onChanged();
         return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated int32 keys = 1 [packed = true];</code>
        */
-      public Builder addValues(
-          com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder builderForValue) {
-        if (valuesBuilder_ == null) {
-          ensureValuesIsMutable();
-          values_.add(builderForValue.build());
-          onChanged();
-        } else {
-          valuesBuilder_.addMessage(builderForValue.build());
-        }
+      public Builder clearKeys() {
+        keys_ = java.util.Collections.emptyList();
+        bitField0_ = (bitField0_ & ~0x00000001);
+        onChanged();
         return this;
       }
-      /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
-       */
-      public Builder addValues(
-          int index, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder builderForValue) {
-        if (valuesBuilder_ == null) {
-          ensureValuesIsMutable();
-          values_.add(index, builderForValue.build());
-          onChanged();
-        } else {
-          valuesBuilder_.addMessage(index, builderForValue.build());
-        }
-        return this;
+
+      // repeated string values = 2;
+      private com.google.protobuf.LazyStringList values_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+      private void ensureValuesIsMutable() {
+        if (!((bitField0_ & 0x00000002) == 0x00000002)) {
+          values_ = new com.google.protobuf.LazyStringArrayList(values_);
+          bitField0_ |= 0x00000002;
+         }
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated string values = 2;</code>
        */
-      public Builder addAllValues(
-          java.lang.Iterable<? extends com.complexible.common.protobuf.core.Core.IntStringMapEntry> values) {
-        if (valuesBuilder_ == null) {
-          ensureValuesIsMutable();
-          super.addAll(values, values_);
-          onChanged();
-        } else {
-          valuesBuilder_.addAllMessages(values);
-        }
-        return this;
+      public java.util.List<java.lang.String>
+          getValuesList() {
+        return java.util.Collections.unmodifiableList(values_);
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated string values = 2;</code>
        */
-      public Builder clearValues() {
-        if (valuesBuilder_ == null) {
-          values_ = java.util.Collections.emptyList();
-          bitField0_ = (bitField0_ & ~0x00000001);
-          onChanged();
-        } else {
-          valuesBuilder_.clear();
-        }
-        return this;
+      public int getValuesCount() {
+        return values_.size();
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated string values = 2;</code>
        */
-      public Builder removeValues(int index) {
-        if (valuesBuilder_ == null) {
-          ensureValuesIsMutable();
-          values_.remove(index);
-          onChanged();
-        } else {
-          valuesBuilder_.remove(index);
-        }
-        return this;
+      public java.lang.String getValues(int index) {
+        return values_.get(index);
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated string values = 2;</code>
        */
-      public com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder getValuesBuilder(
-          int index) {
-        return getValuesFieldBuilder().getBuilder(index);
+      public com.google.protobuf.ByteString
+          getValuesBytes(int index) {
+        return values_.getByteString(index);
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated string values = 2;</code>
        */
-      public com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder getValuesOrBuilder(
-          int index) {
-        if (valuesBuilder_ == null) {
-          return values_.get(index);  } else {
-          return valuesBuilder_.getMessageOrBuilder(index);
-        }
+      public Builder setValues(
+          int index, java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureValuesIsMutable();
+        values_.set(index, value);
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated string values = 2;</code>
        */
-      public java.util.List<? extends com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder> 
-           getValuesOrBuilderList() {
-        if (valuesBuilder_ != null) {
-          return valuesBuilder_.getMessageOrBuilderList();
-        } else {
-          return java.util.Collections.unmodifiableList(values_);
-        }
+      public Builder addValues(
+          java.lang.String value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureValuesIsMutable();
+        values_.add(value);
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated string values = 2;</code>
        */
-      public com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder addValuesBuilder() {
-        return getValuesFieldBuilder().addBuilder(
-            com.complexible.common.protobuf.core.Core.IntStringMapEntry.getDefaultInstance());
+      public Builder addAllValues(
+          java.lang.Iterable<java.lang.String> values) {
+        ensureValuesIsMutable();
+        super.addAll(values, values_);
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated string values = 2;</code>
        */
-      public com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder addValuesBuilder(
-          int index) {
-        return getValuesFieldBuilder().addBuilder(
-            index, com.complexible.common.protobuf.core.Core.IntStringMapEntry.getDefaultInstance());
+      public Builder clearValues() {
+        values_ = com.google.protobuf.LazyStringArrayList.EMPTY;
+        bitField0_ = (bitField0_ & ~0x00000002);
+        onChanged();
+        return this;
       }
       /**
-       * <code>repeated .com.complexible.common.protobuf.core.IntStringMapEntry values = 1;</code>
+       * <code>repeated string values = 2;</code>
        */
-      public java.util.List<com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder> 
-           getValuesBuilderList() {
-        return getValuesFieldBuilder().getBuilderList();
-      }
-      private com.google.protobuf.RepeatedFieldBuilder<
-          com.complexible.common.protobuf.core.Core.IntStringMapEntry, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder, com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder> 
-          getValuesFieldBuilder() {
-        if (valuesBuilder_ == null) {
-          valuesBuilder_ = new com.google.protobuf.RepeatedFieldBuilder<
-              com.complexible.common.protobuf.core.Core.IntStringMapEntry, com.complexible.common.protobuf.core.Core.IntStringMapEntry.Builder, com.complexible.common.protobuf.core.Core.IntStringMapEntryOrBuilder>(
-                  values_,
-                  ((bitField0_ & 0x00000001) == 0x00000001),
-                  getParentForChildren(),
-                  isClean());
-          values_ = null;
-        }
-        return valuesBuilder_;
+      public Builder addValuesBytes(
+          com.google.protobuf.ByteString value) {
+        if (value == null) {
+    throw new NullPointerException();
+  }
+  ensureValuesIsMutable();
+        values_.add(value);
+        onChanged();
+        return this;
       }
 
-      // @@protoc_insertion_point(builder_scope:com.complexible.common.protobuf.core.IntStringMap)
+      // @@protoc_insertion_point(builder_scope:com.complexible.common.protobuf.core.PackedIntStringMap)
     }
 
     static {
-      defaultInstance = new IntStringMap(true);
+      defaultInstance = new PackedIntStringMap(true);
       defaultInstance.initFields();
     }
 
-    // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.IntStringMap)
+    // @@protoc_insertion_point(class_scope:com.complexible.common.protobuf.core.PackedIntStringMap)
   }
 
   private static com.google.protobuf.Descriptors.Descriptor
@@ -3679,6 +4870,11 @@ public final class Core {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_com_complexible_common_protobuf_core_UID_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_complexible_common_protobuf_core_FixedUID_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_complexible_common_protobuf_core_FixedUID_fieldAccessorTable;
   private static com.google.protobuf.Descriptors.Descriptor
     internal_static_com_complexible_common_protobuf_core_StringMapEntry_descriptor;
   private static
@@ -3699,6 +4895,11 @@ public final class Core {
   private static
     com.google.protobuf.GeneratedMessage.FieldAccessorTable
       internal_static_com_complexible_common_protobuf_core_IntStringMap_fieldAccessorTable;
+  private static com.google.protobuf.Descriptors.Descriptor
+    internal_static_com_complexible_common_protobuf_core_PackedIntStringMap_descriptor;
+  private static
+    com.google.protobuf.GeneratedMessage.FieldAccessorTable
+      internal_static_com_complexible_common_protobuf_core_PackedIntStringMap_fieldAccessorTable;
 
   public static com.google.protobuf.Descriptors.FileDescriptor
       getDescriptor() {
@@ -3711,14 +4912,17 @@ public final class Core {
       "\n\ncore.proto\022$com.complexible.common.pro" +
       "tobuf.core\" \n\rListOfStrings\022\017\n\007strings\030\001" +
       " \003(\t\"0\n\003UID\022\023\n\013mostSigBits\030\001 \002(\003\022\024\n\014leas" +
-      "tSigBits\030\002 \002(\003\",\n\016StringMapEntry\022\013\n\003key\030" +
-      "\001 \002(\t\022\r\n\005value\030\002 \002(\t\"/\n\021IntStringMapEntr" +
-      "y\022\013\n\003key\030\001 \002(\005\022\r\n\005value\030\002 \002(\t\"Q\n\tStringM" +
-      "ap\022D\n\006values\030\001 \003(\01324.com.complexible.com" +
-      "mon.protobuf.core.StringMapEntry\"W\n\014IntS" +
-      "tringMap\022G\n\006values\030\001 \003(\01327.com.complexib" +
-      "le.common.protobuf.core.IntStringMapEntr",
-      "yB\010B\004CoreH\001"
+      "tSigBits\030\002 \002(\003\"5\n\010FixedUID\022\023\n\013mostSigBit" +
+      "s\030\001 \002(\006\022\024\n\014leastSigBits\030\002 \002(\006\",\n\016StringM" +
+      "apEntry\022\013\n\003key\030\001 \002(\t\022\r\n\005value\030\002 \002(\t\"/\n\021I" +
+      "ntStringMapEntry\022\013\n\003key\030\001 \002(\005\022\r\n\005value\030\002" +
+      " \002(\t\"Q\n\tStringMap\022D\n\006values\030\001 \003(\01324.com." +
+      "complexible.common.protobuf.core.StringM" +
+      "apEntry\"W\n\014IntStringMap\022G\n\006values\030\001 \003(\0132",
+      "7.com.complexible.common.protobuf.core.I" +
+      "ntStringMapEntry\"6\n\022PackedIntStringMap\022\020" +
+      "\n\004keys\030\001 \003(\005B\002\020\001\022\016\n\006values\030\002 \003(\tB\010B\004Core" +
+      "H\001"
     };
     com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner assigner =
       new com.google.protobuf.Descriptors.FileDescriptor.InternalDescriptorAssigner() {
@@ -3737,30 +4941,42 @@ public final class Core {
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_complexible_common_protobuf_core_UID_descriptor,
               new java.lang.String[] { "MostSigBits", "LeastSigBits", });
-          internal_static_com_complexible_common_protobuf_core_StringMapEntry_descriptor =
+          internal_static_com_complexible_common_protobuf_core_FixedUID_descriptor =
             getDescriptor().getMessageTypes().get(2);
+          internal_static_com_complexible_common_protobuf_core_FixedUID_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_complexible_common_protobuf_core_FixedUID_descriptor,
+              new java.lang.String[] { "MostSigBits", "LeastSigBits", });
+          internal_static_com_complexible_common_protobuf_core_StringMapEntry_descriptor =
+            getDescriptor().getMessageTypes().get(3);
           internal_static_com_complexible_common_protobuf_core_StringMapEntry_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_complexible_common_protobuf_core_StringMapEntry_descriptor,
               new java.lang.String[] { "Key", "Value", });
           internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_descriptor =
-            getDescriptor().getMessageTypes().get(3);
+            getDescriptor().getMessageTypes().get(4);
           internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_complexible_common_protobuf_core_IntStringMapEntry_descriptor,
               new java.lang.String[] { "Key", "Value", });
           internal_static_com_complexible_common_protobuf_core_StringMap_descriptor =
-            getDescriptor().getMessageTypes().get(4);
+            getDescriptor().getMessageTypes().get(5);
           internal_static_com_complexible_common_protobuf_core_StringMap_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_complexible_common_protobuf_core_StringMap_descriptor,
               new java.lang.String[] { "Values", });
           internal_static_com_complexible_common_protobuf_core_IntStringMap_descriptor =
-            getDescriptor().getMessageTypes().get(5);
+            getDescriptor().getMessageTypes().get(6);
           internal_static_com_complexible_common_protobuf_core_IntStringMap_fieldAccessorTable = new
             com.google.protobuf.GeneratedMessage.FieldAccessorTable(
               internal_static_com_complexible_common_protobuf_core_IntStringMap_descriptor,
               new java.lang.String[] { "Values", });
+          internal_static_com_complexible_common_protobuf_core_PackedIntStringMap_descriptor =
+            getDescriptor().getMessageTypes().get(7);
+          internal_static_com_complexible_common_protobuf_core_PackedIntStringMap_fieldAccessorTable = new
+            com.google.protobuf.GeneratedMessage.FieldAccessorTable(
+              internal_static_com_complexible_common_protobuf_core_PackedIntStringMap_descriptor,
+              new java.lang.String[] { "Keys", "Values", });
           return null;
         }
       };
@@ -15,18 +15,32 @@
 
 package com.complexible.common.protobuf.core;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.UUID;
 
+import com.complexible.common.collect.IntObjectHashMap;
+
 import com.google.common.base.Charsets;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.WireFormat;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 /**
  * <p>Utility class for converting between {@link Core protobuf objects} and their Java equivalents, and vice versa.</p>
@@ -37,6 +51,54 @@ import com.google.protobuf.ByteString;
  */
 public final class Cores {
 
+    /**
+     * Maps of up to this many entries are searched with a scan, which is cheaper than building and caching a view
+     */
+    private static final int SCAN_THRESHOLD = 8;
+
+    private static final int KEYS_TAG = Core.PackedIntStringMap.KEYS_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_VARINT;
+
+    private static final int PACKED_KEYS_TAG = Core.PackedIntStringMap.KEYS_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
+    private static final int VALUES_TAG = Core.PackedIntStringMap.VALUES_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_LENGTH_DELIMITED;
+
+    private static final int MOST_SIG_BITS_TAG = Core.FixedUID.MOSTSIGBITS_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_FIXED64;
+
+    private static final int LEAST_SIG_BITS_TAG = Core.FixedUID.LEASTSIGBITS_FIELD_NUMBER << 3 | WireFormat.WIRETYPE_FIXED64;
+
+    /**
+     * The encoded size of a FixedUID; two one byte tags and two fixed64s
+     */
+    private static final int FIXED_UID_SIZE = 2 * (1 + 8);
+
+    /**
+     * Views of map messages.  Weak keys are compared by identity, and the views do not reference the messages, so a
+     * view is dropped along with its message.
+     */
+    private static final LoadingCache<Core.StringMap, MapView<String, Core.StringMapEntry>> STRING_MAP_VIEWS =
+        CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .build(new CacheLoader<Core.StringMap, MapView<String, Core.StringMapEntry>>() {
+                        @Override
+                        public MapView<String, Core.StringMapEntry> load(final Core.StringMap theMap) {
+                            return new MapView<String, Core.StringMapEntry>(theMap.getValuesList(),
+                                                                            Core.StringMapEntry::getKey,
+                                                                            Core.StringMapEntry::getValue);
+                        }
+                    });
+
+    private static final LoadingCache<Core.IntStringMap, MapView<Integer, Core.IntStringMapEntry>> INT_STRING_MAP_VIEWS =
+        CacheBuilder.newBuilder()
+                    .weakKeys()
+                    .build(new CacheLoader<Core.IntStringMap, MapView<Integer, Core.IntStringMapEntry>>() {
+                        @Override
+                        public MapView<Integer, Core.IntStringMapEntry> load(final Core.IntStringMap theMap) {
+                            return new MapView<Integer, Core.IntStringMapEntry>(theMap.getValuesList(),
+                                                                                Core.IntStringMapEntry::getKey,
+                                                                                Core.IntStringMapEntry::getValue);
+                        }
+                    });
+
     /**
      * No instances
      */
@@ -65,6 +127,88 @@ public final class Cores {
             .build();
     }
 
+    /**
+     * Create a new FixedUID from the given UUID
+     *
+     * @param theId the UUID
+     * @return      the FixedUID corresponding to the UUID
+     */
+    public static Core.FixedUID fixedUid(final UUID theId) {
+        return Core.FixedUID.newBuilder()
+            .setMostSigBits(theId.getMostSignificantBits())
+            .setLeastSigBits(theId.getLeastSignificantBits())
+            .build();
+    }
+
+    /**
+     * Write the UUID as a {@link Core.FixedUID} field of the message being written, without creating the message.  The
+     * result is the same as writing a {@link #fixedUid(UUID) FixedUID} with {@link CodedOutputStream#writeMessage}, so
+     * it can be parsed by a generated message with a FixedUID field, or read back with {@link #readFixedUID}.
+     *
+     * @param theOutput         the stream to write to
+     * @param theFieldNumber    the number of the field
+     * @param theId             the id to write
+     *
+     * @throws IOException  if there was an error writing
+     */
+    public static void writeFixedUID(final CodedOutputStream theOutput, final int theFieldNumber, final UUID theId) throws IOException {
+        theOutput.writeTag(theFieldNumber, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        theOutput.writeRawVarint32(FIXED_UID_SIZE);
+        theOutput.writeFixed64(Core.FixedUID.MOSTSIGBITS_FIELD_NUMBER, theId.getMostSignificantBits());
+        theOutput.writeFixed64(Core.FixedUID.LEASTSIGBITS_FIELD_NUMBER, theId.getLeastSignificantBits());
+    }
+
+    /**
+     * Read a {@link Core.FixedUID} field, as written by {@link #writeFixedUID}, directly as a UUID.  The field's tag
+     * must already have been read.
+     *
+     * @param theInput  the stream to read from
+     * @param theCache  the cache to intern the id with, or null
+     * @return          the id
+     *
+     * @throws IOException  if there was an error reading, or the field is not a valid FixedUID
+     */
+    public static UUID readFixedUID(final CodedInputStream theInput, final UUIDCache theCache) throws IOException {
+        final int aLimit = theInput.pushLimit(theInput.readRawVarint32());
+
+        long aMostSigBits = 0;
+        long aLeastSigBits = 0;
+        int aFound = 0;
+
+        int aTag;
+        while ((aTag = theInput.readTag()) != 0) {
+            if (aTag == MOST_SIG_BITS_TAG) {
+                aMostSigBits = theInput.readFixed64();
+                aFound |= 1;
+            }
+            else if (aTag == LEAST_SIG_BITS_TAG) {
+                aLeastSigBits = theInput.readFixed64();
+                aFound |= 2;
+            }
+            else if (!theInput.skipField(aTag)) {
+                break;
+            }
+        }
+
+        theInput.checkLastTagWas(0);
+        theInput.popLimit(aLimit);
+
+        if (aFound != 3) {
+            throw new InvalidProtocolBufferException("FixedUID is missing required fields");
+        }
+
+        return uuid(aMostSigBits, aLeastSigBits, theCache);
+    }
+
+    /**
+     * Set the property, returning a new map.  Each call rebuilds the message; to make several changes at once, use
+     * {@link #edit(Core.StringMap)}.
+     *
+     * @param theMap    the map
+     * @param theKey    the key
+     * @param theValue  the value
+     * @return          a copy of the map with the property set
+     */
     public static Core.StringMap setProperty(final Core.StringMap theMap, final String theKey, final String theValue) {
         Core.StringMapEntry aNewEntry = Core.StringMapEntry
                                          .newBuilder()
@@ -72,15 +216,12 @@ public final class Cores {
                                          .setValue(theValue)
                                          .build();
 
-        int i = 0;
-        for (Core.StringMapEntry aEntry : theMap.getValuesList()) {
-            if (aEntry.getKey().equals(theKey)) {
-                return theMap.toBuilder()
-                             .setValues(i, aNewEntry)
-                             .build();
-            }
+        final int aIndex = scan(theMap, theKey);
 
-            i++;
+        if (aIndex != -1) {
+            return theMap.toBuilder()
+                         .setValues(aIndex, aNewEntry)
+                         .build();
         }
 
         return theMap.toBuilder()
@@ -88,39 +229,99 @@ public final class Cores {
                      .build();
     }
 
+    /**
+     * Remove the property, returning a new map.  Each call rebuilds the message; to make several changes at once, use
+     * {@link #edit(Core.StringMap)}.
+     *
+     * @param theMap    the map
+     * @param theKey    the key
+     * @return          a copy of the map without the property, or the map itself if it does not have the property
+     */
     public static Core.StringMap removeProperty(final Core.StringMap theMap, final String theKey) {
-        int i = 0;
-        for (Core.StringMapEntry aEntry : theMap.getValuesList()) {
-            if (aEntry.getKey().equals(theKey)) {
-                return theMap.toBuilder()
-                             .removeValues(i)
-                             .build();
-            }
+        final int aIndex = scan(theMap, theKey);
 
-            i++;
+        if (aIndex != -1) {
+            return theMap.toBuilder()
+                         .removeValues(aIndex)
+                         .build();
         }
 
         return theMap;
     }
 
     public static String getProperty(final Core.StringMap theMap, final String theKey, final String theDefault) {
-        for (Core.StringMapEntry aEntry : theMap.getValuesList()) {
-            if (aEntry.getKey().equals(theKey)) {
-                return aEntry.getValue();
-            }
-        }
+        final int aIndex = indexOf(theMap, theKey);
 
-        return theDefault;
+        return aIndex == -1
+               ? theDefault
+               : theMap.getValues(aIndex).getValue();
     }
 
     public static boolean getProperty(final Core.StringMap theMap, final String theKey, final boolean theDefault) {
-        for (Core.StringMapEntry aEntry : theMap.getValuesList()) {
-            if (aEntry.getKey().equals(theKey)) {
-                return Boolean.getBoolean(aEntry.getValue());
+        final int aIndex = indexOf(theMap, theKey);
+
+        return aIndex == -1
+               ? theDefault
+               : Boolean.parseBoolean(theMap.getValues(aIndex).getValue());
+    }
+
+    /**
+     * Return a read-only {@link Map} view of the StringMap with constant time lookups.  The view is built on first use
+     * and cached for as long as the message is reachable, so repeated lookups against the same message do not rebuild
+     * it.  If a key appears more than once, its first value is used, as with {@link #getProperty}.
+     *
+     * @param theMap    the map
+     * @return          the view
+     */
+    public static Map<String, String> asMap(final Core.StringMap theMap) {
+        return STRING_MAP_VIEWS.getUnchecked(theMap);
+    }
+
+    /**
+     * Return a read-only {@link Map} view of the IntStringMap with constant time lookups, cached as with
+     * {@link #asMap(Core.StringMap)}
+     *
+     * @param theMap    the map
+     * @return          the view
+     */
+    public static Map<Integer, String> asMap(final Core.IntStringMap theMap) {
+        return INT_STRING_MAP_VIEWS.getUnchecked(theMap);
+    }
+
+    /**
+     * Return an editor which applies any number of changes to the map with a single rebuild of the message
+     *
+     * @param theMap    the map to edit
+     * @return          the editor
+     */
+    public static StringMapEditor edit(final Core.StringMap theMap) {
+        return new StringMapEditor(theMap);
+    }
+
+    /**
+     * Return the position of the first entry with the key, or -1 if there is none.  Small maps are scanned, larger ones
+     * use the cached view.
+     */
+    private static int indexOf(final Core.StringMap theMap, final String theKey) {
+        if (theMap.getValuesCount() <= SCAN_THRESHOLD) {
+            return scan(theMap, theKey);
+        }
+
+        return STRING_MAP_VIEWS.getUnchecked(theMap).indexOf(theKey);
+    }
+
+    /**
+     * Return the position of the first entry with the key, or -1 if there is none, without building a view.  Used by
+     * the methods which rebuild the message, since a view of the map they are given would not be used again.
+     */
+    private static int scan(final Core.StringMap theMap, final String theKey) {
+        for (int i = 0; i < theMap.getValuesCount(); i++) {
+            if (theMap.getValues(i).getKey().equals(theKey)) {
+                return i;
             }
         }
 
-        return theDefault;
+        return -1;
     }
 
     public static ByteString toByteString(final String theString) {
@@ -175,17 +376,171 @@ public final class Cores {
     }
 
     public static Core.IntStringMap toIntStringMap(final Map<Integer, String> theMap) {
-        final List<Core.IntStringMapEntry> aEntries = Lists.newArrayList();
+        final Core.IntStringMap.Builder aBuilder = Core.IntStringMap.newBuilder();
 
         for (Map.Entry<Integer, String> aEntry : theMap.entrySet()) {
-            aEntries.add(Core.IntStringMapEntry
-                             .newBuilder()
-                             .setKey(aEntry.getKey())
-                             .setValue(aEntry.getValue())
-                             .build());
+            aBuilder.addValues(Core.IntStringMapEntry
+                                   .newBuilder()
+                                   .setKey(aEntry.getKey())
+                                   .setValue(aEntry.getValue())
+                                   .build());
+        }
+
+        return aBuilder.build();
+    }
+
+    public static Core.IntStringMap toIntStringMap(final IntObjectHashMap<String> theMap) {
+        final Core.IntStringMap.Builder aBuilder = Core.IntStringMap.newBuilder();
+        final Core.IntStringMapEntry.Builder aEntry = Core.IntStringMapEntry.newBuilder();
+
+        theMap.forEach((theKey, theValue) -> aBuilder.addValues(aEntry.setKey(theKey)
+                                                                      .setValue(theValue)
+                                                                      .build()));
+
+        return aBuilder.build();
+    }
+
+    public static IntObjectHashMap<String> toIntObjectMap(final Core.IntStringMap theMap) {
+        final IntObjectHashMap<String> aMap = new IntObjectHashMap<String>(theMap.getValuesCount());
+
+        for (Core.IntStringMapEntry aEntry : theMap.getValuesList()) {
+            aMap.put(aEntry.getKey(), aEntry.getValue());
+        }
+
+        return aMap;
+    }
+
+    /**
+     * Convert the map to its packed form.  The generated message keeps its keys in a list of boxed integers; to avoid
+     * that altogether, use {@link #writePackedIntStringMap} and {@link #readPackedIntStringMap}.
+     *
+     * @param theMap    the map
+     * @return          the packed map
+     */
+    public static Core.PackedIntStringMap toPackedIntStringMap(final IntObjectHashMap<String> theMap) {
+        final Core.PackedIntStringMap.Builder aBuilder = Core.PackedIntStringMap.newBuilder();
+
+        theMap.forEach((theKey, theValue) -> {
+            aBuilder.addKeys(theKey);
+            aBuilder.addValues(theValue);
+        });
+
+        return aBuilder.build();
+    }
+
+    public static IntObjectHashMap<String> toIntObjectMap(final Core.PackedIntStringMap theMap) {
+        checkArgument(theMap.getKeysCount() == theMap.getValuesCount(),
+                      "Packed map has %s keys, but %s values", theMap.getKeysCount(), theMap.getValuesCount());
+
+        final IntObjectHashMap<String> aMap = new IntObjectHashMap<String>(theMap.getKeysCount());
+
+        for (int i = 0; i < theMap.getKeysCount(); i++) {
+            aMap.put(theMap.getKeys(i), theMap.getValues(i));
+        }
+
+        return aMap;
+    }
+
+    /**
+     * Write the map as the fields of a {@link Core.PackedIntStringMap}, directly from the primitive keys rather than
+     * through the generated message.  What is written can be parsed as a PackedIntStringMap, or read back with
+     * {@link #readPackedIntStringMap}.
+     *
+     * @param theMap    the map to write
+     * @param theOutput the stream to write to
+     *
+     * @throws IOException  if there was an error writing
+     */
+    public static void writePackedIntStringMap(final IntObjectHashMap<String> theMap, final CodedOutputStream theOutput) throws IOException {
+        if (theMap.isEmpty()) {
+            return;
+        }
+
+        final int[] aKeys = theMap.keys();
+
+        int aKeysSize = 0;
+        for (int aKey : aKeys) {
+            aKeysSize += CodedOutputStream.computeInt32SizeNoTag(aKey);
+        }
+
+        theOutput.writeTag(Core.PackedIntStringMap.KEYS_FIELD_NUMBER, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+        theOutput.writeRawVarint32(aKeysSize);
+        for (int aKey : aKeys) {
+            theOutput.writeInt32NoTag(aKey);
+        }
+
+        // values are visited in the same order as the keys
+        try {
+            theMap.forEach((theKey, theValue) -> {
+                try {
+                    theOutput.writeString(Core.PackedIntStringMap.VALUES_FIELD_NUMBER, theValue);
+                }
+                catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Read the fields of a {@link Core.PackedIntStringMap} from the stream directly into a map, without creating the
+     * generated message.  Reads until the end of the stream, or its current {@link CodedInputStream#pushLimit limit}.
+     * If a key appears more than once, its last value is kept.
+     *
+     * @param theInput  the stream to read from
+     * @return          the map
+     *
+     * @throws IOException  if there was an error reading, or the stream does not hold a valid PackedIntStringMap
+     */
+    public static IntObjectHashMap<String> readPackedIntStringMap(final CodedInputStream theInput) throws IOException {
+        int[] aKeys = new int[16];
+        int aKeyCount = 0;
+
+        final List<String> aValues = Lists.newArrayList();
+
+        int aTag;
+        while ((aTag = theInput.readTag()) != 0) {
+            if (aTag == PACKED_KEYS_TAG) {
+                final int aLimit = theInput.pushLimit(theInput.readRawVarint32());
+
+                while (theInput.getBytesUntilLimit() > 0) {
+                    if (aKeyCount == aKeys.length) {
+                        aKeys = Arrays.copyOf(aKeys, aKeys.length * 2);
+                    }
+                    aKeys[aKeyCount++] = theInput.readInt32();
+                }
+
+                theInput.popLimit(aLimit);
+            }
+            else if (aTag == KEYS_TAG) {
+                // parsers must accept unpacked repeated fields as well
+                if (aKeyCount == aKeys.length) {
+                    aKeys = Arrays.copyOf(aKeys, aKeys.length * 2);
+                }
+                aKeys[aKeyCount++] = theInput.readInt32();
+            }
+            else if (aTag == VALUES_TAG) {
+                aValues.add(theInput.readString());
+            }
+            else if (!theInput.skipField(aTag)) {
+                break;
+            }
         }
 
-        return Core.IntStringMap.newBuilder().addAllValues(aEntries).build();
+        if (aKeyCount != aValues.size()) {
+            throw new InvalidProtocolBufferException(String.format("Packed map has %s keys, but %s values", aKeyCount, aValues.size()));
+        }
+
+        final IntObjectHashMap<String> aMap = new IntObjectHashMap<String>(aKeyCount);
+
+        for (int i = 0; i < aKeyCount; i++) {
+            aMap.put(aKeys[i], aValues.get(i));
+        }
+
+        return aMap;
     }
 
     /**
@@ -202,6 +557,51 @@ public final class Cores {
         }
     }
 
+    /**
+     * Create a UUID from the Protobuf UID, interning it with the cache
+     * @param theId     the id
+     * @param theCache  the cache to intern the id with, or null
+     * @return          the resulting UUID
+     */
+    public static UUID uuid(final Core.UID theId, final UUIDCache theCache) {
+        if (theId == null) {
+            return null;
+        }
+        else {
+            return uuid(theId.getMostSigBits(), theId.getLeastSigBits(), theCache);
+        }
+    }
+
+    /**
+     * Create a UUID from the Protobuf FixedUID
+     * @param theId the id
+     * @return      the resulting UUID
+     */
+    public static UUID uuid(final Core.FixedUID theId) {
+        return uuid(theId, null);
+    }
+
+    /**
+     * Create a UUID from the Protobuf FixedUID, interning it with the cache
+     * @param theId     the id
+     * @param theCache  the cache to intern the id with, or null
+     * @return          the resulting UUID
+     */
+    public static UUID uuid(final Core.FixedUID theId, final UUIDCache theCache) {
+        if (theId == null) {
+            return null;
+        }
+        else {
+            return uuid(theId.getMostSigBits(), theId.getLeastSigBits(), theCache);
+        }
+    }
+
+    private static UUID uuid(final long theMostSigBits, final long theLeastSigBits, final UUIDCache theCache) {
+        return theCache == null
+               ? new UUID(theMostSigBits, theLeastSigBits)
+               : theCache.get(theMostSigBits, theLeastSigBits);
+    }
+
     /**
      * Convert a Protobuf byte array into a char array
      * @param theBytes	the protobuf byte array
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.protobuf.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Maps;
+
+/**
+ * <p>A read-only, hashed {@link Map} view over the repeated entries of a map message, eg {@link Core.StringMap}.  If a
+ * key appears more than once, the first entry for it wins, as with {@link Cores#getProperty}.</p>
+ *
+ * <p>The view only holds the entry list, not the message itself, so it can be cached against the message with weak
+ * keys.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+final class MapView<K, E> extends AbstractMap<K, String> {
+    private final List<E> mEntries;
+
+    private final Function<E, String> mValue;
+
+    /**
+     * The position of the first entry for each key, in message order
+     */
+    private final Map<K, Integer> mIndex;
+
+    MapView(final List<E> theEntries, final Function<E, K> theKey, final Function<E, String> theValue) {
+        mEntries = theEntries;
+        mValue = theValue;
+        mIndex = Maps.newLinkedHashMap();
+
+        for (int i = 0; i < theEntries.size(); i++) {
+            mIndex.putIfAbsent(theKey.apply(theEntries.get(i)), i);
+        }
+    }
+
+    /**
+     * Return the position of the first entry with the key, or -1 if there is none
+     */
+    int indexOf(final Object theKey) {
+        final Integer aIndex = mIndex.get(theKey);
+        return aIndex == null ? -1 : aIndex;
+    }
+
+    @Override
+    public String get(final Object theKey) {
+        final int aIndex = indexOf(theKey);
+        return aIndex == -1 ? null : mValue.apply(mEntries.get(aIndex));
+    }
+
+    @Override
+    public boolean containsKey(final Object theKey) {
+        return mIndex.containsKey(theKey);
+    }
+
+    @Override
+    public int size() {
+        return mIndex.size();
+    }
+
+    @Override
+    public Set<K> keySet() {
+        return Collections.unmodifiableSet(mIndex.keySet());
+    }
+
+    @Override
+    public Set<Entry<K, String>> entrySet() {
+        return new AbstractSet<Entry<K, String>>() {
+            @Override
+            public Iterator<Entry<K, String>> iterator() {
+                final Iterator<Entry<K, Integer>> aIndexEntries = mIndex.entrySet().iterator();
+
+                return Iterators.unmodifiableIterator(Iterators.transform(aIndexEntries, theEntry -> {
+                    final String aValue = mValue.apply(mEntries.get(theEntry.getValue()));
+                    return new SimpleImmutableEntry<K, String>(theEntry.getKey(), aValue);
+                }));
+            }
+
+            @Override
+            public int size() {
+                return mIndex.size();
+            }
+        };
+    }
+}
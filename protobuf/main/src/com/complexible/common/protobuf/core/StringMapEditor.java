@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.protobuf.core;
+
+import java.util.Map;
+
+import com.google.common.collect.Maps;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+/**
+ * <p>Batches changes to a {@link Core.StringMap} so that any number of puts and removes cost a single rebuild of the
+ * message, rather than one each as with {@link Cores#setProperty} and {@link Cores#removeProperty}.  Create one with
+ * {@link Cores#edit(Core.StringMap)}.</p>
+ *
+ * <p>Existing keys keep their position in the message and new keys are added at the end.  If the original message has
+ * a key more than once, only its first value is kept.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class StringMapEditor {
+    private final Core.StringMap mOriginal;
+
+    private final Map<String, String> mValues;
+
+    private boolean mChanged;
+
+    StringMapEditor(final Core.StringMap theMap) {
+        mOriginal = theMap;
+        mValues = Maps.newLinkedHashMap();
+
+        // read the entries directly rather than through a cached view, the message is about to be replaced
+        for (Core.StringMapEntry aEntry : theMap.getValuesList()) {
+            mValues.putIfAbsent(aEntry.getKey(), aEntry.getValue());
+        }
+    }
+
+    /**
+     * Return the current value of the key
+     *
+     * @param theKey    the key
+     * @return          its value, or null if there is none
+     */
+    public String get(final String theKey) {
+        return mValues.get(theKey);
+    }
+
+    /**
+     * Set the value of the key
+     *
+     * @param theKey    the key
+     * @param theValue  the value
+     * @return          this editor
+     */
+    public StringMapEditor put(final String theKey, final String theValue) {
+        checkNotNull(theKey);
+        checkNotNull(theValue);
+
+        mChanged |= !theValue.equals(mValues.put(theKey, theValue));
+        return this;
+    }
+
+    /**
+     * Set the value of each of the keys in the map
+     *
+     * @param theValues the keys and values to set
+     * @return          this editor
+     */
+    public StringMapEditor putAll(final Map<String, String> theValues) {
+        for (Map.Entry<String, String> aEntry : theValues.entrySet()) {
+            put(aEntry.getKey(), aEntry.getValue());
+        }
+        return this;
+    }
+
+    /**
+     * Remove the key
+     *
+     * @param theKey    the key
+     * @return          this editor
+     */
+    public StringMapEditor remove(final String theKey) {
+        mChanged |= mValues.remove(theKey) != null;
+        return this;
+    }
+
+    /**
+     * Build the edited message.  If nothing was changed, this is the original message.
+     *
+     * @return the message
+     */
+    public Core.StringMap build() {
+        if (!mChanged) {
+            return mOriginal;
+        }
+
+        final Core.StringMap.Builder aBuilder = Core.StringMap.newBuilder();
+
+        for (Map.Entry<String, String> aEntry : mValues.entrySet()) {
+            aBuilder.addValues(Core.StringMapEntry.newBuilder()
+                                   .setKey(aEntry.getKey())
+                                   .setValue(aEntry.getValue())
+                                   .build());
+        }
+
+        return aBuilder.build();
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.protobuf.core;
+
+import java.util.UUID;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>A small, direct-mapped cache of {@link UUID} instances, so that decoding the same id over and over, eg with
+ * {@link Cores#uuid(Core.UID, UUIDCache)}, returns a shared instance rather than allocating a new one each time.</p>
+ *
+ * <p>Each id hashes to a single slot; a lookup either finds the id in its slot or creates it and replaces whatever was
+ * there.  So the cache has a fixed size, never evicts more than one entry per miss, and costs one array read and a
+ * comparison on a hit.  It works best when a modest working set of ids recurs, and costs little when it doesn't.</p>
+ *
+ * <p>The cache may be shared by any number of threads without locking: a slot holds an immutable UUID, so a racing
+ * read sees either the old or the new instance, both of which are correct.  Concurrent misses on the same id may
+ * create separate instances.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class UUIDCache {
+    private final UUID[] mSlots;
+
+    private final int mMask;
+
+    /**
+     * Create a new cache
+     *
+     * @param theSize   the number of slots, rounded up to a power of two
+     */
+    public UUIDCache(final int theSize) {
+        checkArgument(theSize > 0 && theSize <= 1 << 30, "Size must be between 1 and 2^30: %s", theSize);
+
+        final int aSize = theSize == 1 ? 1 : Integer.highestOneBit(theSize - 1) << 1;
+
+        mSlots = new UUID[aSize];
+        mMask = aSize - 1;
+    }
+
+    /**
+     * Return the UUID with the given bits, from the cache if present
+     *
+     * @param theMostSigBits    the most significant bits of the UUID
+     * @param theLeastSigBits   the least significant bits of the UUID
+     * @return                  the UUID
+     */
+    public UUID get(final long theMostSigBits, final long theLeastSigBits) {
+        final long aHash = (theMostSigBits ^ theLeastSigBits) * 0x9E3779B97F4A7C15L;
+        final int aSlot = (int) (aHash >>> 32) & mMask;
+
+        final UUID aCached = mSlots[aSlot];
+        if (aCached != null
+            && aCached.getLeastSignificantBits() == theLeastSigBits
+            && aCached.getMostSignificantBits() == theMostSigBits) {
+            return aCached;
+        }
+
+        final UUID aId = new UUID(theMostSigBits, theLeastSigBits);
+        mSlots[aSlot] = aId;
+
+        return aId;
+    }
+}
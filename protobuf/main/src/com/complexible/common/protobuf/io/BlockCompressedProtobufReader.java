@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.protobuf.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Ints;
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+
+/**
+ * <p>A {@link ProtobufReader} for the block compressed format written by {@link BlockCompressedProtobufWriter}.</p>
+ *
+ * <p>Blocks are read and decompressed one at a time into buffers which are reused for every block, and the checksum of
+ * each block is verified before any of its messages are returned.  Messages are parsed with a reused builder, as with
+ * {@link InputStreamSizeDelimitedProtobufReader}, and {@link #readInto(MessageLite.Builder)} can be used to reuse the
+ * message as well.  Since the reader reuses its state, it should not be used by more than one thread at a time.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class BlockCompressedProtobufReader<T extends MessageLite> implements ProtobufReader<T>, Closeable {
+	private final InputStream mStream;
+
+	private final ExtensionRegistry mExtensionRegistry;
+
+	private final MessageLite.Builder mBuilder;
+
+	private final Inflater mInflater = new Inflater(true);
+
+	private final CRC32 mChecksum = new CRC32();
+
+	private final byte[] mHeader = new byte[BlockCompressedProtobufWriter.HEADER_SIZE];
+
+	/**
+	 * The uncompressed contents of the current block
+	 */
+	private byte[] mBlock = new byte[0];
+
+	private byte[] mCompressed = new byte[0];
+
+	private int mBlockSize;
+
+	private int mPosition;
+
+	/**
+	 * The number of messages left in the current block
+	 */
+	private int mRemaining;
+
+	public BlockCompressedProtobufReader(final InputStream theStream, final T thePrototype) {
+		this(theStream, thePrototype, null);
+	}
+
+	public BlockCompressedProtobufReader(final InputStream theStream, final T thePrototype, final ExtensionRegistry theExtensionRegistry) {
+		mStream = theStream;
+		mExtensionRegistry = theExtensionRegistry;
+		mBuilder = thePrototype.newBuilderForType();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T read() throws InvalidProtocolBufferException, IOException {
+		return readInto(mBuilder)
+		       ? (T) mBuilder.build()
+		       : null;
+	}
+
+	/**
+	 * Read the next message into the builder.  The builder is {@link MessageLite.Builder#clear() cleared} first, so the
+	 * same builder can be passed to every call.
+	 *
+	 * @param theBuilder	the builder to read the message into
+	 * @return				true if a message was read, false if there are no more messages
+	 *
+	 * @throws InvalidProtocolBufferException	if there was an error decoding the message
+	 * @throws IOException						if there was an error reading the stream, or a block is corrupt
+	 */
+	public boolean readInto(final MessageLite.Builder theBuilder) throws InvalidProtocolBufferException, IOException {
+		while (mRemaining == 0) {
+			if (mPosition != mBlockSize) {
+				throw new IOException("Corrupt block: it has more data than its record count");
+			}
+
+			if (!readBlock()) {
+				return false;
+			}
+		}
+
+		if (mBlockSize - mPosition < Ints.BYTES) {
+			throw new IOException("Corrupt block: it has fewer records than its record count");
+		}
+
+		final int aSize = Ints.fromBytes(mBlock[mPosition], mBlock[mPosition + 1], mBlock[mPosition + 2], mBlock[mPosition + 3]);
+		final int aStart = mPosition + Ints.BYTES;
+
+		if (aSize < 0 || aSize > mBlockSize - aStart) {
+			throw new IOException("Corrupt block: invalid record size " + aSize);
+		}
+
+		mPosition = aStart + aSize;
+		mRemaining--;
+
+		theBuilder.clear();
+
+		if (mExtensionRegistry == null) {
+			theBuilder.mergeFrom(mBlock, aStart, aSize);
+		}
+		else {
+			theBuilder.mergeFrom(mBlock, aStart, aSize, mExtensionRegistry);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Release the decompressor and close the stream
+	 *
+	 * @throws IOException	if there is an error closing the stream
+	 */
+	@Override
+	public void close() throws IOException {
+		mInflater.end();
+		mStream.close();
+	}
+
+	/**
+	 * Read and decompress the next block
+	 *
+	 * @return true if a block was read, false at the end of the stream
+	 */
+	private boolean readBlock() throws IOException {
+		final int aFirst = mStream.read();
+		if (aFirst == -1) {
+			return false;
+		}
+
+		mHeader[0] = (byte) aFirst;
+		ByteStreams.readFully(mStream, mHeader, 1, mHeader.length - 1);
+
+		final int aRecords = getInt(1);
+		final int aSize = getInt(1 + Ints.BYTES);
+		final int aStoredSize = getInt(1 + 2 * Ints.BYTES);
+		final int aChecksum = getInt(1 + 3 * Ints.BYTES);
+
+		if (aRecords < 0 || aSize < 0 || aStoredSize < 0) {
+			throw new IOException("Corrupt block header");
+		}
+
+		mBlock = Protobuf.ensureCapacity(mBlock, aSize);
+
+		switch (mHeader[0]) {
+			case BlockCompressedProtobufWriter.STORED:
+				if (aStoredSize != aSize) {
+					throw new IOException("Corrupt block header");
+				}
+				ByteStreams.readFully(mStream, mBlock, 0, aSize);
+				break;
+			case BlockCompressedProtobufWriter.DEFLATED:
+				mCompressed = Protobuf.ensureCapacity(mCompressed, aStoredSize);
+				ByteStreams.readFully(mStream, mCompressed, 0, aStoredSize);
+				inflate(aStoredSize, aSize);
+				break;
+			default:
+				throw new IOException("Unknown block codec: " + mHeader[0]);
+		}
+
+		mChecksum.reset();
+		mChecksum.update(mBlock, 0, aSize);
+
+		if ((int) mChecksum.getValue() != aChecksum) {
+			throw new IOException("Corrupt block: checksum mismatch");
+		}
+
+		mBlockSize = aSize;
+		mPosition = 0;
+		mRemaining = aRecords;
+
+		return true;
+	}
+
+	private void inflate(final int theCompressedSize, final int theSize) throws IOException {
+		mInflater.reset();
+		mInflater.setInput(mCompressed, 0, theCompressedSize);
+
+		try {
+			int aSize = 0;
+			while (aSize < theSize && !mInflater.finished()) {
+				final int aCount = mInflater.inflate(mBlock, aSize, theSize - aSize);
+
+				if (aCount == 0 && (mInflater.needsInput() || mInflater.needsDictionary())) {
+					throw new EOFException("Corrupt block: compressed data ended early");
+				}
+
+				aSize += aCount;
+			}
+
+			if (aSize != theSize) {
+				throw new IOException("Corrupt block: decompressed size does not match the header");
+			}
+		}
+		catch (DataFormatException e) {
+			throw new IOException("Corrupt block", e);
+		}
+	}
+
+	private int getInt(final int theOffset) {
+		return Ints.fromBytes(mHeader[theOffset], mHeader[theOffset + 1], mHeader[theOffset + 2], mHeader[theOffset + 3]);
+	}
+}
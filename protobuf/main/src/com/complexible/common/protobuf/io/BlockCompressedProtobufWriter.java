@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.protobuf.io;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import com.google.common.primitives.Ints;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>A {@link ProtobufWriter} which batches messages into blocks and compresses each block, the format read by
+ * {@link BlockCompressedProtobufReader}.</p>
+ *
+ * <p>Within a block, messages are size delimited as written by {@link OutputStreamProtobufWriter}.  A block is closed
+ * once it holds a maximum number of messages or bytes, compressed with {@link Deflater}, and written to the stream
+ * behind a header:</p>
+ *
+ * <pre>
+ *   byte    codec; 0 if the block is stored uncompressed, 1 if it is deflated
+ *   int     the number of messages in the block
+ *   int     the uncompressed length of the block
+ *   int     the length of the block as written
+ *   int     the CRC32 of the uncompressed block
+ * </pre>
+ *
+ * <p>with all ints big endian.  A block which does not get smaller when compressed is stored as is.  The Deflate level
+ * trades speed for size: {@link Deflater#BEST_SPEED} is the fast option, typically several times faster than the
+ * default level for a somewhat larger result, {@link Deflater#BEST_COMPRESSION} the smallest, and
+ * {@link Deflater#NO_COMPRESSION} only frames and checksums the blocks.</p>
+ *
+ * <p>Messages are not guaranteed to reach the stream until the writer is {@link #flush() flushed}, which closes the
+ * current block early, or {@link #close() closed}.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class BlockCompressedProtobufWriter implements ProtobufWriter, Flushable, Closeable {
+	static final int HEADER_SIZE = 1 + 4 * Ints.BYTES;
+
+	static final byte STORED = 0;
+
+	static final byte DEFLATED = 1;
+
+	private static final int DEFAULT_BLOCK_RECORDS = 4096;
+
+	private static final int DEFAULT_BLOCK_BYTES = 64 * 1024;
+
+	private final OutputStream mStream;
+
+	private final Deflater mDeflater;
+
+	private final CRC32 mChecksum = new CRC32();
+
+	private final int mMaxRecords;
+
+	private final int mMaxBytes;
+
+	private final byte[] mHeader = new byte[HEADER_SIZE];
+
+	/**
+	 * The uncompressed contents of the current block
+	 */
+	private byte[] mBlock;
+
+	private int mBlockSize;
+
+	private int mRecords;
+
+	private byte[] mCompressed = new byte[0];
+
+	/**
+	 * Create a new writer with blocks of up to 64k and the {@link Deflater#DEFAULT_COMPRESSION default} Deflate level
+	 *
+	 * @param theStream	the stream to write to
+	 */
+	public BlockCompressedProtobufWriter(final OutputStream theStream) {
+		this(theStream, Deflater.DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * Create a new writer with blocks of up to 64k
+	 *
+	 * @param theStream	the stream to write to
+	 * @param theLevel	the Deflate level, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION},
+	 *                 	or {@link Deflater#DEFAULT_COMPRESSION}
+	 */
+	public BlockCompressedProtobufWriter(final OutputStream theStream, final int theLevel) {
+		this(theStream, theLevel, DEFAULT_BLOCK_RECORDS, DEFAULT_BLOCK_BYTES);
+	}
+
+	/**
+	 * Create a new writer
+	 *
+	 * @param theStream		the stream to write to
+	 * @param theLevel		the Deflate level, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION},
+	 *                 		or {@link Deflater#DEFAULT_COMPRESSION}
+	 * @param theMaxRecords	the maximum number of messages in a block
+	 * @param theMaxBytes	the uncompressed size at which a block is closed.  A block is closed after the message which
+	 *                    	reaches this size, so a single larger message gets a block of its own.
+	 */
+	public BlockCompressedProtobufWriter(final OutputStream theStream, final int theLevel, final int theMaxRecords, final int theMaxBytes) {
+		checkArgument(theLevel == Deflater.DEFAULT_COMPRESSION
+		              || (theLevel >= Deflater.NO_COMPRESSION && theLevel <= Deflater.BEST_COMPRESSION),
+		              "Invalid Deflate level: %s", theLevel);
+		checkArgument(theMaxRecords > 0, "Block record count must be positive: %s", theMaxRecords);
+		checkArgument(theMaxBytes > 0, "Block size must be positive: %s", theMaxBytes);
+
+		mStream = theStream;
+		mDeflater = theLevel == Deflater.NO_COMPRESSION
+		            ? null
+		            : new Deflater(theLevel, true);
+		mMaxRecords = theMaxRecords;
+		mMaxBytes = theMaxBytes;
+		mBlock = new byte[Math.min(theMaxBytes, DEFAULT_BLOCK_BYTES)];
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	public void write(final MessageLite theMessage) throws IOException {
+		final int aSize = theMessage.getSerializedSize();
+		final int aEnd = mBlockSize + Ints.BYTES + aSize;
+
+		if (aEnd > mBlock.length) {
+			mBlock = Arrays.copyOf(mBlock, Math.max(aEnd, mBlock.length * 2));
+		}
+
+		mBlock[mBlockSize] = (byte) (aSize >>> 24);
+		mBlock[mBlockSize + 1] = (byte) (aSize >>> 16);
+		mBlock[mBlockSize + 2] = (byte) (aSize >>> 8);
+		mBlock[mBlockSize + 3] = (byte) aSize;
+
+		final CodedOutputStream aOutput = CodedOutputStream.newInstance(mBlock, mBlockSize + Ints.BYTES, aSize);
+		theMessage.writeTo(aOutput);
+		aOutput.checkNoSpaceLeft();
+
+		mBlockSize = aEnd;
+		mRecords++;
+
+		if (mRecords >= mMaxRecords || mBlockSize >= mMaxBytes) {
+			writeBlock();
+		}
+	}
+
+	/**
+	 * Write the current block, even if it is not full, and flush the stream
+	 *
+	 * @throws IOException	if there is an error writing
+	 */
+	@Override
+	public void flush() throws IOException {
+		writeBlock();
+		mStream.flush();
+	}
+
+	/**
+	 * Write the current block and close the stream
+	 *
+	 * @throws IOException	if there is an error writing or closing the stream
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			writeBlock();
+		}
+		finally {
+			if (mDeflater != null) {
+				mDeflater.end();
+			}
+			mStream.close();
+		}
+	}
+
+	private void writeBlock() throws IOException {
+		if (mRecords == 0) {
+			return;
+		}
+
+		mChecksum.reset();
+		mChecksum.update(mBlock, 0, mBlockSize);
+
+		final int aCompressedSize = compress();
+
+		mHeader[0] = aCompressedSize < 0 ? STORED : DEFLATED;
+		putInt(1, mRecords);
+		putInt(1 + Ints.BYTES, mBlockSize);
+		putInt(1 + 2 * Ints.BYTES, aCompressedSize < 0 ? mBlockSize : aCompressedSize);
+		putInt(1 + 3 * Ints.BYTES, (int) mChecksum.getValue());
+
+		mStream.write(mHeader);
+
+		if (aCompressedSize < 0) {
+			mStream.write(mBlock, 0, mBlockSize);
+		}
+		else {
+			mStream.write(mCompressed, 0, aCompressedSize);
+		}
+
+		mBlockSize = 0;
+		mRecords = 0;
+	}
+
+	/**
+	 * Deflate the current block into {@link #mCompressed}
+	 *
+	 * @return	the compressed size, or -1 if the block should be stored because it is not compressible
+	 */
+	private int compress() {
+		if (mDeflater == null) {
+			return -1;
+		}
+
+		// anything which does not fit in a buffer the size of the input is not worth keeping
+		if (mCompressed.length < mBlockSize) {
+			mCompressed = new byte[mBlock.length];
+		}
+
+		mDeflater.reset();
+		mDeflater.setInput(mBlock, 0, mBlockSize);
+		mDeflater.finish();
+
+		int aSize = 0;
+		while (!mDeflater.finished() && aSize < mBlockSize) {
+			aSize += mDeflater.deflate(mCompressed, aSize, mBlockSize - aSize);
+		}
+
+		return mDeflater.finished() && aSize < mBlockSize
+		       ? aSize
+		       : -1;
+	}
+
+	private void putInt(final int theOffset, final int theValue) {
+		mHeader[theOffset] = (byte) (theValue >>> 24);
+		mHeader[theOffset + 1] = (byte) (theValue >>> 16);
+		mHeader[theOffset + 2] = (byte) (theValue >>> 8);
+		mHeader[theOffset + 3] = (byte) theValue;
+	}
+}
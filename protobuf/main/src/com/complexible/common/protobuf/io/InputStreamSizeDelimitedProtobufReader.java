@@ -29,6 +29,11 @@ import com.google.common.io.ByteStreams;
  * <p>Implementation of a {@link ProtobufReader} which will read Protobuf messages from an {@link InputStream}.  Assumes the messages
  * are length delimited with a fixed-width big endian coded integer which is the size of the subsequent message.</p>
  *
+ * <p>Each message is read into a buffer owned by the reader, which grows to fit the largest message seen and is reused
+ * for every read, and parsed with a reused builder; so the only allocation per message is the message itself.  Callers
+ * which can also reuse the message can use {@link #readInto(MessageLite.Builder)} to avoid even that.  Since the reader
+ * reuses its state, it should not be used by more than one thread at a time.</p>
+ *
  * @author  Michael Grove
  * @since   1.0
  * @version 1.0
@@ -42,6 +47,10 @@ public final class InputStreamSizeDelimitedProtobufReader<T extends MessageLite>
 
     private final byte[] array = new byte[Ints.BYTES];
 
+	private final MessageLite.Builder mBuilder;
+
+	private byte[] mBuffer = new byte[0];
+
 	public InputStreamSizeDelimitedProtobufReader(final InputStream theStream, final T thePrototype) {
 		this(theStream, thePrototype, null);
 	}
@@ -50,6 +59,7 @@ public final class InputStreamSizeDelimitedProtobufReader<T extends MessageLite>
 		mStream = theStream;
 		mPrototype = thePrototype;
 		mExtensionRegistry = theExtensionRegistry;
+		mBuilder = thePrototype.newBuilderForType();
 	}
 
 	/**
@@ -58,24 +68,44 @@ public final class InputStreamSizeDelimitedProtobufReader<T extends MessageLite>
 	@Override
 	@SuppressWarnings("unchecked")
 	public T read() throws InvalidProtocolBufferException, IOException {
+		return readInto(mBuilder)
+		       ? (T) mBuilder.build()
+		       : null;
+	}
+
+	/**
+	 * Read the next message into the builder.  The builder is {@link MessageLite.Builder#clear() cleared} first, so the
+	 * same builder can be passed to every call.
+	 *
+	 * @param theBuilder	the builder to read the message into
+	 * @return				true if a message was read, false if there are no more messages
+	 *
+	 * @throws InvalidProtocolBufferException	if there was an error decoding the message
+	 * @throws IOException						if there was an error reading the contents of the message
+	 */
+	public boolean readInto(final MessageLite.Builder theBuilder) throws InvalidProtocolBufferException, IOException {
 		try {
             ByteStreams.readFully(mStream, array);
 
             int aSize = Ints.fromByteArray(array);
 
-            byte[] aData = new byte[aSize];
+			mBuffer = Protobuf.ensureCapacity(mBuffer, aSize);
 
-			ByteStreams.readFully(mStream, aData);
+			ByteStreams.readFully(mStream, mBuffer, 0, aSize);
+
+			theBuilder.clear();
 
 			if (mExtensionRegistry == null) {
-				return (T) mPrototype.newBuilderForType().mergeFrom(aData).build();
+				theBuilder.mergeFrom(mBuffer, 0, aSize);
 			}
 			else {
-				return (T) mPrototype.newBuilderForType().mergeFrom(aData, mExtensionRegistry).build();
+				theBuilder.mergeFrom(mBuffer, 0, aSize, mExtensionRegistry);
 			}
+
+			return true;
 		}
 		catch (EOFException e) {
-			return null;
+			return false;
 		}
 	}
 }
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.protobuf.io;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+
+import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.ExtensionRegistry;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+
+import static com.google.common.base.Preconditions.checkState;
+
+/**
+ * <p>Reads size delimited Protobuf messages, as written by {@link OutputStreamProtobufWriter}, from a memory-mapped file.</p>
+ *
+ * <p>The file is mapped read-only and messages are parsed directly out of the mapping, so reading does not go through
+ * the file system and no message is copied into an array of its own; {@link #read(long)} parses through a stream over
+ * just the requested record.  The mapping is released by {@link #close()}, after which neither the reader nor any of
+ * the readers it has created may be used.</p>
+ *
+ * <p>If the file has a sidecar offset index, see {@link #writeIndex(File)}, the reader also supports random access:
+ * {@link #read(long)} parses any record in constant time, and {@link #reader(long, long)} scans a range of records, so
+ * a file can be split into ranges and scanned in parallel.  Each reader returned by {@link #reader()} or
+ * {@link #reader(long, long)} should be used by one thread at a time, but any number of them, and {@link #read(long)},
+ * can be used concurrently.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class MappedProtobufReader<T extends MessageLite> implements Closeable {
+	private static final String INDEX_SUFFIX = ".idx";
+
+	private final T mPrototype;
+
+	private final ExtensionRegistry mExtensionRegistry;
+
+	private final MappedRegion mData;
+
+	/**
+	 * The offset of every record in the file, or null if the file is not indexed
+	 */
+	private final MappedRegion mIndex;
+
+	private final long mCount;
+
+	private MappedProtobufReader(final T thePrototype, final ExtensionRegistry theExtensionRegistry, final MappedRegion theData, final MappedRegion theIndex) {
+		mPrototype = thePrototype;
+		mExtensionRegistry = theExtensionRegistry;
+		mData = theData;
+		mIndex = theIndex;
+		mCount = theIndex == null ? -1 : theIndex.size() / Longs.BYTES;
+	}
+
+	/**
+	 * Open a reader over the file.  If the file has an {@link #indexFile(File) index}, it is used for random access.
+	 *
+	 * @param theFile		the file to read
+	 * @param thePrototype	the prototype of the messages in the file
+	 * @return				the reader
+	 *
+	 * @throws IOException	if the file cannot be mapped, or its index does not match the file
+	 */
+	public static <T extends MessageLite> MappedProtobufReader<T> open(final File theFile, final T thePrototype) throws IOException {
+		return open(theFile, thePrototype, null);
+	}
+
+	/**
+	 * Open a reader over the file.  If the file has an {@link #indexFile(File) index}, it is used for random access.
+	 *
+	 * @param theFile				the file to read
+	 * @param thePrototype			the prototype of the messages in the file
+	 * @param theExtensionRegistry	the extensions to use when parsing, or null
+	 * @return						the reader
+	 *
+	 * @throws IOException	if the file cannot be mapped, or its index does not match the file
+	 */
+	public static <T extends MessageLite> MappedProtobufReader<T> open(final File theFile, final T thePrototype,
+	                                                                  final ExtensionRegistry theExtensionRegistry) throws IOException {
+		final MappedRegion aData = map(theFile);
+
+		final File aIndexFile = indexFile(theFile);
+		MappedRegion aIndex = null;
+
+		try {
+			if (aIndexFile.exists()) {
+				aIndex = map(aIndexFile);
+				validateIndex(aIndexFile, aIndex, aData);
+			}
+		}
+		catch (IOException e) {
+			aData.close();
+			if (aIndex != null) {
+				aIndex.close();
+			}
+			throw e;
+		}
+
+		return new MappedProtobufReader<T>(thePrototype, theExtensionRegistry, aData, aIndex);
+	}
+
+	/**
+	 * Return the sidecar index file of the given record file; the file name with {@code .idx} appended
+	 *
+	 * @param theFile	the record file
+	 * @return			its index file
+	 */
+	public static File indexFile(final File theFile) {
+		return new File(theFile.getPath() + INDEX_SUFFIX);
+	}
+
+	/**
+	 * Scan the record file and write its {@link #indexFile(File) index}, replacing any existing index.  The index holds
+	 * the offset of each record in the file as a big endian long.  If the record file is later appended to, the index
+	 * must be rewritten.
+	 *
+	 * @param theFile	the record file
+	 * @return			the number of records in the file
+	 *
+	 * @throws IOException	if there is an error reading the file or writing the index, or the last record in the file is truncated
+	 */
+	public static long writeIndex(final File theFile) throws IOException {
+		long aCount = 0;
+
+		try (MappedRegion aData = map(theFile);
+		     DataOutputStream aOut = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(indexFile(theFile))))) {
+
+			long aPos = 0;
+			while (aPos < aData.size()) {
+				aOut.writeLong(aPos);
+				aPos = next(aData, aPos);
+				aCount++;
+			}
+		}
+
+		return aCount;
+	}
+
+	/**
+	 * Return whether or not the file was opened with an index, which is required for random access
+	 *
+	 * @return true if the file is indexed
+	 */
+	public boolean isIndexed() {
+		return mIndex != null;
+	}
+
+	/**
+	 * Return the number of records in the file
+	 *
+	 * @return the number of records
+	 *
+	 * @throws IllegalStateException	if the file is not indexed
+	 */
+	public long count() {
+		checkIndexed();
+		return mCount;
+	}
+
+	/**
+	 * Read the record with the given number
+	 *
+	 * @param theRecord	the record number, starting from 0
+	 * @return			the record
+	 *
+	 * @throws IllegalStateException			if the file is not indexed
+	 * @throws IndexOutOfBoundsException		if there is no such record
+	 * @throws InvalidProtocolBufferException	if there was an error decoding the message
+	 */
+	@SuppressWarnings("unchecked")
+	public T read(final long theRecord) throws InvalidProtocolBufferException {
+		checkIndexed();
+		checkElementIndex(theRecord, mCount);
+
+		final long aOffset = offset(theRecord);
+		final int aSize = mData.getInt(aOffset);
+		final long aEnd = aOffset + Ints.BYTES + aSize;
+
+		if (aSize < 0 || aEnd > mData.size()) {
+			throw new InvalidProtocolBufferException("Invalid size " + aSize + " of the record at offset " + aOffset);
+		}
+
+		try {
+			return new Reader(aOffset, aEnd).read();
+		}
+		catch (InvalidProtocolBufferException e) {
+			throw e;
+		}
+		catch (IOException e) {
+			// the region is in memory, so reading it fails only if the message is malformed
+			throw new InvalidProtocolBufferException(e.getMessage());
+		}
+	}
+
+	/**
+	 * Return a reader over every record in the file.  This does not require an index.
+	 *
+	 * @return the reader
+	 */
+	public Reader reader() {
+		return new Reader(0, mData.size());
+	}
+
+	/**
+	 * Return a reader over the records {@code [theFrom, theTo)}
+	 *
+	 * @param theFrom	the first record to read
+	 * @param theTo		the record to stop at, exclusive
+	 * @return			the reader
+	 *
+	 * @throws IllegalStateException		if the file is not indexed
+	 * @throws IndexOutOfBoundsException	if the range is not within the file
+	 */
+	public Reader reader(final long theFrom, final long theTo) {
+		checkIndexed();
+		checkPositionIndexes(theFrom, theTo, mCount);
+
+		return new Reader(theFrom == mCount ? mData.size() : offset(theFrom),
+		                  theTo == mCount ? mData.size() : offset(theTo));
+	}
+
+	/**
+	 * Unmap the file, and its index
+	 */
+	@Override
+	public void close() {
+		mData.close();
+
+		if (mIndex != null) {
+			mIndex.close();
+		}
+	}
+
+	private long offset(final long theRecord) {
+		return mIndex.getLong(theRecord * Longs.BYTES);
+	}
+
+	private void checkIndexed() {
+		checkState(mIndex != null, "Random access requires an index, see MappedProtobufReader.writeIndex");
+	}
+
+	private static void checkElementIndex(final long theIndex, final long theSize) {
+		if (theIndex < 0 || theIndex >= theSize) {
+			throw new IndexOutOfBoundsException(String.format("Record %s is not in [0, %s)", theIndex, theSize));
+		}
+	}
+
+	private static void checkPositionIndexes(final long theStart, final long theEnd, final long theSize) {
+		if (theStart < 0 || theEnd < theStart || theEnd > theSize) {
+			throw new IndexOutOfBoundsException(String.format("Range [%s, %s) is not in [0, %s)", theStart, theEnd, theSize));
+		}
+	}
+
+	/**
+	 * Return the offset of the record following the one at the given offset
+	 */
+	private static long next(final MappedRegion theData, final long theOffset) throws IOException {
+		if (theData.size() - theOffset < Ints.BYTES) {
+			throw new IOException("Truncated record size at offset " + theOffset);
+		}
+
+		final long aNext = theOffset + Ints.BYTES + theData.getInt(theOffset);
+
+		if (aNext < theOffset + Ints.BYTES || aNext > theData.size()) {
+			throw new IOException("Truncated record at offset " + theOffset);
+		}
+
+		return aNext;
+	}
+
+	/**
+	 * Check the index is well formed and its last record ends at the end of the data, which catches the common case of
+	 * the record file being appended to after it was indexed
+	 */
+	private static void validateIndex(final File theIndexFile, final MappedRegion theIndex, final MappedRegion theData) throws IOException {
+		if (theIndex.size() % Longs.BYTES != 0) {
+			throw new IOException("Malformed index: " + theIndexFile);
+		}
+
+		final long aEnd = theIndex.size() == 0
+		                  ? 0
+		                  : next(theData, theIndex.getLong(theIndex.size() - Longs.BYTES));
+
+		if (aEnd != theData.size()) {
+			throw new IOException("Index is out of date, it must be rewritten: " + theIndexFile);
+		}
+	}
+
+	private static MappedRegion map(final File theFile) throws IOException {
+		try (RandomAccessFile aFile = new RandomAccessFile(theFile, "r");
+		     FileChannel aChannel = aFile.getChannel()) {
+			// the mapping remains valid after the channel is closed
+			return MappedRegion.map(aChannel, aChannel.size());
+		}
+	}
+
+	/**
+	 * <p>A sequential reader over a range of the file.  Messages are parsed by a single {@link CodedInputStream} over
+	 * the range, whose buffer is reused for every message.</p>
+	 */
+	public final class Reader implements ProtobufReader<T> {
+		private final CodedInputStream mInput;
+
+		private final MessageLite.Builder mBuilder = mPrototype.newBuilderForType();
+
+		private Reader(final long theStart, final long theEnd) {
+			mInput = CodedInputStream.newInstance(mData.stream(theStart, theEnd));
+			mInput.setSizeLimit(Integer.MAX_VALUE);
+		}
+
+		/**
+		 * {@inheritDoc}
+		 */
+		@Override
+		@SuppressWarnings("unchecked")
+		public T read() throws InvalidProtocolBufferException, IOException {
+			return readInto(mBuilder)
+			       ? (T) mBuilder.build()
+			       : null;
+		}
+
+		/**
+		 * Read the next message into the builder.  The builder is {@link MessageLite.Builder#clear() cleared} first, so
+		 * the same builder can be passed to every call.
+		 *
+		 * @param theBuilder	the builder to read the message into
+		 * @return				true if a message was read, false if there are no more messages in the range
+		 *
+		 * @throws InvalidProtocolBufferException	if there was an error decoding the message
+		 * @throws IOException						if there was an error reading the contents of the message
+		 */
+		public boolean readInto(final MessageLite.Builder theBuilder) throws InvalidProtocolBufferException, IOException {
+			if (mInput.isAtEnd()) {
+				return false;
+			}
+
+			// the size limit applies to all the bytes read by the stream, not to each message
+			mInput.resetSizeCounter();
+
+			final int aSize = (mInput.readRawByte() & 0xFF) << 24
+			                  | (mInput.readRawByte() & 0xFF) << 16
+			                  | (mInput.readRawByte() & 0xFF) << 8
+			                  | (mInput.readRawByte() & 0xFF);
+
+			final int aLimit = mInput.pushLimit(aSize);
+
+			theBuilder.clear();
+
+			if (mExtensionRegistry == null) {
+				theBuilder.mergeFrom(mInput);
+			}
+			else {
+				theBuilder.mergeFrom(mInput, mExtensionRegistry);
+			}
+
+			// a message which stops short of its size, eg at an end group tag, is malformed
+			if (mInput.getBytesUntilLimit() != 0) {
+				throw new InvalidProtocolBufferException("Message ended before its declared size");
+			}
+
+			mInput.popLimit(aLimit);
+
+			return true;
+		}
+	}
+}
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.protobuf.io;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import com.complexible.common.io.MMapUtil;
+
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
+/**
+ * <p>A read-only, memory-mapped view of a file which may be larger than a single {@link MappedByteBuffer} can address.
+ * The file is mapped in 1GB segments, and reads which straddle two segments are handled transparently.  Reads use
+ * absolute positions and do not modify the shared buffers, so a region can be read from any number of threads.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+final class MappedRegion implements Closeable {
+	private static final int SEGMENT_SHIFT = 30;
+
+	private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+	private static final long SEGMENT_MASK = SEGMENT_SIZE - 1;
+
+	private final MappedByteBuffer[] mSegments;
+
+	private final long mSize;
+
+	private MappedRegion(final MappedByteBuffer[] theSegments, final long theSize) {
+		mSegments = theSegments;
+		mSize = theSize;
+	}
+
+	/**
+	 * Map the first {@code theSize} bytes of the channel
+	 */
+	static MappedRegion map(final FileChannel theChannel, final long theSize) throws IOException {
+		final int aCount = (int) ((theSize + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+		final MappedByteBuffer[] aSegments = new MappedByteBuffer[aCount];
+
+		try {
+			for (int i = 0; i < aCount; i++) {
+				final long aStart = (long) i << SEGMENT_SHIFT;
+				aSegments[i] = theChannel.map(FileChannel.MapMode.READ_ONLY, aStart, Math.min(SEGMENT_SIZE, theSize - aStart));
+			}
+		}
+		catch (IOException e) {
+			for (MappedByteBuffer aSegment : aSegments) {
+				if (aSegment != null) {
+					MMapUtil.unmap(aSegment);
+				}
+			}
+			throw e;
+		}
+
+		return new MappedRegion(aSegments, theSize);
+	}
+
+	long size() {
+		return mSize;
+	}
+
+	byte get(final long thePos) {
+		return mSegments[(int) (thePos >>> SEGMENT_SHIFT)].get((int) (thePos & SEGMENT_MASK));
+	}
+
+	/**
+	 * Read a big endian int
+	 */
+	int getInt(final long thePos) {
+		final int aOffset = (int) (thePos & SEGMENT_MASK);
+
+		if (aOffset <= SEGMENT_SIZE - 4) {
+			return mSegments[(int) (thePos >>> SEGMENT_SHIFT)].getInt(aOffset);
+		}
+
+		return (get(thePos) & 0xFF) << 24 | (get(thePos + 1) & 0xFF) << 16 | (get(thePos + 2) & 0xFF) << 8 | (get(thePos + 3) & 0xFF);
+	}
+
+	/**
+	 * Read a big endian long
+	 */
+	long getLong(final long thePos) {
+		final int aOffset = (int) (thePos & SEGMENT_MASK);
+
+		if (aOffset <= SEGMENT_SIZE - 8) {
+			return mSegments[(int) (thePos >>> SEGMENT_SHIFT)].getLong(aOffset);
+		}
+
+		return ((long) getInt(thePos)) << 32 | (getInt(thePos + 4) & 0xFFFFFFFFL);
+	}
+
+	/**
+	 * Copy {@code theLength} bytes starting at the position into the array
+	 */
+	void get(final long thePos, final byte[] theDest, final int theOffset, final int theLength) {
+		checkPositionIndexes(theOffset, theOffset + theLength, theDest.length);
+
+		long aPos = thePos;
+		int aOffset = theOffset;
+		int aRemaining = theLength;
+
+		while (aRemaining > 0) {
+			final ByteBuffer aSegment = mSegments[(int) (aPos >>> SEGMENT_SHIFT)].duplicate();
+			aSegment.position((int) (aPos & SEGMENT_MASK));
+
+			final int aCount = Math.min(aRemaining, aSegment.remaining());
+			aSegment.get(theDest, aOffset, aCount);
+
+			aPos += aCount;
+			aOffset += aCount;
+			aRemaining -= aCount;
+		}
+	}
+
+	/**
+	 * Return a stream over the bytes {@code [theStart, theEnd)} of the region
+	 */
+	InputStream stream(final long theStart, final long theEnd) {
+		return new RegionInputStream(theStart, theEnd);
+	}
+
+	/**
+	 * Unmap the region.  It must not be read afterwards.
+	 */
+	@Override
+	public void close() {
+		for (MappedByteBuffer aSegment : mSegments) {
+			MMapUtil.unmap(aSegment);
+		}
+	}
+
+	private final class RegionInputStream extends InputStream {
+		private final long mEnd;
+
+		private long mPos;
+
+		/**
+		 * This stream's view of the segment it last read from, and the index of that segment
+		 */
+		private ByteBuffer mSegment;
+
+		private int mSegmentIndex = -1;
+
+		private RegionInputStream(final long theStart, final long theEnd) {
+			mPos = theStart;
+			mEnd = theEnd;
+		}
+
+		@Override
+		public int read() {
+			return mPos < mEnd ? get(mPos++) & 0xFF : -1;
+		}
+
+		@Override
+		public int read(final byte[] theBuffer, final int theOffset, final int theLength) {
+			if (mPos >= mEnd) {
+				return -1;
+			}
+
+			final int aSegmentIndex = (int) (mPos >>> SEGMENT_SHIFT);
+			if (aSegmentIndex != mSegmentIndex) {
+				mSegment = mSegments[aSegmentIndex].duplicate();
+				mSegmentIndex = aSegmentIndex;
+			}
+
+			mSegment.position((int) (mPos & SEGMENT_MASK));
+
+			final int aCount = (int) Math.min(Math.min(theLength, mSegment.remaining()), mEnd - mPos);
+			mSegment.get(theBuffer, theOffset, aCount);
+			mPos += aCount;
+
+			return aCount;
+		}
+
+		@Override
+		public long skip(final long theCount) {
+			final long aCount = Math.max(0, Math.min(theCount, mEnd - mPos));
+			mPos += aCount;
+			return aCount;
+		}
+
+		@Override
+		public int available() {
+			return (int) Math.min(Integer.MAX_VALUE, mEnd - mPos);
+		}
+	}
+}
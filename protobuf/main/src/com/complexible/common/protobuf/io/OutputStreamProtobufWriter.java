@@ -14,24 +14,71 @@
  */
 package com.complexible.common.protobuf.io;
 
+import java.io.Closeable;
+import java.io.Flushable;
 import java.io.OutputStream;
 import java.io.IOException;
 
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.MessageLite;
-import com.google.common.primitives.Ints;
+
+import static com.google.common.base.Preconditions.checkArgument;
 
 /**
- * <p>Implementation of {@link ProtobufWriter} which will write protobuf message to an output stream.</p>
+ * <p>Implementation of {@link ProtobufWriter} which will write protobuf message to an output stream.  Each message is
+ * written as a fixed-width, big endian int of its size followed by the message, the format read by
+ * {@link InputStreamSizeDelimitedProtobufReader}.</p>
+ *
+ * <p>Messages are serialized directly into a buffer, without copying them to a byte array first.  A writer created
+ * with {@link #OutputStreamProtobufWriter(OutputStream)} passes each message to the stream as soon as it is written; a
+ * message which fits in its 4096 byte buffer costs a single {@link OutputStream#write(byte[], int, int) write}, larger
+ * ones are written in several.  One created with a
+ * {@link #OutputStreamProtobufWriter(OutputStream, int) buffer size} coalesces many messages into each write to the
+ * stream, and nothing is guaranteed to reach the stream until the writer is {@link #flush() flushed} or
+ * {@link #close() closed}.</p>
  *
  * @author  Michael Grove
  * @since   1.0
- * @version 1.0
+ * @version 5.1
  */
-public final class OutputStreamProtobufWriter implements ProtobufWriter {
+public final class OutputStreamProtobufWriter implements ProtobufWriter, Flushable, Closeable {
+	private static final int DEFAULT_BUFFER_SIZE = 4096;
+
 	private final OutputStream mStream;
 
+	private final CodedOutputStream mOutput;
+
+	/**
+	 * Whether or not each message is passed to the stream as soon as it is written
+	 */
+	private final boolean mWriteThrough;
+
+	/**
+	 * Create a new writer which passes each message to the stream as soon as it is written
+	 *
+	 * @param theStream	the stream to write to
+	 */
 	public OutputStreamProtobufWriter(final OutputStream theStream) {
+		this(theStream, DEFAULT_BUFFER_SIZE, true);
+	}
+
+	/**
+	 * Create a new writer which buffers messages and passes them to the stream when the buffer fills up, or the writer
+	 * is flushed or closed.
+	 *
+	 * @param theStream		the stream to write to
+	 * @param theBufferSize	the size of the buffer, in bytes
+	 */
+	public OutputStreamProtobufWriter(final OutputStream theStream, final int theBufferSize) {
+		this(theStream, theBufferSize, false);
+	}
+
+	private OutputStreamProtobufWriter(final OutputStream theStream, final int theBufferSize, final boolean theWriteThrough) {
+		checkArgument(theBufferSize > 0, "Buffer size must be positive: %s", theBufferSize);
+
 		mStream = theStream;
+		mOutput = CodedOutputStream.newInstance(theStream, theBufferSize);
+		mWriteThrough = theWriteThrough;
 	}
 
 	/**
@@ -39,9 +86,43 @@ public final class OutputStreamProtobufWriter implements ProtobufWriter {
 	 */
 	@Override
 	public void write(final MessageLite theMessage) throws IOException {
-		byte[] aMsg = theMessage.toByteArray();
+		final int aSize = theMessage.getSerializedSize();
+
+		mOutput.writeRawByte(aSize >>> 24);
+		mOutput.writeRawByte(aSize >>> 16);
+		mOutput.writeRawByte(aSize >>> 8);
+		mOutput.writeRawByte(aSize);
+
+		theMessage.writeTo(mOutput);
+
+		if (mWriteThrough) {
+			mOutput.flush();
+		}
+	}
+
+	/**
+	 * Write any buffered messages to the stream and flush the stream
+	 *
+	 * @throws IOException	if there is an error writing
+	 */
+	@Override
+	public void flush() throws IOException {
+		mOutput.flush();
+		mStream.flush();
+	}
 
-		mStream.write(Ints.toByteArray(aMsg.length));
-		mStream.write(aMsg);
+	/**
+	 * Write any buffered messages to the stream and close it
+	 *
+	 * @throws IOException	if there is an error writing or closing the stream
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			mOutput.flush();
+		}
+		finally {
+			mStream.close();
+		}
 	}
 }
@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2005-2016 Clark & Parsia, LLC. <http://www.clarkparsia.com>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.complexible.common.protobuf.io;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.io.ByteStreams;
+import com.google.common.primitives.Ints;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.ExtensionRegistryLite;
+import com.google.protobuf.InvalidProtocolBufferException;
+import com.google.protobuf.MessageLite;
+import com.google.protobuf.Parser;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * <p>A {@link ProtobufReader} which reads size delimited messages, as written by {@link OutputStreamProtobufWriter},
+ * and parses them on a pool of worker threads.</p>
+ *
+ * <p>Since each message is prefixed with its size, frames can be split off the stream without being parsed.  A
+ * single splitter thread reads the frames and hands each one to a worker, which parses it; so parsing, which dominates
+ * for large nested messages, is spread over several cores while the stream is still read sequentially.  Messages are
+ * returned in the order they appear in the stream, or, if the reader is created unordered, in the order they finish
+ * parsing, which keeps one slow message from holding up the rest.</p>
+ *
+ * <p>At most {@code capacity} messages are read ahead of the consumer, frames waiting to be parsed and messages
+ * waiting to be returned alike; when the consumer falls behind, the splitter blocks rather than reading the whole
+ * stream into memory.</p>
+ *
+ * <p>A message which cannot be parsed is reported by the {@link #read()} which would have returned it, and reading
+ * can continue past it.  An error reading the stream ends it; when reading in order, it is reported once the messages
+ * before it have been returned.  The reader should be {@link #close() closed} when it is no longer needed, which stops its threads and
+ * closes the stream; the reader itself should be used by one thread at a time.</p>
+ *
+ * @author  Michael Grove
+ * @since   5.1
+ * @version 5.1
+ */
+public final class ParallelProtobufReader<T extends MessageLite> implements ProtobufReader<T>, Closeable {
+	private static final int DEFAULT_CAPACITY_PER_THREAD = 4;
+
+	/**
+	 * Marks the end of the results
+	 */
+	private static final Future<?> END = new FutureTask<Object>(() -> null);
+
+	private final InputStream mStream;
+
+	private final Parser<T> mParser;
+
+	private final ExtensionRegistryLite mExtensionRegistry;
+
+	private final boolean mOrdered;
+
+	private final ExecutorService mWorkers;
+
+	private final Thread mSplitter;
+
+	/**
+	 * Limits the number of messages read ahead of the consumer; a permit is taken for each frame that is read and
+	 * given back when its message is returned.
+	 */
+	private final Semaphore mPermits;
+
+	/**
+	 * The results to return.  Ordered, they are added as frames are read, so the queue is in stream order; unordered,
+	 * they are added as they are completed.
+	 */
+	private final BlockingQueue<Future<T>> mResults = new LinkedBlockingQueue<Future<T>>();
+
+	/**
+	 * Unordered, the number of frames being parsed, plus one while the splitter is running.  Whoever takes this to
+	 * zero adds the {@link #END} marker.
+	 */
+	private final AtomicInteger mPending = new AtomicInteger(1);
+
+	private volatile boolean mClosed;
+
+	private boolean mDone;
+
+	/**
+	 * Create a new reader which returns messages in stream order
+	 *
+	 * @param theStream		the stream to read from
+	 * @param thePrototype	the prototype of the messages in the stream
+	 * @param theThreads	the number of threads used to parse messages
+	 */
+	public ParallelProtobufReader(final InputStream theStream, final T thePrototype, final int theThreads) {
+		this(theStream, thePrototype, null, theThreads, theThreads * DEFAULT_CAPACITY_PER_THREAD, true);
+	}
+
+	/**
+	 * Create a new reader
+	 *
+	 * @param theStream				the stream to read from
+	 * @param thePrototype			the prototype of the messages in the stream
+	 * @param theExtensionRegistry	the extensions to use when parsing, or null
+	 * @param theThreads			the number of threads used to parse messages
+	 * @param theCapacity			the maximum number of messages read ahead of the consumer
+	 * @param theOrdered			true to return messages in stream order, false to return them as soon as they are parsed
+	 */
+	@SuppressWarnings("unchecked")
+	public ParallelProtobufReader(final InputStream theStream, final T thePrototype, final ExtensionRegistryLite theExtensionRegistry,
+	                              final int theThreads, final int theCapacity, final boolean theOrdered) {
+		checkArgument(theThreads > 0, "Number of threads must be positive: %s", theThreads);
+		checkArgument(theCapacity > 0, "Capacity must be positive: %s", theCapacity);
+
+		mStream = theStream;
+		mParser = (Parser<T>) thePrototype.getParserForType();
+		mExtensionRegistry = theExtensionRegistry == null
+		                     ? ExtensionRegistryLite.getEmptyRegistry()
+		                     : theExtensionRegistry;
+		mOrdered = theOrdered;
+		mPermits = new Semaphore(theCapacity);
+
+		mWorkers = Executors.newFixedThreadPool(theThreads, new ThreadFactoryBuilder().setDaemon(true)
+		                                                                             .setNameFormat("protobuf-parser-%d")
+		                                                                             .build());
+
+		mSplitter = new ThreadFactoryBuilder().setDaemon(true)
+		                                      .setNameFormat("protobuf-splitter-%d")
+		                                      .build()
+		                                      .newThread(this::split);
+		mSplitter.start();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	@Override
+	@SuppressWarnings("unchecked")
+	public T read() throws InvalidProtocolBufferException, IOException {
+		if (mDone) {
+			return null;
+		}
+
+		final Future<T> aResult;
+		try {
+			aResult = mResults.take();
+		}
+		catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the next message");
+		}
+
+		if (aResult == END) {
+			mDone = true;
+			return null;
+		}
+
+		mPermits.release();
+
+		try {
+			return aResult.get();
+		}
+		catch (InterruptedException e) {
+			// the result is complete or in progress on a worker; only a close can leave it unfinished
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the next message");
+		}
+		catch (CancellationException e) {
+			// the reader was closed before the message was parsed
+			throw new IOException("The reader was closed", e);
+		}
+		catch (ExecutionException e) {
+			final Throwable aCause = e.getCause();
+
+			if (aCause instanceof IOException) {
+				throw (IOException) aCause;
+			}
+			else if (aCause instanceof RuntimeException) {
+				throw (RuntimeException) aCause;
+			}
+			else if (aCause instanceof Error) {
+				throw (Error) aCause;
+			}
+			else {
+				throw new IOException(aCause);
+			}
+		}
+	}
+
+	/**
+	 * Return an iterator over the remaining messages.  An {@link IOException} reading or parsing a message is thrown as
+	 * an {@link UncheckedIOException}.
+	 *
+	 * @return the messages
+	 */
+	public Iterator<T> iterator() {
+		return new AbstractIterator<T>() {
+			@Override
+			protected T computeNext() {
+				try {
+					final T aMessage = read();
+
+					return aMessage == null
+					       ? endOfData()
+					       : aMessage;
+				}
+				catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Return a sequential stream over the remaining messages, as {@link #iterator()}.  Closing the stream closes this
+	 * reader.
+	 *
+	 * @return the messages
+	 */
+	public Stream<T> stream() {
+		final int aCharacteristics = mOrdered
+		                             ? Spliterator.ORDERED | Spliterator.NONNULL
+		                             : Spliterator.NONNULL;
+
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), aCharacteristics), false)
+		                    .onClose(this::close);
+	}
+
+	/**
+	 * Stop reading and parsing, and close the stream.  Messages which have not been returned are discarded; a
+	 * {@link #read()} waiting on one which has not been parsed fails with an {@link IOException}.
+	 */
+	@Override
+	public void close() {
+		if (mClosed) {
+			return;
+		}
+
+		mClosed = true;
+		mDone = true;
+
+		mSplitter.interrupt();
+
+		// the parses which never started will not run; cancel them so nothing waits on them
+		for (Runnable aTask : mWorkers.shutdownNow()) {
+			((Future<?>) aTask).cancel(false);
+		}
+
+		try {
+			mStream.close();
+		}
+		catch (IOException e) {
+			// we're done with the stream
+		}
+	}
+
+	/**
+	 * The body of the splitter thread: read frames until the end of the stream, and hand them to the workers
+	 */
+	private void split() {
+		try {
+			byte[] aFrame;
+			while (!mClosed && (aFrame = readFrame()) != null) {
+				mPermits.acquire();
+				submit(aFrame);
+			}
+		}
+		catch (InterruptedException e) {
+			// closed
+		}
+		catch (final IOException | RuntimeException e) {
+			// once we're closed, errors are expected, eg the pool rejects new work
+			if (!mClosed) {
+				final FutureTask<T> aError = new FutureTask<T>(() -> { throw e; });
+				aError.run();
+				mResults.add(aError);
+			}
+		}
+		finally {
+			// nothing more is submitted; let the workers finish the frames already handed to them and exit
+			mWorkers.shutdown();
+
+			if (!mOrdered) {
+				complete();
+			}
+			else {
+				end();
+			}
+		}
+	}
+
+	/**
+	 * Read the next frame, returning null at the end of the stream
+	 */
+	private byte[] readFrame() throws IOException {
+		final byte[] aSize = new byte[Ints.BYTES];
+
+		final int aRead = ByteStreams.read(mStream, aSize, 0, aSize.length);
+		if (aRead == 0) {
+			return null;
+		}
+		else if (aRead < aSize.length) {
+			throw new EOFException("Truncated message size");
+		}
+
+		final int aLength = Ints.fromByteArray(aSize);
+		if (aLength < 0) {
+			throw new InvalidProtocolBufferException("Negative message size: " + aLength);
+		}
+
+		final byte[] aFrame = new byte[aLength];
+		ByteStreams.readFully(mStream, aFrame);
+
+		return aFrame;
+	}
+
+	private void submit(final byte[] theFrame) {
+		final Callable<T> aParse = () -> mParser.parseFrom(theFrame, mExtensionRegistry);
+
+		final FutureTask<T> aTask;
+
+		if (mOrdered) {
+			aTask = new FutureTask<T>(aParse);
+			mResults.add(aTask);
+		}
+		else {
+			mPending.incrementAndGet();
+			aTask = new FutureTask<T>(aParse) {
+				@Override
+				protected void done() {
+					mResults.add(this);
+					complete();
+				}
+			};
+		}
+
+		try {
+			mWorkers.execute(aTask);
+		}
+		catch (RejectedExecutionException e) {
+			// closed while the frame was being handed off
+			aTask.cancel(false);
+			throw e;
+		}
+	}
+
+	private void complete() {
+		if (mPending.decrementAndGet() == 0) {
+			end();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private void end() {
+		mResults.add((Future<T>) END);
+	}
+}
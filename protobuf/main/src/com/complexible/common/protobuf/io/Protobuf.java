@@ -19,19 +19,34 @@ import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.EOFException;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import com.complexible.common.io.ForwardingDataInput;
 import com.complexible.common.io.ForwardingDataOutput;
 
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.Lists;
 import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
 import com.google.protobuf.ByteString;
 import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
 import com.google.protobuf.ExtensionRegistry;
 import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.MessageLite;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkPositionIndexes;
+
 /**
  * <p>Utility class for protobuf IO</p>
  *
@@ -48,22 +63,101 @@ public final class Protobuf {
         throw new AssertionError();
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * Decode a list of messages, as written by {@link #encodeList(CodedOutputStream, Collection)}.  Each message is
+     * parsed directly from the stream.  To avoid holding the whole list in memory, see {@link #decodeIterator}.
+     *
+     * @param theCodeStream the stream to read from
+     * @param thePrototype  the prototype of the messages in the list
+     * @return              the messages
+     *
+     * @throws IOException  if there was an error reading or parsing the list
+     */
     public static <T extends MessageLite> List<T> decodeList(final CodedInputStream theCodeStream, T thePrototype) throws IOException {
-        int aCount = readBigEndianInt32(theCodeStream);
+        final Iterator<T> aIter = decodeIterator(theCodeStream, thePrototype);
+
+        try {
+            return Lists.newArrayList(aIter);
+        }
+        catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Return an iterator over a list of messages, as written by {@link #encodeList(CodedOutputStream, Collection)}, which
+     * parses each message from the stream when it is reached, using a {@link CodedInputStream#pushLimit limit} rather than
+     * copying it to an array first.  The stream must not be otherwise read until the iterator is exhausted.  The stream's
+     * {@link CodedInputStream#setSizeLimit size limit} applies to the list as a whole, so it may need to be raised for
+     * very large lists.
+     *
+     * @param theCodeStream the stream to read from
+     * @param thePrototype  the prototype of the messages in the list
+     * @return              the messages; an error reading or parsing a message is thrown as an {@link UncheckedIOException}
+     *
+     * @throws IOException  if there was an error reading the size of the list
+     */
+    public static <T extends MessageLite> Iterator<T> decodeIterator(final CodedInputStream theCodeStream, final T thePrototype) throws IOException {
+        return new ListIterator<T>(theCodeStream, thePrototype, readBigEndianInt32(theCodeStream));
+    }
+
+    /**
+     * Return a sequential stream over a list of messages, parsed on demand as with {@link #decodeIterator}
+     *
+     * @param theCodeStream the stream to read from
+     * @param thePrototype  the prototype of the messages in the list
+     * @return              the messages; an error reading or parsing a message is thrown as an {@link UncheckedIOException}
+     *
+     * @throws IOException  if there was an error reading the size of the list
+     */
+    public static <T extends MessageLite> Stream<T> decodeStream(final CodedInputStream theCodeStream, final T thePrototype) throws IOException {
+        final ListIterator<T> aIter = new ListIterator<T>(theCodeStream, thePrototype, readBigEndianInt32(theCodeStream));
+
+        return StreamSupport.stream(Spliterators.spliterator(aIter, aIter.mCount, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Encode a list of messages: its size, as a fixed-width big endian int, followed by each message prefixed with its
+     * size as a varint.  This is the format read by {@link #decodeList}, {@link #decodeIterator} and {@link #decodeStream}.
+     *
+     * @param theCodeStream the stream to write to
+     * @param theMessages   the messages to write
+     *
+     * @throws IOException  if there was an error writing
+     */
+    public static void encodeList(final CodedOutputStream theCodeStream, final Collection<? extends MessageLite> theMessages) throws IOException {
+        encodeList(theCodeStream, theMessages.size(), theMessages.iterator());
+    }
+
+    /**
+     * Encode a list of messages, as {@link #encodeList(CodedOutputStream, Collection)}, whose size is known up front;
+     * each message is written as it is taken from the iterator, so the list never has to be in memory.
+     *
+     * @param theCodeStream the stream to write to
+     * @param theCount      the number of messages
+     * @param theMessages   the messages to write
+     *
+     * @throws IOException                  if there was an error writing
+     * @throws IllegalArgumentException     if the iterator does not have exactly {@code theCount} messages; the list written
+     *                                      to the stream is then invalid
+     */
+    public static void encodeList(final CodedOutputStream theCodeStream, final int theCount, final Iterator<? extends MessageLite> theMessages) throws IOException {
+        checkArgument(theCount >= 0, "Count cannot be negative: %s", theCount);
 
-        MessageLite.Builder aBuilder = thePrototype.newBuilderForType();
-        List<T> aList = Lists.newArrayList();
-        for (int i = 0; i < aCount; i++) {
-            aBuilder.clear();
+        theCodeStream.writeRawByte(theCount >>> 24);
+        theCodeStream.writeRawByte(theCount >>> 16);
+        theCodeStream.writeRawByte(theCount >>> 8);
+        theCodeStream.writeRawByte(theCount);
 
-            int aSize = theCodeStream.readRawVarint32();
-            aBuilder.mergeFrom(theCodeStream.readRawBytes(aSize));
+        for (int i = 0; i < theCount; i++) {
+            checkArgument(theMessages.hasNext(), "Expected %s messages, but there were only %s", theCount, i);
 
-            aList.add((T) aBuilder.build());
+            final MessageLite aMessage = theMessages.next();
+            theCodeStream.writeRawVarint32(aMessage.getSerializedSize());
+            aMessage.writeTo(theCodeStream);
         }
 
-        return aList;
+        checkArgument(!theMessages.hasNext(), "Expected %s messages, but there were more", theCount);
     }
 
     private static int readBigEndianInt32(final CodedInputStream theCodeStream) throws IOException {
@@ -197,6 +291,254 @@ public final class Protobuf {
         }
     }
 
+    /**
+     * Reads a protobuf varint32 from the buffer, advancing its position past it.  Reads the same encoding as
+     * {@link #readRawVarint32(DataInput)}.
+     *
+     * @param theBuffer the buffer to read from
+     * @return          the var int
+     *
+     * @throws InvalidProtocolBufferException   if the buffer does not contain a valid varint32
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the varint does
+     */
+    public static int readRawVarint32(final ByteBuffer theBuffer) throws InvalidProtocolBufferException {
+        final int aPos = theBuffer.position();
+
+        // a single byte is by far the most common case
+        if (aPos < theBuffer.limit()) {
+            final byte aByte = theBuffer.get(aPos);
+            if (aByte >= 0) {
+                theBuffer.position(aPos + 1);
+                return aByte;
+            }
+        }
+
+        // a varint32 is a varint64 whose upper bits are discarded
+        return (int) readRawVarint64(theBuffer);
+    }
+
+    /**
+     * Reads a protobuf varint64 from the buffer, advancing its position past it.  Reads the same encoding as
+     * {@link #readRawVarint64(DataInput)}.
+     *
+     * <p>One and two byte varints are read directly.  Longer ones of up to eight bytes are read with a single eight byte
+     * load, finding the end of the varint and packing its 7-bit groups together with bit operations rather than a loop
+     * over its bytes.</p>
+     *
+     * @param theBuffer the buffer to read from
+     * @return          the var int
+     *
+     * @throws InvalidProtocolBufferException   if the buffer does not contain a valid varint64
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the varint does
+     */
+    public static long readRawVarint64(final ByteBuffer theBuffer) throws InvalidProtocolBufferException {
+        final int aPos = theBuffer.position();
+        final int aRemaining = theBuffer.limit() - aPos;
+
+        if (aRemaining >= 2) {
+            final byte aFirst = theBuffer.get(aPos);
+            if (aFirst >= 0) {
+                theBuffer.position(aPos + 1);
+                return aFirst;
+            }
+
+            final byte aSecond = theBuffer.get(aPos + 1);
+            if (aSecond >= 0) {
+                theBuffer.position(aPos + 2);
+                return (aFirst & 0x7F) | (aSecond << 7);
+            }
+        }
+
+        if (aRemaining >= Longs.BYTES) {
+            long aWord = theBuffer.getLong(aPos);
+            if (theBuffer.order() == ByteOrder.BIG_ENDIAN) {
+                aWord = Long.reverseBytes(aWord);
+            }
+
+            // the lowest byte of the word without its continuation bit is the last byte of the varint
+            final long aStops = ~aWord & 0x8080808080808080L;
+            if (aStops != 0) {
+                final int aLastBit = Long.numberOfTrailingZeros(aStops);
+
+                long aValue = aWord & (-1L >>> (63 - aLastBit)) & 0x7F7F7F7F7F7F7F7FL;
+                aValue = (aValue & 0x007F007F007F007FL) | ((aValue & 0x7F007F007F007F00L) >>> 1);
+                aValue = (aValue & 0x00003FFF00003FFFL) | ((aValue & 0x3FFF00003FFF0000L) >>> 2);
+                aValue = (aValue & 0x000000000FFFFFFFL) | ((aValue & 0x0FFFFFFF00000000L) >>> 4);
+
+                theBuffer.position(aPos + (aLastBit >>> 3) + 1);
+                return aValue;
+            }
+        }
+
+        // nine or ten byte varints, or the last few bytes of the buffer
+        int shift = 0;
+        long result = 0;
+        while (shift < 64) {
+            final byte b = theBuffer.get();
+            result |= (long)(b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+            shift += 7;
+        }
+
+        throw new InvalidProtocolBufferException("malformedVarint64");
+    }
+
+    /**
+     * Writes a protobuf varint32 to the buffer, the same encoding as {@link #writeRawVarint32(DataOutput, int)}
+     *
+     * @param theBuffer the buffer to write to
+     * @param theValue  the value to write
+     *
+     * @throws java.nio.BufferOverflowException if there is not enough room in the buffer
+     */
+    public static void writeRawVarint32(final ByteBuffer theBuffer, final int theValue) {
+        if ((theValue & ~0x7F) == 0) {
+            theBuffer.put((byte) theValue);
+        }
+        else if ((theValue & ~0x3FFF) == 0) {
+            theBuffer.put((byte) (theValue | 0x80));
+            theBuffer.put((byte) (theValue >>> 7));
+        }
+        else {
+            writeRawVarint64(theBuffer, theValue & 0xFFFFFFFFL);
+        }
+    }
+
+    /**
+     * Writes a protobuf varint64 to the buffer, the same encoding as {@link #writeRawVarint64(DataOutput, long)}
+     *
+     * @param theBuffer the buffer to write to
+     * @param theValue  the value to write
+     *
+     * @throws java.nio.BufferOverflowException if there is not enough room in the buffer
+     */
+    public static void writeRawVarint64(final ByteBuffer theBuffer, long theValue) {
+        if ((theValue & ~0x7FL) == 0) {
+            theBuffer.put((byte) theValue);
+            return;
+        }
+
+        if ((theValue & ~0x3FFFL) == 0) {
+            theBuffer.put((byte) (theValue | 0x80));
+            theBuffer.put((byte) (theValue >>> 7));
+            return;
+        }
+
+        while ((theValue & ~0x7FL) != 0) {
+            theBuffer.put((byte) ((theValue & 0x7F) | 0x80));
+            theValue >>>= 7;
+        }
+
+        theBuffer.put((byte) theValue);
+    }
+
+    /**
+     * Encode the values as consecutive varint64s, eg for a packed column
+     *
+     * @param theValues the values to encode
+     * @return          the encoded values
+     */
+    public static byte[] encodeVarints(final long[] theValues) {
+        int aSize = 0;
+        for (long aValue : theValues) {
+            aSize += CodedOutputStream.computeRawVarint64Size(aValue);
+        }
+
+        final ByteBuffer aBuffer = ByteBuffer.allocate(aSize);
+        encodeVarints(theValues, 0, theValues.length, aBuffer);
+
+        return aBuffer.array();
+    }
+
+    /**
+     * Encode the values as consecutive varint64s into the buffer
+     *
+     * @param theValues the values to encode
+     * @param theOffset the index of the first value to encode
+     * @param theLength the number of values to encode
+     * @param theBuffer the buffer to write to
+     *
+     * @throws java.nio.BufferOverflowException if there is not enough room in the buffer
+     */
+    public static void encodeVarints(final long[] theValues, final int theOffset, final int theLength, final ByteBuffer theBuffer) {
+        checkPositionIndexes(theOffset, theOffset + theLength, theValues.length);
+
+        for (int i = theOffset; i < theOffset + theLength; i++) {
+            writeRawVarint64(theBuffer, theValues[i]);
+        }
+    }
+
+    /**
+     * Decode all the varint64s in the array, as written by {@link #encodeVarints(long[])}
+     *
+     * @param theBytes  the encoded values
+     * @return          the values
+     *
+     * @throws InvalidProtocolBufferException if the array does not hold a sequence of valid varint64s
+     */
+    public static long[] decodeVarints(final byte[] theBytes) throws InvalidProtocolBufferException {
+        // every varint ends with the only one of its bytes without the continuation bit
+        int aCount = 0;
+        for (byte aByte : theBytes) {
+            if (aByte >= 0) {
+                aCount++;
+            }
+        }
+
+        if (theBytes.length > 0 && theBytes[theBytes.length - 1] < 0) {
+            throw new InvalidProtocolBufferException("Truncated varint");
+        }
+
+        final long[] aValues = new long[aCount];
+        decodeVarints(ByteBuffer.wrap(theBytes).order(ByteOrder.LITTLE_ENDIAN), aValues, 0, aCount);
+
+        return aValues;
+    }
+
+    /**
+     * Decode varint64s from the buffer into the array
+     *
+     * @param theBuffer the buffer to read from
+     * @param theValues the array to decode into
+     * @param theOffset the index of the first value to decode
+     * @param theLength the number of values to decode
+     *
+     * @throws InvalidProtocolBufferException   if the buffer does not contain valid varint64s
+     * @throws java.nio.BufferUnderflowException if the buffer ends before the last varint does
+     */
+    public static void decodeVarints(final ByteBuffer theBuffer, final long[] theValues, final int theOffset, final int theLength) throws InvalidProtocolBufferException {
+        checkPositionIndexes(theOffset, theOffset + theLength, theValues.length);
+
+        for (int i = theOffset; i < theOffset + theLength; i++) {
+            theValues[i] = readRawVarint64(theBuffer);
+        }
+    }
+
+    /**
+     * Return a buffer of at least the given size, either the given buffer if it is already large enough, or a new,
+     * larger one.  The contents of the buffer are not preserved.
+     *
+     * @param theBuffer the current buffer
+     * @param theSize   the required size
+     * @return          a buffer of at least the given size
+     *
+     * @throws InvalidProtocolBufferException if the size is negative
+     */
+    static byte[] ensureCapacity(final byte[] theBuffer, final int theSize) throws InvalidProtocolBufferException {
+        if (theSize < 0) {
+            throw new InvalidProtocolBufferException("Negative message size: " + theSize);
+        }
+
+        if (theSize <= theBuffer.length) {
+            return theBuffer;
+        }
+
+        // grow geometrically so a stream of slowly growing messages does not reallocate each time
+        return new byte[(int) Math.min(Integer.MAX_VALUE - 8, Math.max(theSize, theBuffer.length * 2L))];
+    }
+
     public final static ProtobufDataOutput outputFor(final DataOutput theOutput) {
         return new ProtobufDataOutputImpl(theOutput);
     }
@@ -205,6 +547,51 @@ public final class Protobuf {
         return new ProtobufDataInputImpl<T>(theInput, thePrototype, theExtensionRegistry);
     }
 
+    private static final class ListIterator<T extends MessageLite> extends AbstractIterator<T> {
+        private final CodedInputStream mInput;
+
+        private final MessageLite.Builder mBuilder;
+
+        private final int mCount;
+
+        private int mRead;
+
+        private ListIterator(final CodedInputStream theInput, final T thePrototype, final int theCount) throws InvalidProtocolBufferException {
+            if (theCount < 0) {
+                throw new InvalidProtocolBufferException("Negative list size: " + theCount);
+            }
+
+            mInput = theInput;
+            mBuilder = thePrototype.newBuilderForType();
+            mCount = theCount;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected T computeNext() {
+            if (mRead == mCount) {
+                return endOfData();
+            }
+
+            try {
+                final int aLimit = mInput.pushLimit(mInput.readRawVarint32());
+
+                mBuilder.clear();
+                mBuilder.mergeFrom(mInput);
+
+                mInput.checkLastTagWas(0);
+                mInput.popLimit(aLimit);
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            mRead++;
+
+            return (T) mBuilder.build();
+        }
+    }
+
     private static final class ProtobufDataOutputImpl extends ForwardingDataOutput implements ProtobufDataOutput {
         public ProtobufDataOutputImpl(final DataOutput theOutput) {
             super(theOutput);
@@ -225,12 +612,14 @@ public final class Protobuf {
     private static final class ProtobufDataInputImpl<T extends MessageLite> extends ForwardingDataInput implements ProtobufDataInput<T> {
         private final ExtensionRegistry mExtensionRegistry;
 
-        private final T mPrototype;
+        private final MessageLite.Builder mBuilder;
+
+        private byte[] mBuffer = new byte[0];
 
         private ProtobufDataInputImpl(final DataInput theInput, final T thePrototype, final ExtensionRegistry theExtensionRegistry) {
             super(theInput);
 
-            mPrototype = thePrototype;
+            mBuilder = thePrototype.newBuilderForType();
             mExtensionRegistry = theExtensionRegistry;
         }
 
@@ -240,22 +629,36 @@ public final class Protobuf {
         @Override
         @SuppressWarnings("unchecked")
         public T read() throws InvalidProtocolBufferException, IOException {
+            return readInto(mBuilder)
+                   ? (T) mBuilder.build()
+                   : null;
+        }
+
+        /**
+         * {@inheritDoc}
+         */
+        @Override
+        public boolean readInto(final MessageLite.Builder theBuilder) throws InvalidProtocolBufferException, IOException {
             try {
                 int aSize = readInt();
 
-                byte[] aData = new byte[aSize];
+                mBuffer = ensureCapacity(mBuffer, aSize);
 
-                readFully(aData);
+                readFully(mBuffer, 0, aSize);
+
+                theBuilder.clear();
 
                 if (mExtensionRegistry == null) {
-                    return (T) mPrototype.newBuilderForType().mergeFrom(aData).build();
+                    theBuilder.mergeFrom(mBuffer, 0, aSize);
                 }
                 else {
-                    return (T) mPrototype.newBuilderForType().mergeFrom(aData, mExtensionRegistry).build();
+                    theBuilder.mergeFrom(mBuffer, 0, aSize, mExtensionRegistry);
                 }
+
+                return true;
             }
             catch (EOFException e) {
-                return null;
+                return false;
             }
         }
     }
@@ -16,7 +16,9 @@
 package com.complexible.common.protobuf.io;
 
 import java.io.DataInput;
+import java.io.IOException;
 
+import com.google.protobuf.InvalidProtocolBufferException;
 import com.google.protobuf.MessageLite;
 
 /**
@@ -28,4 +30,15 @@ import com.google.protobuf.MessageLite;
  */
 public interface ProtobufDataInput<T extends MessageLite> extends DataInput, ProtobufReader<T>{
 
+	/**
+	 * Read the next message into the builder rather than building a new message.  The builder is
+	 * {@link MessageLite.Builder#clear() cleared} first, so the same builder can be passed to every call.
+	 *
+	 * @param theBuilder	the builder to read the message into
+	 * @return				true if a message was read, false if there are no more messages
+	 *
+	 * @throws InvalidProtocolBufferException	if there was an error decoding the message
+	 * @throws IOException						if there was an error reading the contents of the message
+	 */
+	public boolean readInto(final MessageLite.Builder theBuilder) throws InvalidProtocolBufferException, IOException;
 }